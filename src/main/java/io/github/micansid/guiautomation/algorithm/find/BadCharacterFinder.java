@@ -1,13 +1,14 @@
 package io.github.micansid.guiautomation.algorithm.find;
 
 import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.PositionList;
 import io.github.micansid.guiautomation.util.helper.Ensure;
 import io.github.micansid.guiautomation.util.image.Image;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * https://en.wikipedia.org/wiki/Boyer%E2%80%93Moore_string-search_algorithm
@@ -50,22 +51,46 @@ public class BadCharacterFinder implements ImagePositionFinder {
 
     BadCharacterPattern badCharacterPattern = new BadCharacterPattern(pattern);
 
-    return IntStream.range(0, image.getHeight()).parallel().boxed().flatMap(y -> {
-      List<Position> positions = new ArrayList<>();
-      int x = 0;
-      while (x < image.getWidth()) {
+    return IntStream.range(0, image.getHeight()).parallel().collect(PositionList::new,
+        (positions, y) -> {
+          int x = 0;
+          while (x < image.getWidth()) {
+            int shift = badCharacterShift(image, badCharacterPattern, x, y);
+            if (shift == 0) {
+              if (at(image, pattern, x, y)) {
+                positions.add(x, y);
+              }
+              x++;
+            } else {
+              x += shift;
+            }
+          }
+        }, PositionList::addAll).sort();
+  }
+
+  @Override
+  public Stream<Position> stream(final Image image, final Image pattern) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+
+    BadCharacterPattern badCharacterPattern = new BadCharacterPattern(pattern);
+
+    return StreamSupport.stream(new PositionSpliterator(image, pattern, (y, fromX, toX) -> {
+      int result = -1;
+      int x = fromX;
+      while (x < toX && result < 0) {
         int shift = badCharacterShift(image, badCharacterPattern, x, y);
         if (shift == 0) {
           if (at(image, pattern, x, y)) {
-            positions.add(new Position(x, y));
+            result = x;
           }
           x++;
         } else {
           x += shift;
         }
       }
-      return positions.stream();
-    }).sorted().collect(Collectors.toList());
+      return result;
+    }), false);
   }
 
   protected int badCharacterShift(final Image image, final BadCharacterPattern pattern, final int positionX, final int positionY) {
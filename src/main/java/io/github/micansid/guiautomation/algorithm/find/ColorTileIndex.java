@@ -0,0 +1,106 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Coarse grid over an image with a Bloom filter of the colors of every tile. A filter has
+ * FILTER_BITS bits and one bit per color, so mayContain() is never false for a present color but
+ * can be true for an absent one. The index is built with one pass over the image and can be shared
+ * by all patterns searched in the same image.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class ColorTileIndex {
+  public static final int DEFAULT_TILE_SIZE = 32;
+  static final int FILTER_BITS = 256;
+  private static final int WORDS = FILTER_BITS / Long.SIZE;
+
+  private final Image image;
+  @Getter(AccessLevel.PUBLIC)
+  private final int tileSize;
+  @Getter(AccessLevel.PUBLIC)
+  private final int columns;
+  @Getter(AccessLevel.PUBLIC)
+  private final int rows;
+  private final long[] filters;
+
+  public ColorTileIndex(final Image image) {
+    this(image, DEFAULT_TILE_SIZE);
+  }
+
+  /**
+   * Build the index.
+   * @param image    to index
+   * @param tileSize width and height of a tile in pixels
+   */
+  public ColorTileIndex(final Image image, final int tileSize) {
+    Ensure.notNull(image);
+    Ensure.greater(tileSize, 0);
+    this.image = image;
+    this.tileSize = tileSize;
+    this.columns = (image.getWidth() + tileSize - 1) / tileSize;
+    this.rows = (image.getHeight() + tileSize - 1) / tileSize;
+    this.filters = new long[columns * rows * WORDS];
+
+    int[] data = image.getRgbData();
+    int width = image.getWidth();
+    for (int y = 0; y < image.getHeight(); y++) {
+      int tileRow = (y / tileSize) * columns;
+      int previous = 0;
+      for (int x = 0; x < width; x++) {
+        int rgb = data[y * width + x];
+        // runs of one color are common on screens, the bit is already set
+        if (rgb != previous || x % tileSize == 0) {
+          int tile = tileRow + x / tileSize;
+          int bit = bit(rgb);
+          filters[tile * WORDS + (bit >>> 6)] |= 1L << bit;
+          previous = rgb;
+        }
+      }
+    }
+  }
+
+  /**
+   * Check if the image of the index is the given instance.
+   * @param other image to check
+   * @return true if the index was built for this instance
+   */
+  public boolean indexes(final Image other) {
+    return getImage() == other;
+  }
+
+  /**
+   * Check if one of the tiles which intersect the area may contain the color.
+   * @param startX x-coordinate of the left upper pixel of the area
+   * @param startY y-coordinate of the left upper pixel of the area
+   * @param endX   x-coordinate of the right lower pixel of the area, inclusive
+   * @param endY   y-coordinate of the right lower pixel of the area, inclusive
+   * @param rgb    color to check
+   * @return false if the color is definitely not in the area
+   */
+  public boolean mayContain(final int startX, final int startY, final int endX, final int endY,
+                            final int rgb) {
+    Ensure.notNegative(startX);
+    Ensure.notNegative(startY);
+    Ensure.greaterOrEqual(endX, startX);
+    Ensure.greaterOrEqual(endY, startY);
+    int bit = bit(rgb);
+    int word = bit >>> 6;
+    long mask = 1L << bit;
+    int lastColumn = Math.min(getColumns() - 1, endX / getTileSize());
+    int lastRow = Math.min(getRows() - 1, endY / getTileSize());
+    boolean result = false;
+    for (int row = startY / getTileSize(); row <= lastRow && !result; row++) {
+      for (int column = startX / getTileSize(); column <= lastColumn && !result; column++) {
+        result = (getFilters()[(row * getColumns() + column) * WORDS + word] & mask) != 0;
+      }
+    }
+    return result;
+  }
+
+  private static int bit(final int rgb) {
+    return (rgb * 0x9E3779B1) >>> 24;
+  }
+}
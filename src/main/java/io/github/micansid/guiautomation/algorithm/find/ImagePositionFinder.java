@@ -9,6 +9,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -37,6 +39,29 @@ public interface ImagePositionFinder {
    */
   List<Position> findAll(Image image, Image pattern);
 
+  /**
+   * Search the positions of the pattern in the image lazily. The matches are produced in the
+   * order of Position, so short-circuiting operations like findFirst() or limit() stop the search
+   * early. The stream can be made parallel, then the image is searched in parallel ranges.
+   *
+   * @param image   to search in
+   * @param pattern which should be found in the image
+   * @return sorted stream of all positions of the pattern in the image
+   */
+  default Stream<Position> stream(final Image image, final Image pattern) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+    return StreamSupport.stream(new PositionSpliterator(image, pattern, (y, fromX, toX) -> {
+      int result = -1;
+      for (int x = fromX; x < toX && result < 0; x++) {
+        if (at(image, pattern, x, y)) {
+          result = x;
+        }
+      }
+      return result;
+    }), false);
+  }
+
   /**
    * Final all positions of the set of patterns in the image.
    *
@@ -3,38 +3,109 @@ package io.github.micansid.guiautomation.algorithm.find;
 import io.github.micansid.guiautomation.util.Position;
 import io.github.micansid.guiautomation.util.function.TriFunction;
 import io.github.micansid.guiautomation.util.helper.Ensure;
-import io.github.micansid.guiautomation.util.helper.StopWatch;
 import io.github.micansid.guiautomation.util.image.Image;
 import io.github.micansid.guiautomation.util.image.ImageExporter;
+import io.github.micansid.guiautomation.util.metric.IntervalRecorder;
+import io.github.micansid.guiautomation.util.metric.MetricSnapshot;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Benchmark of ImagePositionFinders which verifies that all finders return the same results.
+ * In the default mode each call runs all finders sequentially and throws an exception if the
+ * results differ. In the shadow mode only the primary finder runs on the calling thread. The other
+ * finders run asynchronously on a sampled fraction of the calls and mismatches are reported in the
+ * export path by a background thread. Both queues are bounded, because a queued run or report
+ * holds the searched image, so runs and reports are dropped and counted if the threads can't keep
+ * up.
+ */
 @Getter(AccessLevel.PRIVATE)
 public class ImagePositionFinderBenchmark implements ImagePositionFinder {
+  public static final int DEFAULT_SHADOW_QUEUE_CAPACITY = 64;
+  public static final int DEFAULT_REPORT_QUEUE_CAPACITY = 16;
+
   private final String imageExportPath;
   private final Logger logger = LoggerFactory.getLogger(getClass());
-  private final Map<ImagePositionFinder, StopWatch> benchmarkUnit = new HashMap<>();
+  private final Map<ImagePositionFinder, IntervalRecorder> benchmarkUnit = new LinkedHashMap<>();
+  private final ImagePositionFinder primary;
+  private final double sampleRate;
+  private final ThreadPoolExecutor shadowExecutor;
+  private final ThreadPoolExecutor reportExecutor;
+  private final AtomicLong mismatches = new AtomicLong();
+  private final AtomicLong droppedShadowRuns = new AtomicLong();
+  private final AtomicLong droppedReports = new AtomicLong();
 
   public ImagePositionFinderBenchmark(final ImagePositionFinder...  finders) {
     this(".", finders);
   }
+
   public ImagePositionFinderBenchmark(final String imageExportPath, final ImagePositionFinder...  finders) {
     Ensure.notNull(imageExportPath);
     Ensure.notEmpty(finders);
     this.imageExportPath = imageExportPath;
+    this.primary = null;
+    this.sampleRate = 1;
+    this.shadowExecutor = null;
+    this.reportExecutor = null;
     for (ImagePositionFinder finder : finders) {
-      getBenchmarkUnit().put(finder, new StopWatch(System::nanoTime));
+      getBenchmarkUnit().put(finder, new IntervalRecorder());
+    }
+  }
+
+  /**
+   * Benchmark in shadow mode. The result of the primary finder is returned immediately, the
+   * shadow finders are compared asynchronously.
+   * @param imageExportPath directory for the mismatch reports
+   * @param sampleRate fraction of the calls between 0 and 1 which are verified by the shadows
+   * @param primary finder which serves the results
+   * @param shadows finders which are compared with the primary finder
+   */
+  public ImagePositionFinderBenchmark(final String imageExportPath, final double sampleRate,
+                                      final ImagePositionFinder primary,
+                                      final ImagePositionFinder... shadows) {
+    Ensure.notNull(imageExportPath);
+    Ensure.notNull(primary);
+    Ensure.notEmpty(shadows);
+    Ensure.containsNoNull(shadows);
+    if (sampleRate < 0 || sampleRate > 1) {
+      throw new IllegalArgumentException("ENSURE: " + sampleRate + " is not a sample rate");
+    }
+    this.imageExportPath = imageExportPath;
+    this.primary = primary;
+    this.sampleRate = sampleRate;
+    this.shadowExecutor = new ThreadPoolExecutor(shadows.length, shadows.length, 0,
+        TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(DEFAULT_SHADOW_QUEUE_CAPACITY),
+        daemonThreadFactory("ImagePositionFinderBenchmark-shadow"),
+        (task, executor) -> getDroppedShadowRuns().incrementAndGet());
+    this.reportExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(DEFAULT_REPORT_QUEUE_CAPACITY),
+        daemonThreadFactory("ImagePositionFinderBenchmark-report"),
+        (task, executor) -> getDroppedReports().incrementAndGet());
+    getBenchmarkUnit().put(primary, new IntervalRecorder());
+    for (ImagePositionFinder finder : shadows) {
+      getBenchmarkUnit().put(finder, new IntervalRecorder());
     }
   }
 
@@ -50,6 +121,15 @@ public class ImagePositionFinderBenchmark implements ImagePositionFinder {
         "The results of the findAll() method from the ImagePositionFinders differ");
   }
 
+  /**
+   * The lazy stream can't be compared between the finders, so the stream of the first (primary)
+   * finder is returned without benchmarking.
+   */
+  @Override
+  public Stream<Position> stream(final Image image, final Image pattern) {
+    return getBenchmarkUnit().keySet().iterator().next().stream(image, pattern);
+  }
+
   @Override
   public Map<Image, List<Position>> findAll(final Image image, final Set<Image> patterns) {
     return runOnEachFinder(ImagePositionFinder::findAll, image, patterns,
@@ -70,9 +150,17 @@ public class ImagePositionFinderBenchmark implements ImagePositionFinder {
   }
 
 
+  /**
+   * Summary of the benchmark with the total time, throughput and percentiles per finder.
+   * @return one line per finder
+   */
   public String result() {
-    return benchmarkResultMilliSeconds().entrySet()
-        .stream().map(unit -> unit.getKey() + " - " + unit.getValue())
+    return benchmarkSnapshots().entrySet()
+        .stream().map(unit -> unit.getKey() + " - "
+            + ((double) unit.getValue().getTotal()) / 1_000_000 + "ms, calls: "
+            + unit.getValue().getCount() + ", throughput: " + unit.getValue().throughput()
+            + "/s, p50: " + ((double) unit.getValue().p50()) / 1_000_000 + "ms, p99: "
+            + ((double) unit.getValue().p99()) / 1_000_000 + "ms")
         .collect(Collectors.joining("\n"));
   }
 
@@ -84,24 +172,164 @@ public class ImagePositionFinderBenchmark implements ImagePositionFinder {
   public Map<Class<? extends ImagePositionFinder>, Long> benchmarkResultNanoSeconds() {
     return getBenchmarkUnit().entrySet().stream()
         .collect(Collectors.toMap(unit -> unit.getKey().getClass(),
-            unit -> unit.getValue().duration()));
+            unit -> unit.getValue().total()));
   }
 
   public Map<Class<? extends ImagePositionFinder>, Double> benchmarkResultMilliSeconds() {
     return getBenchmarkUnit().entrySet().stream()
         .collect(Collectors.toMap(unit -> unit.getKey().getClass(),
-            unit -> ((double)unit.getValue().duration()) / 1_000_000));
+            unit -> ((double)unit.getValue().total()) / 1_000_000));
+  }
+
+  /**
+   * Distribution of the call durations in nanoseconds per finder.
+   * @return snapshot of the recorded calls per finder class
+   */
+  public Map<Class<? extends ImagePositionFinder>, MetricSnapshot> benchmarkSnapshots() {
+    return getBenchmarkUnit().entrySet().stream()
+        .collect(Collectors.toMap(unit -> unit.getKey().getClass(),
+            unit -> unit.getValue().snapshot(unit.getKey().getClass().getSimpleName())));
+  }
+
+  /**
+   * Number of shadow results which differ from the primary result.
+   * @return number of mismatches
+   */
+  public long shadowMismatches() {
+    return getMismatches().get();
+  }
+
+  /**
+   * Number of sampled shadow runs which were dropped, because the shadow finders couldn't keep up.
+   * @return number of dropped shadow runs
+   */
+  public long droppedShadowRuns() {
+    return getDroppedShadowRuns().get();
+  }
+
+  /**
+   * Number of mismatches which were counted but not reported, because the report thread couldn't
+   * keep up.
+   * @return number of dropped reports
+   */
+  public long droppedReports() {
+    return getDroppedReports().get();
+  }
+
+  /**
+   * Finish the queued shadow runs and reports and stop the background threads. Nothing happens if
+   * the benchmark isn't in shadow mode.
+   * @param timeout in milliseconds to wait for each of the background executors
+   * @return true if all shadow runs and reports are finished
+   */
+  public boolean shutdown(final long timeout) {
+    Ensure.notNegative(timeout);
+    boolean result = true;
+    if (getPrimary() != null) {
+      try {
+        getShadowExecutor().shutdown();
+        result = getShadowExecutor().awaitTermination(timeout, TimeUnit.MILLISECONDS);
+        getReportExecutor().shutdown();
+        result &= getReportExecutor().awaitTermination(timeout, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException exception) {
+        throw new RuntimeException(exception);
+      }
+    }
+    return result;
   }
 
   private <T, U> U runOnEachFinder(final TriFunction<ImagePositionFinder,Image, T, U> method,
                                    final Image image,
                                    final T parameter, final String message) {
+    return getPrimary() == null ? runSequentially(method, image, parameter, message)
+        : runShadowed(method, image, parameter, message);
+  }
+
+  private <T, U> U runShadowed(final TriFunction<ImagePositionFinder, Image, T, U> method,
+                               final Image image, final T parameter, final String message) {
+    IntervalRecorder primaryRecorder = getBenchmarkUnit().get(getPrimary());
+    long start = primaryRecorder.start();
+    U result = method.apply(getPrimary(), image, parameter);
+    primaryRecorder.stop(start);
+
+    if (getSampleRate() > 0 && ThreadLocalRandom.current().nextDouble() < getSampleRate()) {
+      for (Map.Entry<ImagePositionFinder, IntervalRecorder> unit : getBenchmarkUnit().entrySet()) {
+        if (unit.getKey() != getPrimary()) {
+          getShadowExecutor().execute(() ->
+              runShadow(unit.getKey(), unit.getValue(), method, image, parameter, result, message));
+        }
+      }
+    }
+    return result;
+  }
+
+  private <T, U> void runShadow(final ImagePositionFinder shadow, final IntervalRecorder recorder,
+                                final TriFunction<ImagePositionFinder, Image, T, U> method,
+                                final Image image, final T parameter, final U primaryResult,
+                                final String message) {
+    Object shadowResult;
+    long start = recorder.start();
+    try {
+      shadowResult = method.apply(shadow, image, parameter);
+      recorder.stop(start);
+    } catch (RuntimeException exception) {
+      shadowResult = exception;
+    }
+
+    if (!primaryResult.equals(shadowResult)) {
+      long mismatch = getMismatches().incrementAndGet();
+      Object reportedResult = shadowResult;
+      getReportExecutor().execute(() -> writeReport(mismatch, message, image, parameter,
+          primaryResult, shadow, reportedResult));
+    }
+  }
+
+  private void writeReport(final long mismatch, final String message, final Image image,
+                           final Object parameter, final Object primaryResult,
+                           final ImagePositionFinder shadow, final Object shadowResult) {
+    String base = getImageExportPath() + "/ImagePositionFinderBenchmark_mismatch_"
+        + System.currentTimeMillis() + "_" + mismatch;
+    ImageExporter exporter = new ImageExporter();
+    exporter.export(image, base + "_image.png");
+    List<Image> patterns = new ArrayList<>();
+    if (parameter instanceof Image) {
+      patterns.add((Image) parameter);
+    } else if (parameter instanceof Set) {
+      ((Set<?>) parameter).stream().filter(Image.class::isInstance).map(Image.class::cast)
+          .forEach(patterns::add);
+    }
+    for (int index = 0; index < patterns.size(); index++) {
+      exporter.export(patterns.get(index), base + "_pattern_" + index + ".png");
+    }
+
+    String report = message + "\n"
+        + getPrimary().getClass().getName() + " (primary): " + primaryResult + "\n"
+        + shadow.getClass().getName() + ": " + shadowResult + "\n";
+    try {
+      Files.write(Paths.get(base + ".txt"), report.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException exception) {
+      getLogger().error(exception.getMessage());
+    }
+    getLogger().error(report);
+  }
+
+  private static ThreadFactory daemonThreadFactory(final String name) {
+    return runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private <T, U> U runSequentially(final TriFunction<ImagePositionFinder,Image, T, U> method,
+                                   final Image image,
+                                   final T parameter, final String message) {
     List<U> results = new ArrayList<>();
 
-    for (Map.Entry<ImagePositionFinder, StopWatch> unit : getBenchmarkUnit().entrySet()) {
-      unit.getValue().start();
+    for (Map.Entry<ImagePositionFinder, IntervalRecorder> unit : getBenchmarkUnit().entrySet()) {
+      long start = unit.getValue().start();
       results.add(method.apply(unit.getKey(), image, parameter));
-      unit.getValue().pause();
+      unit.getValue().stop(start);
     }
 
     for (U result : results) {
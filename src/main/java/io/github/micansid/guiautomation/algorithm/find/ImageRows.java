@@ -0,0 +1,47 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * RGB data of an image which is copied in stripes of rows when the rows are needed, so a search
+ * which stops at an early match does not copy the whole image.
+ */
+@Getter(AccessLevel.PRIVATE)
+class ImageRows {
+  static final int STRIPE_ROWS = 64;
+
+  private final Image image;
+  private final int[] data;
+  private volatile int copiedRows = 0;
+
+  ImageRows(final Image image) {
+    Ensure.notNull(image);
+    this.image = image;
+    this.data = new int[image.getWidth() * image.getHeight()];
+  }
+
+  /**
+   * RGB data in which at least the rows up to endY are copied.
+   * @param endY last row which has to be copied, exclusive
+   * @return RGB data of the image, row by row
+   */
+  int[] rows(final int endY) {
+    if (endY > copiedRows) {
+      copy(endY);
+    }
+    return getData();
+  }
+
+  private synchronized void copy(final int endY) {
+    int from = copiedRows;
+    if (endY > from) {
+      int width = getImage().getWidth();
+      int to = Math.min(getImage().getHeight(), Math.max(endY, from + STRIPE_ROWS));
+      getImage().getRgb(0, from, width, to - from, getData(), from * width, width);
+      copiedRows = to;
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import io.github.micansid.guiautomation.util.metric.Metrics;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Decorator of an ImagePositionFinder which records the latency of each method per finder class
+ * in the Metrics registry.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class MeteredImagePositionFinder implements ImagePositionFinder {
+  private final ImagePositionFinder finder;
+  private final String findOperation;
+  private final String findAllOperation;
+  private final String findAllSetOperation;
+  private final String atOperation;
+
+  /**
+   * Decorate the finder.
+   * @param finder to decorate
+   */
+  public MeteredImagePositionFinder(final ImagePositionFinder finder) {
+    Ensure.notNull(finder);
+    this.finder = finder;
+    String prefix = "finder." + finder.getClass().getSimpleName() + ".";
+    findOperation = prefix + "find";
+    findAllOperation = prefix + "findAll";
+    findAllSetOperation = prefix + "findAllSet";
+    atOperation = prefix + "at";
+  }
+
+  @Override
+  public Optional<Position> find(final Image image, final Image pattern) {
+    long start = Metrics.start();
+    Optional<Position> result = getFinder().find(image, pattern);
+    Metrics.stop(getFindOperation(), start);
+    return result;
+  }
+
+  @Override
+  public List<Position> findAll(final Image image, final Image pattern) {
+    long start = Metrics.start();
+    List<Position> result = getFinder().findAll(image, pattern);
+    Metrics.stop(getFindAllOperation(), start);
+    return result;
+  }
+
+  /**
+   * The stream of the decorated finder. The time of a lazy stream is not recorded.
+   */
+  @Override
+  public Stream<Position> stream(final Image image, final Image pattern) {
+    return getFinder().stream(image, pattern);
+  }
+
+  @Override
+  public Map<Image, List<Position>> findAll(final Image image, final Set<Image> patterns) {
+    long start = Metrics.start();
+    Map<Image, List<Position>> result = getFinder().findAll(image, patterns);
+    Metrics.stop(getFindAllSetOperation(), start);
+    return result;
+  }
+
+  @Override
+  public boolean at(final Image image, final Image pattern, final Position position) {
+    long start = Metrics.start();
+    boolean result = getFinder().at(image, pattern, position);
+    Metrics.stop(getAtOperation(), start);
+    return result;
+  }
+
+  @Override
+  public boolean at(final Image image, final Image pattern, final int positionX,
+                    final int positionY) {
+    long start = Metrics.start();
+    boolean result = getFinder().at(image, pattern, positionX, positionY);
+    Metrics.stop(getAtOperation(), start);
+    return result;
+  }
+
+  /**
+   * The decorated finder.
+   * @return the decorated finder
+   */
+  public ImagePositionFinder unwrap() {
+    return getFinder();
+  }
+}
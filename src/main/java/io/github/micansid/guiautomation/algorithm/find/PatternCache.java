@@ -0,0 +1,76 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Cache of the compiled form of the recently used patterns, so repeated checks of the same
+ * pattern instance, e.g. at() while waiting for a button, compile it only once. The patterns are
+ * compared by identity, comparing the pixels would cost as much as compiling them. The least
+ * recently used pattern is removed when the capacity is exceeded.
+ * @param <T> compiled form of a pattern
+ */
+@Getter(AccessLevel.PRIVATE)
+class PatternCache<T> {
+  static final int DEFAULT_CAPACITY = 16;
+
+  private final Function<Image, T> compiler;
+  private final Map<Key, T> compiled;
+
+  PatternCache(final Function<Image, T> compiler) {
+    this(compiler, DEFAULT_CAPACITY);
+  }
+
+  PatternCache(final Function<Image, T> compiler, final int capacity) {
+    Ensure.notNull(compiler);
+    Ensure.greater(capacity, 0);
+    this.compiler = compiler;
+    this.compiled = new LinkedHashMap<Key, T>(capacity * 2, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Key, T> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Compiled form of the pattern, compiled on the first request of the pattern instance.
+   * @param pattern to compile
+   * @return compiled pattern
+   */
+  synchronized T get(final Image pattern) {
+    Ensure.notNull(pattern);
+    return getCompiled().computeIfAbsent(new Key(pattern), key -> getCompiler().apply(pattern));
+  }
+
+  synchronized int size() {
+    return getCompiled().size();
+  }
+
+
+  /**
+   * Identity of a pattern instance as a map key.
+   */
+  private static class Key {
+    private final Image pattern;
+
+    Key(final Image pattern) {
+      this.pattern = pattern;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+      return object instanceof Key && ((Key) object).pattern == pattern;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(pattern);
+    }
+  }
+}
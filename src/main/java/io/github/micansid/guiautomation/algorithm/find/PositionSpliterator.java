@@ -0,0 +1,118 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Spliterator which searches the matches of a pattern lazily in the order of Position. The
+ * candidate positions of the image are numbered row by row. Each spliterator covers a range of
+ * these numbers and can be split for a parallel search. A RowScanner finds the next match in a row,
+ * so finders can plug in their own skipping strategy.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class PositionSpliterator implements Spliterator<Position> {
+  private static final long MINIMUM_SPLIT_SIZE = 1_024;
+
+  private final RowScanner scanner;
+  private final int columns;
+  private long origin;
+  private final long fence;
+
+  /**
+   * Spliterator over all positions where the pattern fits into the image.
+   * @param image to search in
+   * @param pattern which should be found in the image
+   * @param scanner finds the next match in a row
+   */
+  public PositionSpliterator(final Image image, final Image pattern, final RowScanner scanner) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+    Ensure.notNull(scanner);
+    this.scanner = scanner;
+    int rows = Math.max(0, Math.min(image.getHeight(),
+        image.getHeight() - pattern.getHeight() + 1));
+    this.columns = Math.max(0, Math.min(image.getWidth(),
+        image.getWidth() - pattern.getWidth() + 1));
+    this.origin = 0;
+    this.fence = (long) rows * columns;
+  }
+
+  private PositionSpliterator(final RowScanner scanner, final int columns, final long origin,
+                              final long fence) {
+    this.scanner = scanner;
+    this.columns = columns;
+    this.origin = origin;
+    this.fence = fence;
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super Position> action) {
+    Ensure.notNull(action);
+    boolean found = false;
+    while (!found && origin < getFence()) {
+      int y = (int) (origin / getColumns());
+      long rowStart = (long) y * getColumns();
+      int fromX = (int) (origin - rowStart);
+      int toX = (int) (Math.min(getFence(), rowStart + getColumns()) - rowStart);
+      int x = getScanner().nextMatch(y, fromX, toX);
+      if (x >= 0) {
+        origin = rowStart + x + 1;
+        found = true;
+        action.accept(new Position(x, y));
+      } else {
+        origin = rowStart + toX;
+      }
+    }
+    return found;
+  }
+
+  @Override
+  public Spliterator<Position> trySplit() {
+    Spliterator<Position> result = null;
+    long remaining = getFence() - origin;
+    if (remaining >= MINIMUM_SPLIT_SIZE * 2) {
+      long middle = origin + remaining / 2;
+      result = new PositionSpliterator(getScanner(), getColumns(), origin, middle);
+      origin = middle;
+    }
+    return result;
+  }
+
+  @Override
+  public long estimateSize() {
+    return getFence() - origin;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SORTED | DISTINCT | NONNULL | IMMUTABLE;
+  }
+
+  @Override
+  public Comparator<? super Position> getComparator() {
+    // positions are sorted by their natural order
+    return null;
+  }
+
+
+  /**
+   * Strategy to find the next match in a row of candidate positions.
+   */
+  @FunctionalInterface
+  public interface RowScanner {
+    /**
+     * Find the first match in the row.
+     * @param y row of the candidate positions
+     * @param fromX first x-coordinate to check, inclusive
+     * @param toX last x-coordinate to check, exclusive
+     * @return x-coordinate of the first match or -1 if there is no match in the range
+     */
+    int nextMatch(int y, int fromX, int toX);
+  }
+}
@@ -0,0 +1,136 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.PositionList;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import io.github.micansid.guiautomation.util.image.ReducedImage;
+import io.github.micansid.guiautomation.util.image.ReducedImage.Representation;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Finder which compares a reduced representation of the image and the pattern first, one byte
+ * instead of four per pixel. The reduced representation of the image is cached by the image, so
+ * all patterns searched in the same image instance share it. Only the positions which match on
+ * the reduced representation are confirmed on the ARGB data, the opaque pixels of the pattern
+ * like in the SparseFinder. The compiled patterns are cached.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class ReducedFinder implements ImagePositionFinder {
+  private final Representation representation;
+  private final PatternCache<int[]> reducedProbes;
+  private final PatternCache<SparsePattern> sparsePatterns =
+      new PatternCache<>(SparsePattern::new);
+
+  public ReducedFinder() {
+    this(Representation.GRAYSCALE);
+  }
+
+  /**
+   * Create a finder.
+   * @param representation which is compared before the ARGB data
+   */
+  public ReducedFinder(final Representation representation) {
+    Ensure.notNull(representation);
+    this.representation = representation;
+    this.reducedProbes = new PatternCache<>(this::probes);
+  }
+
+  @Override
+  public Optional<Position> find(final Image image, final Image pattern) {
+    return stream(image, pattern).findFirst();
+  }
+
+  @Override
+  public List<Position> findAll(final Image image, final Image pattern) {
+    return stream(image, pattern).collect(PositionList::new, PositionList::add,
+        PositionList::addAll);
+  }
+
+  @Override
+  public Stream<Position> stream(final Image image, final Image pattern) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+
+    ReducedImage reducedImage = image.reduced(getRepresentation());
+    int width = image.getWidth();
+    int[] probes = getReducedProbes().get(pattern);
+    int[] offsets = new int[probes.length];
+    int[] values = new int[probes.length];
+    ReducedImage reducedPattern = pattern.reduced(getRepresentation());
+    for (int probe = 0; probe < probes.length; probe++) {
+      offsets[probe] = (probes[probe] / pattern.getWidth()) * width
+          + probes[probe] % pattern.getWidth();
+      values[probe] = reducedPattern.get(probes[probe]);
+    }
+    SparsePattern sparsePattern = getSparsePatterns().get(pattern);
+
+    return StreamSupport.stream(new PositionSpliterator(image, pattern, (y, fromX, toX) -> {
+      int result = -1;
+      for (int x = fromX; x < toX && result < 0; x++) {
+        int start = y * width + x;
+        boolean match = true;
+        for (int probe = 0; probe < offsets.length && match; probe++) {
+          match = reducedImage.get(start + offsets[probe]) == values[probe];
+        }
+        if (match && sparsePattern.at(image, x, y)) {
+          result = x;
+        }
+      }
+      return result;
+    }), false);
+  }
+
+  @Override
+  public boolean at(final Image image, final Image pattern, final int positionX,
+                    final int positionY) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+    Ensure.notNegative(positionX);
+    Ensure.notNegative(positionY);
+    Ensure.smaller(positionX, image.getWidth());
+    Ensure.smaller(positionY, image.getHeight());
+    return getSparsePatterns().get(pattern).at(image, positionX, positionY);
+  }
+
+  /**
+   * Indexes of the pattern pixels whose reduced value is equal to the value of the image at a
+   * match, ordered by the frequency of the value, rare values first. A transparent pixel can
+   * cover any value. An edge value also depends on the right and the lower neighbor, so both have
+   * to be opaque pixels of the pattern.
+   */
+  private int[] probes(final Image pattern) {
+    int width = pattern.getWidth();
+    int height = pattern.getHeight();
+    int[] data = pattern.getRgbData();
+    ReducedImage reduced = pattern.reduced(getRepresentation());
+    boolean edges = getRepresentation() == Representation.EDGES;
+    int[] candidates = IntStream.range(0, data.length)
+        .filter(index -> isOpaque(data[index]))
+        .filter(index -> !edges || (index % width + 1 < width && index / width + 1 < height
+            && isOpaque(data[index + 1]) && isOpaque(data[index + width])))
+        .toArray();
+
+    int[] frequency = new int[256];
+    for (int index : candidates) {
+      frequency[reduced.get(index)]++;
+    }
+    return IntStream.of(candidates)
+        .boxed()
+        .sorted(Comparator.<Integer>comparingInt(index -> frequency[reduced.get(index)])
+            .thenComparingInt(index -> index))
+        .mapToInt(Integer::intValue)
+        .toArray();
+  }
+
+  private static boolean isOpaque(final int rgb) {
+    return (rgb >>> 24) != 0;
+  }
+}
@@ -0,0 +1,177 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.PositionList;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Finder which compares the rows of the pattern with the rows of the image on the raw RGB arrays.
+ * Each row is compared in blocks of LANES pixels without a branch per pixel: the differences of a
+ * block are masked with the precomputed opaque mask of the pattern and combined, so a transparent
+ * pattern pixel never causes a mismatch. The image data is copied once per search instead of
+ * reading every pixel through getRgb() and isTransparent(), find() and stream() copy only the rows
+ * they reach. The compiled patterns are cached.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class RowLaneFinder implements ImagePositionFinder {
+  static final int LANES = 8;
+
+  private final PatternCache<LanePattern> lanePatterns = new PatternCache<>(LanePattern::new);
+
+  @Override
+  public Optional<Position> find(final Image image, final Image pattern) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+
+    LanePattern lanePattern = getLanePatterns().get(pattern);
+    ImageRows rows = new ImageRows(image);
+    int width = image.getWidth();
+    Optional<Position> result = Optional.empty();
+    boolean found = false;
+
+    for (int y = 0; y <= image.getHeight() - pattern.getHeight() && !found; y++) {
+      int[] data = rows.rows(y + pattern.getHeight());
+      for (int x = 0; x <= width - pattern.getWidth() && !found; x++) {
+        if (lanePattern.matches(data, y * width + x, width)) {
+          result = Optional.of(new Position(x, y));
+          found = true;
+        }
+      }
+    }
+
+    return result;
+  }
+
+  @Override
+  public List<Position> findAll(final Image image, final Image pattern) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+
+    LanePattern lanePattern = getLanePatterns().get(pattern);
+    // every row is searched, so the image is copied at once
+    int[] data = image.getRgbData();
+    int width = image.getWidth();
+
+    return IntStream.range(0, Math.max(0, image.getHeight() - pattern.getHeight() + 1)).parallel()
+        .collect(PositionList::new, (positions, y) -> {
+          for (int x = 0; x <= width - pattern.getWidth(); x++) {
+            if (lanePattern.matches(data, y * width + x, width)) {
+              positions.add(x, y);
+            }
+          }
+        }, PositionList::addAll).sort();
+  }
+
+  @Override
+  public Stream<Position> stream(final Image image, final Image pattern) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+
+    LanePattern lanePattern = getLanePatterns().get(pattern);
+    ImageRows rows = new ImageRows(image);
+    int width = image.getWidth();
+
+    return StreamSupport.stream(new PositionSpliterator(image, pattern, (y, fromX, toX) -> {
+      int[] data = rows.rows(y + pattern.getHeight());
+      int result = -1;
+      for (int x = fromX; x < toX && result < 0; x++) {
+        if (lanePattern.matches(data, y * width + x, width)) {
+          result = x;
+        }
+      }
+      return result;
+    }), false);
+  }
+
+  /**
+   * Check is the pattern is at the position in the image. Only the area of the image covered by
+   * the pattern is copied and the compiled pattern is reused.
+   */
+  @Override
+  public boolean at(final Image image, final Image pattern, final int positionX,
+                    final int positionY) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+    Ensure.notNegative(positionX);
+    Ensure.notNegative(positionY);
+    Ensure.smaller(positionX, image.getWidth());
+    Ensure.smaller(positionY, image.getHeight());
+
+    boolean result = false;
+    if (positionX + pattern.getWidth() <= image.getWidth()
+        && positionY + pattern.getHeight() <= image.getHeight()) {
+      int[] area = image.getRgb(positionX, positionY, pattern.getWidth(), pattern.getHeight(),
+          null, 0, pattern.getWidth());
+      result = getLanePatterns().get(pattern).matches(area, 0, pattern.getWidth());
+    }
+    return result;
+  }
+
+
+  /**
+   * RGB data of a pattern with a mask which is 0 for transparent and -1 for opaque pixels.
+   */
+  @Getter(AccessLevel.PRIVATE)
+  static class LanePattern {
+    private final int[] rgb;
+    private final int[] mask;
+    private final int width;
+    private final int height;
+
+    LanePattern(final Image pattern) {
+      Ensure.notNull(pattern);
+      rgb = pattern.getRgbData();
+      mask = new int[rgb.length];
+      for (int index = 0; index < rgb.length; index++) {
+        mask[index] = (rgb[index] >>> 24) == 0 ? 0 : -1;
+      }
+      width = pattern.getWidth();
+      height = pattern.getHeight();
+    }
+
+    /**
+     * Compare the pattern with the data, the pattern has to fit into the data.
+     * @param data RGB data of the image
+     * @param start index of the left upper pixel in the data
+     * @param scansize width of the image
+     * @return true if every opaque pixel of the pattern is equal to the pixel in the data
+     */
+    boolean matches(final int[] data, final int start, final int scansize) {
+      int[] patternRgb = getRgb();
+      int[] patternMask = getMask();
+      int patternWidth = getWidth();
+      int blockEnd = patternWidth - patternWidth % LANES;
+      boolean match = true;
+
+      for (int row = 0; row < getHeight() && match; row++) {
+        int dataRow = start + row * scansize;
+        int patternRow = row * patternWidth;
+        int x = 0;
+        while (x < blockEnd && match) {
+          int difference = 0;
+          for (int lane = 0; lane < LANES; lane++) {
+            int index = patternRow + x + lane;
+            difference |= (data[dataRow + x + lane] ^ patternRgb[index]) & patternMask[index];
+          }
+          match = difference == 0;
+          x += LANES;
+        }
+        int difference = 0;
+        for (; x < patternWidth && match; x++) {
+          difference |= (data[dataRow + x] ^ patternRgb[patternRow + x])
+              & patternMask[patternRow + x];
+        }
+        match = match && difference == 0;
+      }
+      return match;
+    }
+  }
+}
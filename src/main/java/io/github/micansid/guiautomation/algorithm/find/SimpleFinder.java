@@ -1,10 +1,10 @@
 package io.github.micansid.guiautomation.algorithm.find;
 
 import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.PositionList;
 import io.github.micansid.guiautomation.util.helper.Ensure;
 import io.github.micansid.guiautomation.util.image.Image;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,12 +33,12 @@ public class SimpleFinder implements ImagePositionFinder {
   public List<Position> findAll(final Image image, final Image pattern) {
     Ensure.notNull(image);
     Ensure.notNull(pattern);
-    List<Position> result = new ArrayList<>();
+    PositionList result = new PositionList();
 
     for (int y = 0; y < image.getHeight(); y++) {
       for (int x = 0; x < image.getWidth(); x++) {
         if (at(image, pattern, x, y)) {
-          result.add(new Position(x, y));
+          result.add(x, y);
         }
       }
     }
@@ -1,13 +1,12 @@
 package io.github.micansid.guiautomation.algorithm.find;
 
 import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.PositionList;
 import io.github.micansid.guiautomation.util.helper.Ensure;
 import io.github.micansid.guiautomation.util.image.Image;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class SimpleFinderStream implements ImagePositionFinder {
@@ -34,14 +33,13 @@ public class SimpleFinderStream implements ImagePositionFinder {
     Ensure.notNull(image);
     Ensure.notNull(pattern);
 
-    return IntStream.range(0, image.getHeight()).parallel().boxed().flatMap(y -> {
-      List<Position> positions = new ArrayList<>();
-      for (int x = 0; x < image.getWidth(); x++) {
-        if (at(image, pattern, x, y)) {
-          positions.add(new Position(x, y));
-        }
-      }
-      return positions.stream();
-    }).sorted().collect(Collectors.toList());
+    return IntStream.range(0, image.getHeight()).parallel().collect(PositionList::new,
+        (positions, y) -> {
+          for (int x = 0; x < image.getWidth(); x++) {
+            if (at(image, pattern, x, y)) {
+              positions.add(x, y);
+            }
+          }
+        }, PositionList::addAll).sort();
   }
 }
@@ -0,0 +1,103 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.PositionList;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Finder which verifies only the opaque pixels of a pattern, rare colors first. Fast for patterns
+ * with many transparent pixels like frames and icon outlines. The compiled patterns are cached,
+ * find() and stream() copy only the rows of the image they reach.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class SparseFinder implements ImagePositionFinder {
+  private final PatternCache<SparsePattern> sparsePatterns =
+      new PatternCache<>(SparsePattern::new);
+
+  @Override
+  public Optional<Position> find(final Image image, final Image pattern) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+
+    SparsePattern sparsePattern = getSparsePatterns().get(pattern);
+    ImageRows rows = new ImageRows(image);
+    int width = image.getWidth();
+    int[] offsets = sparsePattern.offsets(Math.max(width, pattern.getWidth()));
+    Optional<Position> result = Optional.empty();
+    boolean found = false;
+
+    for (int y = 0; y <= image.getHeight() - pattern.getHeight() && !found; y++) {
+      int[] data = rows.rows(y + pattern.getHeight());
+      for (int x = 0; x <= width - pattern.getWidth() && !found; x++) {
+        if (sparsePattern.matches(data, y * width + x, offsets)) {
+          result = Optional.of(new Position(x, y));
+          found = true;
+        }
+      }
+    }
+
+    return result;
+  }
+
+  @Override
+  public List<Position> findAll(final Image image, final Image pattern) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+
+    SparsePattern sparsePattern = getSparsePatterns().get(pattern);
+    int[] data = image.getRgbData();
+    int width = image.getWidth();
+    int[] offsets = sparsePattern.offsets(Math.max(width, pattern.getWidth()));
+
+    return IntStream.range(0, Math.max(0, image.getHeight() - pattern.getHeight() + 1)).parallel()
+        .collect(PositionList::new, (positions, y) -> {
+          for (int x = 0; x <= width - pattern.getWidth(); x++) {
+            if (sparsePattern.matches(data, y * width + x, offsets)) {
+              positions.add(x, y);
+            }
+          }
+        }, PositionList::addAll).sort();
+  }
+
+  @Override
+  public Stream<Position> stream(final Image image, final Image pattern) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+
+    SparsePattern sparsePattern = getSparsePatterns().get(pattern);
+    ImageRows rows = new ImageRows(image);
+    int width = image.getWidth();
+    int[] offsets = sparsePattern.offsets(Math.max(width, pattern.getWidth()));
+
+    return StreamSupport.stream(new PositionSpliterator(image, pattern, (y, fromX, toX) -> {
+      int[] data = rows.rows(y + pattern.getHeight());
+      int result = -1;
+      for (int x = fromX; x < toX && result < 0; x++) {
+        if (sparsePattern.matches(data, y * width + x, offsets)) {
+          result = x;
+        }
+      }
+      return result;
+    }), false);
+  }
+
+  @Override
+  public boolean at(final Image image, final Image pattern, final int positionX,
+                    final int positionY) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+    Ensure.notNegative(positionX);
+    Ensure.notNegative(positionY);
+    Ensure.smaller(positionX, image.getWidth());
+    Ensure.smaller(positionY, image.getHeight());
+    return getSparsePatterns().get(pattern).at(image, positionX, positionY);
+  }
+}
@@ -0,0 +1,151 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Pattern compiled into the list of its opaque pixels. Transparent pixels are never compared. The
+ * pixels are ordered by the frequency of their color in the pattern, rare colors first, so a
+ * verification at a wrong position is usually rejected after one or two probes.
+ */
+@Getter(AccessLevel.PUBLIC)
+public class SparsePattern {
+  private final int width;
+  private final int height;
+  @Getter(AccessLevel.PRIVATE)
+  private final int[] probeX;
+  @Getter(AccessLevel.PRIVATE)
+  private final int[] probeY;
+  @Getter(AccessLevel.PRIVATE)
+  private final int[] probeRgb;
+
+  /**
+   * Compile the pattern.
+   * @param pattern to compile
+   */
+  public SparsePattern(final Image pattern) {
+    Ensure.notNull(pattern);
+    width = pattern.getWidth();
+    height = pattern.getHeight();
+
+    int[] data = pattern.getRgbData();
+    Map<Integer, Integer> frequency = new HashMap<>();
+    for (int rgb : data) {
+      if (!isTransparent(rgb)) {
+        frequency.merge(rgb, 1, Integer::sum);
+      }
+    }
+
+    int[] order = IntStream.range(0, data.length)
+        .filter(index -> !isTransparent(data[index]))
+        .boxed()
+        .sorted(Comparator.<Integer>comparingInt(index -> frequency.get(data[index]))
+            .thenComparingInt(index -> index))
+        .mapToInt(Integer::intValue)
+        .toArray();
+
+    probeX = new int[order.length];
+    probeY = new int[order.length];
+    probeRgb = new int[order.length];
+    for (int probe = 0; probe < order.length; probe++) {
+      probeX[probe] = order[probe] % width;
+      probeY[probe] = order[probe] / width;
+      probeRgb[probe] = data[order[probe]];
+    }
+  }
+
+  /**
+   * Number of opaque pixels, which are compared by a verification.
+   * @return number of probes
+   */
+  public int size() {
+    return getProbeRgb().length;
+  }
+
+  /**
+   * Offsets of the probes in the RGB data of an image with the given width.
+   * @param scansize width of the image
+   * @return offset of each probe relative to the left upper pixel of the pattern
+   */
+  public int[] offsets(final int scansize) {
+    Ensure.greaterOrEqual(scansize, getWidth());
+    int[] result = new int[size()];
+    for (int probe = 0; probe < result.length; probe++) {
+      result[probe] = getProbeY()[probe] * scansize + getProbeX()[probe];
+    }
+    return result;
+  }
+
+  /**
+   * Compare the probes with the RGB data of an image, the pattern has to fit into the data.
+   * @param data    RGB data of the image
+   * @param start   index of the left upper pixel of the pattern in the data
+   * @param offsets offsets of the probes for the width of the image
+   * @return true if every opaque pixel of the pattern is equal to the pixel in the data
+   */
+  public boolean matches(final int[] data, final int start, final int[] offsets) {
+    int[] rgb = getProbeRgb();
+    boolean match = true;
+    for (int probe = 0; probe < rgb.length && match; probe++) {
+      match = data[start + offsets[probe]] == rgb[probe];
+    }
+    return match;
+  }
+
+  /**
+   * Check if the pattern is at the position in the image without copying the image.
+   * @param image     to check
+   * @param positionX x-coordinate of the left upper pixel of the pattern
+   * @param positionY y-coordinate of the left upper pixel of the pattern
+   * @return true if the pattern fits into the image and every opaque pixel is equal
+   */
+  public boolean at(final Image image, final int positionX, final int positionY) {
+    Ensure.notNull(image);
+    boolean match = positionX + getWidth() <= image.getWidth()
+        && positionY + getHeight() <= image.getHeight();
+    int[] rgb = getProbeRgb();
+    for (int probe = 0; probe < rgb.length && match; probe++) {
+      match = image.getRgb(positionX + getProbeX()[probe], positionY + getProbeY()[probe])
+          == rgb[probe];
+    }
+    return match;
+  }
+
+  /**
+   * Indexes of the first probe of each color, the rarest colors first.
+   * @param count maximum number of colors
+   * @return indexes of the probes
+   */
+  int[] rarestColors(final int count) {
+    Ensure.notNegative(count);
+    Set<Integer> colors = new HashSet<>();
+    return IntStream.range(0, size())
+        .filter(probe -> colors.add(getProbeRgb()[probe]))
+        .limit(count)
+        .toArray();
+  }
+
+  int probeX(final int probe) {
+    return getProbeX()[probe];
+  }
+
+  int probeY(final int probe) {
+    return getProbeY()[probe];
+  }
+
+  int probeRgb(final int probe) {
+    return getProbeRgb()[probe];
+  }
+
+  private static boolean isTransparent(final int rgb) {
+    return (rgb >>> 24) == 0;
+  }
+}
@@ -0,0 +1,126 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.PositionList;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import io.github.micansid.guiautomation.util.image.IntegralImage;
+import io.github.micansid.guiautomation.util.image.IntegralImage.Channel;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Finder which rejects a position in constant time if the sums of the color channels under the
+ * pattern cannot belong to the pattern. The sums are read from the IntegralImage of the image.
+ * For an opaque pattern the sum and the sum of squares of every channel, i.e. mean and variance,
+ * have to be equal. A transparent pixel can cover any value, so the sums only have to be within
+ * the range which the transparent pixels allow. The remaining positions are verified like in the
+ * SparseFinder, with cached compiled patterns.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class StatisticsFinder implements ImagePositionFinder {
+  private static final Channel[] CHANNELS = {Channel.RED, Channel.GREEN, Channel.BLUE};
+  private static final long MAX_VALUE = 255;
+
+  private final PatternCache<SparsePattern> sparsePatterns =
+      new PatternCache<>(SparsePattern::new);
+
+  @Override
+  public Optional<Position> find(final Image image, final Image pattern) {
+    return stream(image, pattern).findFirst();
+  }
+
+  @Override
+  public List<Position> findAll(final Image image, final Image pattern) {
+    return stream(image, pattern).collect(PositionList::new, PositionList::add,
+        PositionList::addAll);
+  }
+
+  @Override
+  public Stream<Position> stream(final Image image, final Image pattern) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+
+    SparsePattern sparsePattern = getSparsePatterns().get(pattern);
+    ImageRows rows = new ImageRows(image);
+    int width = image.getWidth();
+    int[] offsets = sparsePattern.offsets(Math.max(width, pattern.getWidth()));
+    Statistics statistics = new Statistics(image.integralImage(), pattern);
+
+    return StreamSupport.stream(new PositionSpliterator(image, pattern, (y, fromX, toX) -> {
+      int[] data = rows.rows(y + pattern.getHeight());
+      int result = -1;
+      for (int x = fromX; x < toX && result < 0; x++) {
+        if (statistics.mayMatch(x, y) && sparsePattern.matches(data, y * width + x, offsets)) {
+          result = x;
+        }
+      }
+      return result;
+    }), false);
+  }
+
+  @Override
+  public boolean at(final Image image, final Image pattern, final int positionX,
+                    final int positionY) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+    Ensure.notNegative(positionX);
+    Ensure.notNegative(positionY);
+    Ensure.smaller(positionX, image.getWidth());
+    Ensure.smaller(positionY, image.getHeight());
+    return getSparsePatterns().get(pattern).at(image, positionX, positionY);
+  }
+
+  /**
+   * Sums of the opaque pixels of a pattern and the check of a window of the image against them.
+   */
+  static class Statistics {
+    private final IntegralImage.Window[] windows = new IntegralImage.Window[CHANNELS.length];
+    private final long transparent;
+    private final long[] sums = new long[CHANNELS.length];
+    private final long[] squares = new long[CHANNELS.length];
+
+    Statistics(final IntegralImage integral, final Image pattern) {
+      for (int channel = 0; channel < CHANNELS.length; channel++) {
+        windows[channel] = integral.window(CHANNELS[channel], pattern.getWidth(),
+            pattern.getHeight());
+      }
+      long count = 0;
+      for (int rgb : pattern.getRgbData()) {
+        if ((rgb >>> 24) == 0) {
+          count++;
+        } else {
+          for (int channel = 0; channel < CHANNELS.length; channel++) {
+            long value = CHANNELS[channel].of(rgb);
+            sums[channel] += value;
+            squares[channel] += value * value;
+          }
+        }
+      }
+      transparent = count;
+    }
+
+    /**
+     * Check the sums of the window at the position, which has to fit into the image.
+     * @param x x-coordinate of the left upper pixel of the window
+     * @param y y-coordinate of the left upper pixel of the window
+     * @return false if the pattern cannot be at the position
+     */
+    boolean mayMatch(final int x, final int y) {
+      boolean result = true;
+      for (int channel = 0; channel < CHANNELS.length && result; channel++) {
+        long sum = windows[channel].sum(x, y) - sums[channel];
+        result = sum >= 0 && sum <= transparent * MAX_VALUE;
+        if (result) {
+          long square = windows[channel].sumOfSquares(x, y) - squares[channel];
+          result = square >= 0 && square <= transparent * MAX_VALUE * MAX_VALUE;
+        }
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.PositionList;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Finder which rejects whole tiles of the image before the pixels are compared. A pattern can
+ * only start in a tile if the rarest colors of the pattern may be present in the tiles where
+ * the pixels of these colors would be. The ColorTileIndex of the image is kept, so all patterns
+ * searched in the same image instance share one index. The candidate positions are verified like
+ * in the SparseFinder, with cached compiled patterns.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class TileIndexFinder implements ImagePositionFinder {
+  static final int FILTER_COLORS = 3;
+
+  private final int tileSize;
+  private final PatternCache<SparsePattern> sparsePatterns =
+      new PatternCache<>(SparsePattern::new);
+  private volatile ColorTileIndex index;
+
+  public TileIndexFinder() {
+    this(ColorTileIndex.DEFAULT_TILE_SIZE);
+  }
+
+  /**
+   * Create a finder.
+   * @param tileSize width and height of the tiles of the index
+   */
+  public TileIndexFinder(final int tileSize) {
+    Ensure.greater(tileSize, 0);
+    this.tileSize = tileSize;
+  }
+
+  @Override
+  public Optional<Position> find(final Image image, final Image pattern) {
+    return stream(image, pattern).findFirst();
+  }
+
+  @Override
+  public List<Position> findAll(final Image image, final Image pattern) {
+    return stream(image, pattern).collect(PositionList::new, PositionList::add,
+        PositionList::addAll);
+  }
+
+  @Override
+  public Stream<Position> stream(final Image image, final Image pattern) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+
+    ColorTileIndex tiles = index(image);
+    SparsePattern sparsePattern = getSparsePatterns().get(pattern);
+    boolean[] candidates = candidates(tiles, image, sparsePattern);
+    ImageRows rows = new ImageRows(image);
+    int width = image.getWidth();
+    int[] offsets = sparsePattern.offsets(Math.max(width, pattern.getWidth()));
+    int size = tiles.getTileSize();
+
+    return StreamSupport.stream(new PositionSpliterator(image, pattern, (y, fromX, toX) -> {
+      int[] data = rows.rows(y + pattern.getHeight());
+      int tileRow = (y / size) * tiles.getColumns();
+      int result = -1;
+      int x = fromX;
+      while (x < toX && result < 0) {
+        if (candidates[tileRow + x / size]) {
+          if (sparsePattern.matches(data, y * width + x, offsets)) {
+            result = x;
+          }
+          x++;
+        } else {
+          x = (x / size + 1) * size;
+        }
+      }
+      return result;
+    }), false);
+  }
+
+  @Override
+  public boolean at(final Image image, final Image pattern, final int positionX,
+                    final int positionY) {
+    Ensure.notNull(image);
+    Ensure.notNull(pattern);
+    Ensure.notNegative(positionX);
+    Ensure.notNegative(positionY);
+    Ensure.smaller(positionX, image.getWidth());
+    Ensure.smaller(positionY, image.getHeight());
+    return getSparsePatterns().get(pattern).at(image, positionX, positionY);
+  }
+
+  /**
+   * Index of the image, built only if the last index belongs to another image.
+   */
+  private ColorTileIndex index(final Image image) {
+    ColorTileIndex result = index;
+    if (result == null || !result.indexes(image)) {
+      result = new ColorTileIndex(image, getTileSize());
+      index = result;
+    }
+    return result;
+  }
+
+  /**
+   * Tiles where the left upper pixel of the pattern may be.
+   */
+  private static boolean[] candidates(final ColorTileIndex tiles, final Image image,
+                                      final SparsePattern pattern) {
+    int[] colors = pattern.rarestColors(FILTER_COLORS);
+    int maxX = image.getWidth() - pattern.getWidth();
+    int maxY = image.getHeight() - pattern.getHeight();
+    int size = tiles.getTileSize();
+    boolean[] result = new boolean[tiles.getColumns() * tiles.getRows()];
+    for (int row = 0; row < tiles.getRows() && row * size <= maxY; row++) {
+      for (int column = 0; column < tiles.getColumns() && column * size <= maxX; column++) {
+        boolean candidate = true;
+        for (int color = 0; color < colors.length && candidate; color++) {
+          int probe = colors[color];
+          candidate = tiles.mayContain(column * size + pattern.probeX(probe),
+              row * size + pattern.probeY(probe),
+              Math.min(maxX, (column + 1) * size - 1) + pattern.probeX(probe),
+              Math.min(maxY, (row + 1) * size - 1) + pattern.probeY(probe),
+              pattern.probeRgb(probe));
+        }
+        result[row * tiles.getColumns() + column] = candidate;
+      }
+    }
+    return result;
+  }
+}
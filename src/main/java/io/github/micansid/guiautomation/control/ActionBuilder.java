@@ -1,6 +1,7 @@
 package io.github.micansid.guiautomation.control;
 
 import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.metric.Metrics;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -63,6 +64,42 @@ public class ActionBuilder {
   }
 
 
+  /**
+   * Evaluate the condition until it is fulfilled or the end is reached. Every evaluation gets a
+   * controller whose screen is frozen to one screenshot, so all searches of one evaluation share
+   * one captured frame.
+   * @param controller   to evaluate the condition with
+   * @param condition    which is fulfilled if the optional is set
+   * @param end          time of the clock of the controller after which no evaluation is started
+   * @param pollStrategy waiting time between the evaluations
+   * @param <R>          type of the condition result
+   * @return result of the condition or an empty optional if it wasn't fulfilled in time
+   */
+  static <R> Optional<R> poll(final Controller controller,
+                              final Function<Controller, Optional<R>> condition,
+                              final long end, final PollStrategy pollStrategy) {
+    Supplier<Long> clock = controller.screenObserver().getClock();
+    Optional<R> result = condition.apply(controller.withScreen(controller.screen().freeze()));
+    Metrics.increment("action.poll");
+    long remaining = end - clock.get();
+
+    for (int poll = 0; !result.isPresent() && remaining > 0; poll++) {
+      long start = Metrics.start();
+      try {
+        Thread.sleep(Math.min(remaining, pollStrategy.interval(poll)));
+      } catch (InterruptedException exception) {
+        throw new RuntimeException(exception);
+      } finally {
+        Metrics.stop("action.sleep", start);
+      }
+      result = condition.apply(controller.withScreen(controller.screen().freeze()));
+      Metrics.increment("action.poll");
+      remaining = end - clock.get();
+    }
+    return result;
+  }
+
+
   /**
    * Builder level to set the action with will be executed if the precondition is fulfilled. The
    * implemented interfaces minimize the possible methods according the precondition.
@@ -186,6 +223,22 @@ public class ActionBuilder {
                 .orElseThrow(() -> new RuntimeException("The post condition isn't fulfilled"));
           };
         }
+
+        @Override
+        public Function<Controller, U> build(final long timeout, final PollStrategy pollStrategy) {
+          Ensure.notNegative(timeout);
+          Ensure.notNull(pollStrategy);
+          return controller -> {
+            long end = controller.screenObserver().getClock().get() + timeout;
+            T preTransfer = poll(controller, getPrecondition(), end, pollStrategy)
+                .orElseThrow(() -> new RuntimeException("The pre condition isn't fulfilled"));
+            S actionTransfer = getAction().apply(controller, preTransfer);
+            return poll(controller,
+                frame -> getPostcondition().apply(frame, actionTransfer),
+                end, pollStrategy)
+                .orElseThrow(() -> new RuntimeException("The post condition isn't fulfilled"));
+          };
+        }
       }
     }
   }
@@ -309,5 +362,18 @@ public class ActionBuilder {
      * @return a function with all composed parts
      */
     Function<Controller, U> build();
+
+    /**
+     * Compose precondition, action and postcondition to a single action function which waits for
+     * the conditions. The precondition is evaluated until it is fulfilled, then the action is
+     * executed once on the live screen with the result of the precondition, then the postcondition
+     * is evaluated until it is fulfilled. Every evaluation of a condition captures only one
+     * screenshot.
+     * @param timeout      for the whole action function in milliseconds
+     * @param pollStrategy waiting time between the evaluations of a condition
+     * @throws RuntimeException when pre- or postcondition is not fulfilled in time.
+     * @return a function with all composed parts
+     */
+    Function<Controller, U> build(long timeout, PollStrategy pollStrategy);
   }
 }
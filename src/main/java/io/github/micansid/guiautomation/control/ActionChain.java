@@ -0,0 +1,182 @@
+package io.github.micansid.guiautomation.control;
+
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import io.github.micansid.guiautomation.util.metric.Metrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Chain of steps, each one waiting for a pattern, executing an action at the pattern and verifying
+ * the action with a postcondition. The pattern of the next step usually appears as soon as the
+ * action of the current step lands, so it is searched on a background thread while the
+ * postcondition is verified. After the postcondition the prefetched position is only verified
+ * with one comparison instead of a full search. A position which is no longer valid is searched
+ * again until the timeout of the precondition, which started with the prefetch, is over.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class ActionChain {
+  private final List<Step> steps = new ArrayList<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "ActionChain");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * Add a step to the end of the chain.
+   * @param pattern       which has to be on the screen before the action
+   * @param action        getting the click position (the middle) of the pattern
+   * @param postcondition which is true if the action was successful
+   * @return this for fluent interface
+   */
+  public ActionChain add(final Supplier<Image> pattern,
+                         final BiFunction<Controller, Position, ?> action,
+                         final Predicate<Controller> postcondition) {
+    Ensure.notNull(pattern);
+    Ensure.notNull(action);
+    Ensure.notNull(postcondition);
+    getSteps().add(new Step(pattern, action, postcondition));
+    return this;
+  }
+
+  public int size() {
+    return getSteps().size();
+  }
+
+  /**
+   * Execute the steps one after the other.
+   * @param controller   executing the steps
+   * @param timeout      of the precondition and of the postcondition of each step in milliseconds
+   * @param pollStrategy waiting time between the evaluations of a condition
+   * @return results of the actions
+   * @throws RuntimeException when a pattern is not found or a postcondition is not fulfilled in
+   *                          time
+   */
+  public List<Object> run(final Controller controller, final long timeout,
+                          final PollStrategy pollStrategy) {
+    Ensure.notNull(controller);
+    Ensure.notNegative(timeout);
+    Ensure.notNull(pollStrategy);
+    Supplier<Long> clock = controller.screenObserver().getClock();
+    List<Object> results = new ArrayList<>();
+    Future<Optional<Position>> prefetch = null;
+    long preconditionEnd = clock.get() + timeout;
+
+    try {
+      for (int index = 0; index < size(); index++) {
+        Step step = getSteps().get(index);
+        Image pattern = step.getPattern().get();
+        Optional<Position> position = Optional.empty();
+        if (prefetch != null) {
+          position = prefetched(controller, pattern, prefetch);
+        }
+        if (!position.isPresent()) {
+          // the precondition started with the prefetch, the search only uses the remaining time
+          position = search(controller, pattern, preconditionEnd, pollStrategy);
+        }
+        int stepIndex = index;
+        Position found = position.orElseThrow(() -> new RuntimeException("The pre condition of "
+            + "the step " + stepIndex + " isn't fulfilled"));
+
+        results.add(step.getAction().apply(controller, found.addSubPosition(pattern.middle())));
+
+        prefetch = null;
+        if (index + 1 < size()) {
+          Supplier<Image> next = getSteps().get(index + 1).getPattern();
+          long end = clock.get() + timeout;
+          preconditionEnd = end;
+          prefetch = getExecutor().submit(() -> search(controller, next.get(), end,
+              pollStrategy));
+        }
+        boolean verified = ActionBuilder.poll(controller, frame ->
+            step.getPostcondition().test(frame) ? Optional.of(true) : Optional.empty(),
+            clock.get() + timeout, pollStrategy).isPresent();
+        if (!verified) {
+          throw new RuntimeException("The post condition of the step " + index
+              + " isn't fulfilled");
+        }
+      }
+    } finally {
+      if (prefetch != null) {
+        prefetch.cancel(true);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Number of steps whose prefetched position was still valid.
+   * @return number of hits
+   */
+  public long hits() {
+    return getHits().sum();
+  }
+
+  /**
+   * Number of steps whose pattern had to be searched again after the prefetch.
+   * @return number of misses
+   */
+  public long misses() {
+    return getMisses().sum();
+  }
+
+  private Optional<Position> prefetched(final Controller controller, final Image pattern,
+                                        final Future<Optional<Position>> prefetch) {
+    Optional<Position> result;
+    try {
+      result = prefetch.get().filter(position -> controller.screen().imageAt(pattern, position));
+    } catch (InterruptedException exception) {
+      throw new RuntimeException(exception);
+    } catch (ExecutionException | CancellationException exception) {
+      result = Optional.empty();
+    }
+    if (result.isPresent()) {
+      getHits().increment();
+      Metrics.increment("chain.prefetch.hit");
+    } else {
+      getMisses().increment();
+      Metrics.increment("chain.prefetch.miss");
+    }
+    return result;
+  }
+
+  private static Optional<Position> search(final Controller controller, final Image pattern,
+                                           final long end, final PollStrategy pollStrategy) {
+    return ActionBuilder.poll(controller, frame -> frame.screen().positionOf(pattern), end,
+        pollStrategy);
+  }
+
+
+  /**
+   * Pattern, action and postcondition of a step.
+   */
+  @Getter(AccessLevel.PRIVATE)
+  private static class Step {
+    private final Supplier<Image> pattern;
+    private final BiFunction<Controller, Position, ?> action;
+    private final Predicate<Controller> postcondition;
+
+    private Step(final Supplier<Image> pattern, final BiFunction<Controller, Position, ?> action,
+                 final Predicate<Controller> postcondition) {
+      this.pattern = pattern;
+      this.action = action;
+      this.postcondition = postcondition;
+    }
+  }
+}
@@ -0,0 +1,241 @@
+package io.github.micansid.guiautomation.control;
+
+import io.github.micansid.guiautomation.control.keyboard.Key;
+import io.github.micansid.guiautomation.control.keyboard.Shortcut;
+import io.github.micansid.guiautomation.control.screen.Screen;
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import io.github.micansid.guiautomation.util.metric.Metrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Batch of Controller operations which are recorded first and dispatched in one burst by
+ * execute(). The buttons of the batch are searched on one screenshot before any input is
+ * dispatched, a move which is followed by another move or which targets the position the mouse
+ * is already moved to is dropped, and the mouse position is verified only once at the end. All
+ * buttons have to be visible when the batch is executed, use an ActionChain for buttons which
+ * appear after an action.
+ * <pre>
+ *   controller.queue()
+ *       .clickButton(nameField).type("Jane")
+ *       .clickButton(cityField).type("Berlin")
+ *       .clickButton(commitButton)
+ *       .execute();
+ * </pre>
+ */
+@Getter(AccessLevel.PRIVATE)
+@Setter(AccessLevel.PRIVATE)
+public class ActionQueue {
+  private final Controller controller;
+  private final List<Operation> operations = new ArrayList<>();
+  private long coalesced = 0;
+
+  ActionQueue(final Controller controller) {
+    Ensure.notNull(controller);
+    this.controller = controller;
+  }
+
+  public ActionQueue move(final Position position) {
+    Ensure.notNull(position);
+    return add(new Operation(Type.MOVE, position, null, null, null));
+  }
+
+  /**
+   * Click the left mouse button at the current position.
+   * @return this for fluent interface
+   */
+  public ActionQueue click() {
+    return add(new Operation(Type.CLICK, null, null, null, null));
+  }
+
+  public ActionQueue clickAt(final Position position) {
+    return move(position).click();
+  }
+
+  /**
+   * Click in the middle of the pattern, which is searched on the screenshot of execute().
+   * @param pattern of the button
+   * @return this for fluent interface
+   */
+  public ActionQueue clickButton(final Supplier<Image> pattern) {
+    Ensure.notNull(pattern);
+    return add(new Operation(Type.CLICK_BUTTON, null, pattern, null, null));
+  }
+
+  public ActionQueue type(final String text) {
+    Ensure.notNull(text);
+    return add(new Operation(Type.TYPE, null, null, text, null));
+  }
+
+  /**
+   * Paste the text through the clipboard.
+   * @param text to paste
+   * @return this for fluent interface
+   */
+  public ActionQueue paste(final String text) {
+    Ensure.notNull(text);
+    return add(new Operation(Type.PASTE, null, null, text, null));
+  }
+
+  public ActionQueue input(final Key key) {
+    Ensure.notNull(key);
+    return add(new Operation(Type.INPUT, null, null, null, key));
+  }
+
+  /**
+   * Number of recorded operations which are not executed yet.
+   * @return number of operations
+   */
+  public int size() {
+    return getOperations().size();
+  }
+
+  /**
+   * Number of moves which were dropped by all executions of the queue.
+   * @return number of dropped moves
+   */
+  public long coalesced() {
+    return getCoalesced();
+  }
+
+  /**
+   * Search the buttons, dispatch the input of all recorded operations and verify the mouse
+   * position. The queue is empty afterwards, unless a button isn't on the screen: then the
+   * operations stay recorded, so the queue can be executed again.
+   * @return click positions of the buttons in the order of the operations
+   * @throws RuntimeException when a button isn't on the screen, then no input is dispatched, or
+   *                          when the mouse isn't at the position of the last move
+   */
+  public List<Position> execute() {
+    long start = Metrics.start();
+    List<Position> result = new ArrayList<>();
+    List<Operation> resolved = resolve(getOperations(), result);
+    getOperations().clear();
+    List<Operation> dispatched = coalesce(resolved);
+    setCoalesced(getCoalesced() + resolved.size() - dispatched.size());
+
+    Position lastMove = null;
+    for (Operation operation : dispatched) {
+      dispatch(operation);
+      if (operation.getType() == Type.MOVE) {
+        lastMove = operation.getPosition();
+      }
+    }
+    if (lastMove != null && !lastMove.equals(getController().mouse().currentPosition())) {
+      throw new RuntimeException("The mouse isn't at the position " + lastMove);
+    }
+    Metrics.stop("queue.execute", start);
+    return result;
+  }
+
+  private ActionQueue add(final Operation operation) {
+    getOperations().add(operation);
+    return this;
+  }
+
+  /**
+   * Replace the button clicks by moves to the click position and clicks. All buttons are searched
+   * on one screenshot.
+   */
+  private List<Operation> resolve(final List<Operation> recorded,
+                                  final List<Position> clickPositions) {
+    Screen screen = null;
+    List<Operation> result = new ArrayList<>();
+    for (Operation operation : recorded) {
+      if (operation.getType() == Type.CLICK_BUTTON) {
+        if (screen == null) {
+          screen = getController().screen().freeze();
+        }
+        Image pattern = operation.getPattern().get();
+        Optional<Position> position = screen.positionOf(pattern);
+        if (!position.isPresent()) {
+          throw new RuntimeException("The button isn't on the screen");
+        }
+        Position clickPosition = position.get().addSubPosition(pattern.middle());
+        clickPositions.add(clickPosition);
+        result.add(new Operation(Type.MOVE, clickPosition, null, null, null));
+        result.add(new Operation(Type.CLICK, null, null, null, null));
+      } else {
+        result.add(operation);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Drop the moves which are followed by another move and the moves to the current target.
+   */
+  private List<Operation> coalesce(final List<Operation> resolved) {
+    List<Operation> result = new ArrayList<>();
+    Position target = null;
+    for (int index = 0; index < resolved.size(); index++) {
+      Operation operation = resolved.get(index);
+      boolean redundant = operation.getType() == Type.MOVE
+          && (operation.getPosition().equals(target) || index + 1 < resolved.size()
+          && resolved.get(index + 1).getType() == Type.MOVE);
+      if (!redundant) {
+        result.add(operation);
+        if (operation.getType() == Type.MOVE) {
+          target = operation.getPosition();
+        }
+      }
+    }
+    return result;
+  }
+
+  private void dispatch(final Operation operation) {
+    switch (operation.getType()) {
+      case MOVE:
+        getController().mouse().move(operation.getPosition());
+        break;
+      case CLICK:
+        getController().mouse().leftClick();
+        break;
+      case TYPE:
+        getController().keyboard().type(operation.getText());
+        break;
+      case PASTE:
+        getController().clipboard().set(operation.getText());
+        getController().keyboard().execute(Shortcut.PASTE);
+        break;
+      case INPUT:
+        getController().keyboard().input(operation.getKey());
+        break;
+      default:
+        throw new RuntimeException("The operation " + operation.getType() + " isn't resolved");
+    }
+  }
+
+
+  private enum Type {
+    MOVE, CLICK, CLICK_BUTTON, TYPE, PASTE, INPUT
+  }
+
+  /**
+   * Recorded operation with the parameters of its type.
+   */
+  @Getter(AccessLevel.PRIVATE)
+  private static class Operation {
+    private final Type type;
+    private final Position position;
+    private final Supplier<Image> pattern;
+    private final String text;
+    private final Key key;
+
+    private Operation(final Type type, final Position position, final Supplier<Image> pattern,
+                      final String text, final Key key) {
+      this.type = type;
+      this.position = position;
+      this.pattern = pattern;
+      this.text = text;
+      this.key = key;
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package io.github.micansid.guiautomation.control;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Poll strategy which doubles the waiting time after every evaluation up to a maximum, so a
+ * condition which is fulfilled soon is noticed soon and a slow one is not polled too often.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class BackoffPollStrategy implements PollStrategy {
+  private final long initialInterval;
+  private final long maximumInterval;
+
+  /**
+   * Poll strategy with a fixed interval.
+   * @param interval in milliseconds
+   */
+  public BackoffPollStrategy(final long interval) {
+    this(interval, interval);
+  }
+
+  /**
+   * Create a poll strategy.
+   * @param initialInterval waiting time after the first evaluation in milliseconds
+   * @param maximumInterval waiting time which is never exceeded in milliseconds
+   */
+  public BackoffPollStrategy(final long initialInterval, final long maximumInterval) {
+    Ensure.greater(initialInterval, 0);
+    Ensure.greaterOrEqual(maximumInterval, initialInterval);
+    this.initialInterval = initialInterval;
+    this.maximumInterval = maximumInterval;
+  }
+
+  @Override
+  public long interval(final int poll) {
+    Ensure.notNegative(poll);
+    long result = getInitialInterval();
+    for (int step = 0; step < poll && result < getMaximumInterval(); step++) {
+      result *= 2;
+    }
+    return Math.min(result, getMaximumInterval());
+  }
+}
@@ -21,6 +21,8 @@ public class Controller {
   private final Mouse mouse;
   private final Screen screen;
   private final ScreenObserver screenObserver;
+  private final Supplier<Long> clock;
+  private final int refreshInterval;
 
 
   public Controller(final Clipboard clipboard, final Keyboard keyboard, final Mouse mouse,
@@ -36,6 +38,8 @@ public class Controller {
     this.mouse = mouse;
     this.screen = screen;
     this.screenObserver = new ScreenObserver(screen, clock, refreshInterval);
+    this.clock = clock;
+    this.refreshInterval = refreshInterval;
   }
 
   public Controller pasteText(final String text) {
@@ -71,6 +75,24 @@ public class Controller {
         .map(position -> position.addSubPosition(patternSupplier.get().middle())));
   }
 
+  /**
+   * Queue to record a batch of operations, which are dispatched in one burst.
+   * @return empty queue of this controller
+   */
+  public ActionQueue queue() {
+    return new ActionQueue(this);
+  }
+
+  /**
+   * Controller which uses the same clipboard, keyboard, mouse and clock with another screen.
+   * @param screen of the new controller
+   * @return new controller
+   */
+  Controller withScreen(final Screen screen) {
+    return new Controller(getClipboard(), getKeyboard(), getMouse(), screen, getClock(),
+        getRefreshInterval());
+  }
+
   public Clipboard clipboard() {
     return getClipboard();
   }
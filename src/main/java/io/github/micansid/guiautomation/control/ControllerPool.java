@@ -0,0 +1,307 @@
+package io.github.micansid.guiautomation.control;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.metric.MetricRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of Controllers, each one driving its own desktop, e.g. the Xvfb displays :1 to :N of one
+ * machine. The factory creates the Controller of a session from the session index, so it decides
+ * which display the executors and the screen supplier of the session are bound to. A session is
+ * leased by one thread at a time and checked before it is handed out: an unhealthy Controller is
+ * replaced by a new one from the factory. A session is checked if the health check interval has
+ * passed since its last check or if an action of its previous lease failed. Every session records
+ * its own metrics.
+ * <pre>
+ *   ControllerPool pool = new ControllerPool(4,
+ *       index -&gt; controllerForDisplay(":" + (index + 1)));
+ *   pool.execute(controller -&gt; controller.clickButton(pattern));
+ * </pre>
+ */
+@Getter(AccessLevel.PRIVATE)
+public class ControllerPool {
+  public static final String LEASE = "session.lease";
+  public static final String LEASES = "session.leases";
+  public static final String UNHEALTHY = "session.unhealthy";
+  public static final String FAILURES = "session.failures";
+  public static final long DEFAULT_HEALTH_CHECK_INTERVAL = 10_000;
+
+  private final Logger logger = LoggerFactory.getLogger(getClass());
+  private final IntFunction<Controller> factory;
+  private final Predicate<Controller> healthCheck;
+  private final long healthCheckInterval;
+  private final List<Session> sessions;
+  private final BlockingQueue<Session> idle;
+
+  /**
+   * Create a pool whose sessions are healthy while their screen supplies a screenshot. The check
+   * captures the screen, so it runs at most every DEFAULT_HEALTH_CHECK_INTERVAL milliseconds per
+   * session and after a failed action.
+   * @param size    number of sessions
+   * @param factory creating the Controller of a session from the session index
+   */
+  public ControllerPool(final int size, final IntFunction<Controller> factory) {
+    this(size, factory, controller -> controller.screen().width() > 0,
+        DEFAULT_HEALTH_CHECK_INTERVAL);
+  }
+
+  /**
+   * Create a pool whose sessions are checked on every lease.
+   * @param size        number of sessions
+   * @param factory     creating the Controller of a session from the session index
+   * @param healthCheck which is true if a Controller can be used
+   */
+  public ControllerPool(final int size, final IntFunction<Controller> factory,
+                        final Predicate<Controller> healthCheck) {
+    this(size, factory, healthCheck, 0);
+  }
+
+  /**
+   * Create a pool and the Controllers of all sessions.
+   * @param size                number of sessions
+   * @param factory             creating the Controller of a session from the session index
+   * @param healthCheck         which is true if a Controller can be used
+   * @param healthCheckInterval minimal time in milliseconds between two checks of a session
+   *                            without a failed action, 0 to check on every lease
+   */
+  public ControllerPool(final int size, final IntFunction<Controller> factory,
+                        final Predicate<Controller> healthCheck,
+                        final long healthCheckInterval) {
+    Ensure.greater(size, 0);
+    Ensure.notNull(factory);
+    Ensure.notNull(healthCheck);
+    Ensure.notNegative(healthCheckInterval);
+    this.factory = factory;
+    this.healthCheck = healthCheck;
+    this.healthCheckInterval = healthCheckInterval;
+
+    List<Session> created = new ArrayList<>(size);
+    for (int index = 0; index < size; index++) {
+      created.add(new Session(this, index, create(index)));
+    }
+    sessions = Collections.unmodifiableList(created);
+    idle = new ArrayBlockingQueue<>(size, true, created);
+  }
+
+  /**
+   * Lease a session and wait until one is returned if all are leased.
+   * @return leased session, which has to be returned with release()
+   */
+  public Session lease() {
+    Session result;
+    try {
+      result = getIdle().take();
+    } catch (InterruptedException exception) {
+      throw new RuntimeException(exception);
+    }
+    return prepare(result);
+  }
+
+  /**
+   * Lease a session.
+   * @param timeout in milliseconds to wait for a returned session
+   * @return leased session or an empty optional if no session was returned in time
+   */
+  public Optional<Session> lease(final long timeout) {
+    Ensure.notNegative(timeout);
+    Session result;
+    try {
+      result = getIdle().poll(timeout, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException exception) {
+      throw new RuntimeException(exception);
+    }
+    return Optional.ofNullable(result == null ? null : prepare(result));
+  }
+
+  /**
+   * Return a leased session to the pool.
+   * @param session to return
+   */
+  public void release(final Session session) {
+    Ensure.notNull(session);
+    Ensure.greaterOrEqual(getSessions().indexOf(session), 0);
+    session.release();
+    getIdle().add(session);
+  }
+
+  /**
+   * Lease a session, execute the action with its Controller and return the session.
+   * @param action to execute
+   * @param <U>    result type of the action
+   * @return result of the action
+   */
+  public <U> U execute(final Function<Controller, U> action) {
+    Ensure.notNull(action);
+    Session session = lease();
+    U result;
+    try {
+      result = execute(session, action);
+    } finally {
+      release(session);
+    }
+    return result;
+  }
+
+  /**
+   * Execute the action with the Controller of a leased session, which stays leased, e.g. to run
+   * several dependent actions on the same Controller.
+   * @param session leased from this pool
+   * @param action  to execute
+   * @param <U>     result type of the action
+   * @return result of the action
+   */
+  public <U> U execute(final Session session, final Function<Controller, U> action) {
+    Ensure.notNull(session);
+    Ensure.notNull(action);
+    Ensure.greaterOrEqual(getSessions().indexOf(session), 0);
+    if (!session.isLeased()) {
+      throw new RuntimeException("The session " + session.index() + " is not leased");
+    }
+    U result;
+    try {
+      result = action.apply(session.controller());
+    } catch (RuntimeException exception) {
+      session.metrics().increment(FAILURES);
+      session.fail();
+      throw exception;
+    }
+    return result;
+  }
+
+  public int size() {
+    return getSessions().size();
+  }
+
+  /**
+   * Number of sessions which are not leased.
+   * @return number of idle sessions
+   */
+  public int available() {
+    return getIdle().size();
+  }
+
+  /**
+   * All sessions of the pool, e.g. to read their metrics. A session must only be used while it is
+   * leased.
+   * @return sessions ordered by the index
+   */
+  public List<Session> sessions() {
+    return getSessions();
+  }
+
+  private Session prepare(final Session session) {
+    try {
+      session.lease();
+    } catch (RuntimeException exception) {
+      // the factory failed, the session stays in the pool for the next try
+      getIdle().add(session);
+      throw exception;
+    }
+    return session;
+  }
+
+  private Controller create(final int index) {
+    Controller result = getFactory().apply(index);
+    Ensure.notNull(result);
+    return result;
+  }
+
+  private boolean isHealthy(final Controller controller) {
+    boolean result;
+    try {
+      result = getHealthCheck().test(controller);
+    } catch (RuntimeException exception) {
+      getLogger().warn("health check failed: " + exception.getMessage());
+      result = false;
+    }
+    return result;
+  }
+
+
+  /**
+   * Session of a pool with its Controller and its metrics.
+   */
+  public static class Session {
+    private final ControllerPool pool;
+    private final int index;
+    private final MetricRegistry metrics = new MetricRegistry();
+    private volatile Controller controller;
+    private boolean leased = false;
+    private long leasedSince;
+    private long checkedAt = System.nanoTime();
+    private boolean failed = false;
+
+    Session(final ControllerPool pool, final int index, final Controller controller) {
+      this.pool = pool;
+      this.index = index;
+      this.controller = controller;
+      metrics.setEnabled(true);
+    }
+
+    public int index() {
+      return index;
+    }
+
+    public Controller controller() {
+      return controller;
+    }
+
+    /**
+     * Metrics of the session: the duration of the leases, the number of leases, unhealthy checks
+     * and failed actions.
+     * @return registry of the session
+     */
+    public MetricRegistry metrics() {
+      return metrics;
+    }
+
+    public synchronized boolean isLeased() {
+      return leased;
+    }
+
+    private synchronized void lease() {
+      long now = System.nanoTime();
+      long interval = TimeUnit.MILLISECONDS.toNanos(pool.getHealthCheckInterval());
+      if (failed || now - checkedAt >= interval) {
+        if (!pool.isHealthy(controller)) {
+          metrics.increment(UNHEALTHY);
+          pool.getLogger().info("replace the controller of the unhealthy session " + index);
+          controller = pool.create(index);
+        }
+        checkedAt = now;
+        failed = false;
+      }
+      leased = true;
+      leasedSince = now;
+      metrics.increment(LEASES);
+    }
+
+    /**
+     * Mark the session for a health check on the next lease.
+     */
+    private synchronized void fail() {
+      failed = true;
+    }
+
+    private synchronized void release() {
+      if (!leased) {
+        throw new RuntimeException("The session " + index + " is not leased");
+      }
+      metrics.record(LEASE, System.nanoTime() - leasedSince);
+      leased = false;
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package io.github.micansid.guiautomation.control;
+
+/**
+ * Strategy of the waiting time between two evaluations of a condition.
+ */
+@FunctionalInterface
+public interface PollStrategy {
+  /**
+   * Time to wait after an evaluation which was not fulfilled.
+   * @param poll number of the evaluation, starting with 0
+   * @return waiting time in milliseconds
+   */
+  long interval(int poll);
+}
@@ -0,0 +1,90 @@
+package io.github.micansid.guiautomation.control;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Directed acyclic graph of actions, e.g. built by the ActionBuilder. A step depends only on steps
+ * which were added before, so the graph can't contain a cycle and the order of the steps is a
+ * valid serial order. The WorkflowScheduler runs independent steps in parallel.
+ * <pre>
+ *   Workflow workflow = new Workflow("login")
+ *       .add("user", enterUser)
+ *       .add("password", enterPassword)
+ *       .add("submit", submit, "user", "password");
+ * </pre>
+ */
+@Getter(AccessLevel.PRIVATE)
+public class Workflow {
+  @Getter(AccessLevel.PUBLIC)
+  private final String name;
+  private final Map<String, Step> steps = new LinkedHashMap<>();
+
+  public Workflow(final String name) {
+    Ensure.notBlank(name);
+    this.name = name;
+  }
+
+  /**
+   * Add a step.
+   * @param name         of the step, unique in the workflow
+   * @param action       of the step
+   * @param dependencies names of the steps which have to be finished before the step starts
+   * @return this for fluent interface
+   */
+  public Workflow add(final String name, final Function<Controller, ?> action,
+                      final String... dependencies) {
+    Ensure.notBlank(name);
+    Ensure.notNull(action);
+    Ensure.containsNoNull(dependencies);
+    if (getSteps().containsKey(name)) {
+      throw new IllegalArgumentException("The step " + name + " already exists");
+    }
+    for (String dependency : dependencies) {
+      if (!getSteps().containsKey(dependency)) {
+        throw new IllegalArgumentException("The dependency " + dependency + " of the step " + name
+            + " doesn't exist");
+      }
+    }
+    getSteps().put(name, new Step(name, action, Arrays.asList(dependencies)));
+    return this;
+  }
+
+  public int size() {
+    return getSteps().size();
+  }
+
+  /**
+   * Steps in the order they were added, every step after its dependencies.
+   * @return steps of the workflow
+   */
+  List<Step> steps() {
+    return Collections.unmodifiableList(new ArrayList<>(getSteps().values()));
+  }
+
+
+  /**
+   * Action of a workflow with the names of the steps it depends on.
+   */
+  @Getter(AccessLevel.PACKAGE)
+  static class Step {
+    private final String name;
+    private final Function<Controller, ?> action;
+    private final List<String> dependencies;
+
+    private Step(final String name, final Function<Controller, ?> action,
+                 final List<String> dependencies) {
+      this.name = name;
+      this.action = action;
+      this.dependencies = Collections.unmodifiableList(new ArrayList<>(dependencies));
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package io.github.micansid.guiautomation.control;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Results of the steps of a finished workflow run and its throughput.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class WorkflowResult {
+  @Getter(AccessLevel.PUBLIC)
+  private final String name;
+  private final int steps;
+  private final Map<String, Object> results;
+  private final long nanos;
+
+  WorkflowResult(final String name, final int steps, final Map<String, Object> results,
+                 final long nanos) {
+    Ensure.notNull(name);
+    Ensure.notNegative(steps);
+    Ensure.notNull(results);
+    Ensure.notNegative(nanos);
+    this.name = name;
+    this.steps = steps;
+    this.results = Collections.unmodifiableMap(new HashMap<>(results));
+    this.nanos = nanos;
+  }
+
+  /**
+   * Result of a step.
+   * @param step name of the step
+   * @return result of the step or an empty optional if the step has no result
+   */
+  public Optional<Object> get(final String step) {
+    Ensure.notNull(step);
+    return Optional.ofNullable(getResults().get(step));
+  }
+
+  public int steps() {
+    return getSteps();
+  }
+
+  /**
+   * Duration of the run from its start to the end of the last step.
+   * @return duration in nanoseconds
+   */
+  public long nanos() {
+    return getNanos();
+  }
+
+  /**
+   * Number of steps finished per second of the run.
+   * @return throughput in steps per second
+   */
+  public double throughput() {
+    return getNanos() <= 0 ? 0 : steps() * 1_000_000_000.0 / getNanos();
+  }
+
+  @Override
+  public String toString() {
+    return getName() + " - steps: " + steps() + ", duration: " + getNanos() + "ns, throughput: "
+        + throughput() + "/s";
+  }
+}
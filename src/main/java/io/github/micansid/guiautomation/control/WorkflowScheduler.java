@@ -0,0 +1,142 @@
+package io.github.micansid.guiautomation.control;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.metric.MetricRegistry;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Scheduler which runs the steps of workflows on the sessions of a ControllerPool. A step starts
+ * as soon as all of its dependencies are finished, so independent branches run in parallel on
+ * different sessions. The first step which depends only on a step continues on the session of that
+ * step, so a chain of dependent steps runs on one Controller and keeps its session leased until the
+ * chain ends. Steps without dependencies, further branches and steps with several dependencies
+ * lease a new session. A step which fails cancels the steps depending on it and the run completes
+ * exceptionally after the other branches are finished. The scheduler records the duration of every
+ * run as "workflow.&lt;name&gt;" and of every step as "workflow.&lt;name&gt;.&lt;step&gt;".
+ */
+@Getter(AccessLevel.PRIVATE)
+public class WorkflowScheduler {
+  private final ControllerPool pool;
+  private final ExecutorService executor;
+  private final MetricRegistry metrics = new MetricRegistry();
+
+  /**
+   * Create a scheduler. The number of parallel steps is limited by the sessions of the pool, the
+   * threads waiting for a session must not block the chains which hold the sessions.
+   * @param pool executing the steps
+   */
+  public WorkflowScheduler(final ControllerPool pool) {
+    Ensure.notNull(pool);
+    this.pool = pool;
+    this.executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "WorkflowScheduler");
+      thread.setDaemon(true);
+      return thread;
+    });
+    metrics.setEnabled(true);
+  }
+
+  /**
+   * Start a run of the workflow.
+   * @param workflow to run
+   * @return future of the results, completed exceptionally if a step failed
+   */
+  public CompletableFuture<WorkflowResult> run(final Workflow workflow) {
+    Ensure.notNull(workflow);
+    long start = System.nanoTime();
+    Map<String, Object> results = new ConcurrentHashMap<>();
+    Map<String, CompletableFuture<ControllerPool.Session>> steps = new HashMap<>();
+
+    Set<String> continuations = new HashSet<>();
+    Set<String> continued = new HashSet<>();
+    for (Workflow.Step step : workflow.steps()) {
+      if (step.getDependencies().size() == 1 && continued.add(step.getDependencies().get(0))) {
+        continuations.add(step.getName());
+      }
+    }
+
+    for (Workflow.Step step : workflow.steps()) {
+      boolean handOver = continued.contains(step.getName());
+      CompletableFuture<ControllerPool.Session> future;
+      if (continuations.contains(step.getName())) {
+        future = steps.get(step.getDependencies().get(0)).thenApplyAsync(session ->
+            runStep(workflow, step, session, handOver, results), getExecutor());
+      } else {
+        CompletableFuture<?>[] dependencies = step.getDependencies().stream()
+            .map(steps::get)
+            .toArray(CompletableFuture[]::new);
+        future = CompletableFuture.allOf(dependencies).thenApplyAsync(ignored ->
+            runStep(workflow, step, getPool().lease(), handOver, results), getExecutor());
+      }
+      steps.put(step.getName(), future);
+    }
+
+    return CompletableFuture.allOf(steps.values().toArray(new CompletableFuture[0]))
+        .thenApply(ignored -> {
+          long nanos = System.nanoTime() - start;
+          getMetrics().record("workflow." + workflow.getName(), nanos);
+          return new WorkflowResult(workflow.getName(), workflow.size(), results, nanos);
+        });
+  }
+
+  /**
+   * Run a step on a leased session and release the session unless a dependent step continues on it.
+   * @return session of the step, which is still leased if it is handed over
+   */
+  private ControllerPool.Session runStep(final Workflow workflow, final Workflow.Step step,
+                                         final ControllerPool.Session session,
+                                         final boolean handOver,
+                                         final Map<String, Object> results) {
+    long stepStart = System.nanoTime();
+    Object result;
+    try {
+      result = getPool().execute(session, step.getAction());
+    } catch (RuntimeException exception) {
+      // the dependent steps are cancelled, so nobody takes the session over
+      getPool().release(session);
+      throw exception;
+    }
+    if (!handOver) {
+      getPool().release(session);
+    }
+    getMetrics().record("workflow." + workflow.getName() + "." + step.getName(),
+        System.nanoTime() - stepStart);
+    if (result != null) {
+      results.put(step.getName(), result);
+    }
+    return session;
+  }
+
+  /**
+   * Durations of the runs and steps.
+   * @return registry of the scheduler
+   */
+  public MetricRegistry metrics() {
+    return getMetrics();
+  }
+
+  /**
+   * Stop accepting runs and wait until the running steps are finished.
+   * @param timeout in milliseconds
+   * @return true if all steps finished in time
+   */
+  public boolean shutdown(final long timeout) {
+    Ensure.notNegative(timeout);
+    getExecutor().shutdown();
+    try {
+      return getExecutor().awaitTermination(timeout, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException exception) {
+      throw new RuntimeException(exception);
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package io.github.micansid.guiautomation.control.awt;
 
 import io.github.micansid.guiautomation.control.clipboard.ClipboardCommandExecutor;
+import io.github.micansid.guiautomation.util.metric.Metrics;
 
 import java.awt.Toolkit;
 import java.awt.datatransfer.Clipboard;
@@ -15,12 +16,15 @@ import java.util.Optional;
 public class AwtClipboardCommandExecutor implements ClipboardCommandExecutor, ClipboardOwner {
   @Override
   public void accept(final String data) {
+    long start = Metrics.start();
     StringSelection selection = new StringSelection(data);
     Toolkit.getDefaultToolkit().getSystemClipboard().setContents(selection, null);
+    Metrics.stop("awt.clipboard.set", start);
   }
 
   @Override
   public Optional<String> get() {
+    long start = Metrics.start();
     Optional<String> result = Optional.empty();
     try {
       Transferable t = Toolkit.getDefaultToolkit().getSystemClipboard().getContents(null);
@@ -32,6 +36,7 @@ public class AwtClipboardCommandExecutor implements ClipboardCommandExecutor, Cl
       // method returns empty Optional, when an exception is thrown while fetching data from
       // clipboard
     }
+    Metrics.stop("awt.clipboard.get", start);
     return result;
   }
 
@@ -3,6 +3,7 @@ package io.github.micansid.guiautomation.control.awt;
 import io.github.micansid.guiautomation.control.keyboard.Key;
 import io.github.micansid.guiautomation.control.keyboard.KeyboardCommandExecutor;
 import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.metric.Metrics;
 import lombok.AccessLevel;
 import lombok.Getter;
 
@@ -14,12 +15,16 @@ public class AwtKeyboardCommandExecutor extends AwtRobotCommandExecutor
   @Override
   public void press(Key key) {
     Ensure.notNull(key);
+    long start = Metrics.start();
     getRobot().keyPress(getMapping().map(key));
+    Metrics.stop("awt.keyboard.press", start);
   }
 
   @Override
   public void release(Key key) {
     Ensure.notNull(key);
+    long start = Metrics.start();
     getRobot().keyRelease(getMapping().map(key));
+    Metrics.stop("awt.keyboard.release", start);
   }
 }
@@ -3,6 +3,7 @@ package io.github.micansid.guiautomation.control.awt;
 import io.github.micansid.guiautomation.control.mouse.MouseButton;
 import io.github.micansid.guiautomation.control.mouse.MouseCommandExecutor;
 import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.metric.Metrics;
 
 import java.awt.event.InputEvent;
 import java.util.HashMap;
@@ -23,23 +24,31 @@ public class AwtMouseCommandExecutor extends AwtRobotCommandExecutor
   public void move(int x, int y) {
     Ensure.notNegative(x);
     Ensure.notNegative(y);
+    long start = Metrics.start();
     getRobot().mouseMove(x, y);
+    Metrics.stop("awt.mouse.move", start);
   }
 
   @Override
   public void press(MouseButton button) {
     Ensure.notNull(button);
+    long start = Metrics.start();
     getRobot().mousePress(MAPPING.get(button));
+    Metrics.stop("awt.mouse.press", start);
   }
 
   @Override
   public void release(MouseButton button) {
     Ensure.notNull(button);
+    long start = Metrics.start();
     getRobot().mouseRelease(MAPPING.get(button));
+    Metrics.stop("awt.mouse.release", start);
   }
 
   @Override
   public void scroll(int notches) {
+    long start = Metrics.start();
     getRobot().mouseWheel(notches);
+    Metrics.stop("awt.mouse.scroll", start);
   }
 }
@@ -1,6 +1,7 @@
 package io.github.micansid.guiautomation.control.awt;
 
 import io.github.micansid.guiautomation.util.image.Image;
+import io.github.micansid.guiautomation.util.metric.Metrics;
 
 import java.awt.AWTException;
 import java.awt.GraphicsDevice;
@@ -26,6 +27,7 @@ public class AwtScreenshotSupplier implements Supplier<Image> {
         .max(Comparator.comparingInt(i -> i)).orElse(0);
 
     BufferedImage image;
+    long start = Metrics.start();
     try {
       Robot robot = new Robot();
       Rectangle rectangle = new Rectangle(0, 0, width, height);
@@ -33,7 +35,11 @@ public class AwtScreenshotSupplier implements Supplier<Image> {
     } catch (AWTException e) {
       throw new RuntimeException(e);
     }
+    Metrics.stop("awt.screenshot.capture", start);
 
-    return new Image(image);
+    start = Metrics.start();
+    Image result = new Image(image);
+    Metrics.stop("awt.screenshot.convert", start);
+    return result;
   }
 }
@@ -2,6 +2,7 @@ package io.github.micansid.guiautomation.control.clipboard;
 
 import io.github.micansid.guiautomation.control.awt.AwtClipboardCommandExecutor;
 import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.metric.Metrics;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -35,11 +36,15 @@ public class Clipboard {
   public void set(final String data) {
     Ensure.notNull(data);
     getLogger().debug("set clipboard content to: " + data);
+    long start = Metrics.start();
     getSetter().accept(data);
+    Metrics.stop("clipboard.set", start);
   }
 
   public Optional<String> get() {
+    long start = Metrics.start();
     Optional<String> result = getGetter().get();
+    Metrics.stop("clipboard.get", start);
     getLogger().debug("get clipboard content: " + result);
     return result;
   }
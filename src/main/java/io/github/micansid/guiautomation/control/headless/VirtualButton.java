@@ -0,0 +1,58 @@
+package io.github.micansid.guiautomation.control.headless;
+
+import io.github.micansid.guiautomation.util.Section;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Button which is painted darker while it is pressed and counts its clicks.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class VirtualButton extends VirtualWidget {
+  private final int color;
+  private final int pressedColor;
+  private boolean pressed = false;
+  @Getter(AccessLevel.PUBLIC)
+  private long clicks = 0;
+
+  public VirtualButton(final Section section, final int color) {
+    this(section, color, 0xFF000000 | ((color >> 1) & 0x7F7F7F));
+  }
+
+  /**
+   * Create a button.
+   * @param section      which the button covers
+   * @param color        of the released button
+   * @param pressedColor of the pressed button
+   */
+  public VirtualButton(final Section section, final int color, final int pressedColor) {
+    super(section);
+    this.color = color;
+    this.pressedColor = pressedColor;
+  }
+
+  @Override
+  protected void paint(final int[] canvas, final int width) {
+    fill(canvas, width, getSection().getStartPosition().getX(),
+        getSection().getStartPosition().getY(), getSection().getWidth(), getSection().getHeight(),
+        isPressed() ? getPressedColor() : getColor());
+    border(canvas, width, getSection().getStartPosition().getX(),
+        getSection().getStartPosition().getY(), getSection().getWidth(), getSection().getHeight(),
+        0xFF000000);
+  }
+
+  @Override
+  protected void press() {
+    pressed = true;
+  }
+
+  @Override
+  protected void click() {
+    clicks++;
+  }
+
+  @Override
+  protected void release() {
+    pressed = false;
+  }
+}
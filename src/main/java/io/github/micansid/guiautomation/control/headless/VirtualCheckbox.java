@@ -0,0 +1,39 @@
+package io.github.micansid.guiautomation.control.headless;
+
+import io.github.micansid.guiautomation.util.Section;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Checkbox which toggles with each click. A checked checkbox is painted with a filled square.
+ */
+@Getter(AccessLevel.PUBLIC)
+public class VirtualCheckbox extends VirtualWidget {
+  private static final int BOX = 0xFFFFFFFF;
+  private static final int MARK = 0xFF2060C0;
+
+  private boolean checked;
+
+  public VirtualCheckbox(final Section section, final boolean checked) {
+    super(section);
+    this.checked = checked;
+  }
+
+  @Override
+  protected void paint(final int[] canvas, final int width) {
+    int x = getSection().getStartPosition().getX();
+    int y = getSection().getStartPosition().getY();
+    int w = getSection().getWidth();
+    int h = getSection().getHeight();
+    fill(canvas, width, x, y, w, h, BOX);
+    border(canvas, width, x, y, w, h, 0xFF000000);
+    if (isChecked()) {
+      fill(canvas, width, x + w / 4, y + h / 4, w - 2 * (w / 4), h - 2 * (h / 4), MARK);
+    }
+  }
+
+  @Override
+  protected void click() {
+    checked = !checked;
+  }
+}
@@ -0,0 +1,27 @@
+package io.github.micansid.guiautomation.control.headless;
+
+import io.github.micansid.guiautomation.control.clipboard.ClipboardCommandExecutor;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+@Getter(AccessLevel.PRIVATE)
+public class VirtualClipboardCommandExecutor implements ClipboardCommandExecutor {
+  private final VirtualDesktop desktop;
+
+  public VirtualClipboardCommandExecutor(final VirtualDesktop desktop) {
+    Ensure.notNull(desktop);
+    this.desktop = desktop;
+  }
+
+  @Override
+  public void accept(final String content) {
+    getDesktop().setClipboard(content);
+  }
+
+  @Override
+  public Optional<String> get() {
+    return getDesktop().clipboard();
+  }
+}
@@ -0,0 +1,293 @@
+package io.github.micansid.guiautomation.control.headless;
+
+import io.github.micansid.guiautomation.control.ControllerBuilder;
+import io.github.micansid.guiautomation.control.clipboard.Clipboard;
+import io.github.micansid.guiautomation.control.keyboard.Key;
+import io.github.micansid.guiautomation.control.keyboard.Keyboard;
+import io.github.micansid.guiautomation.control.mouse.Mouse;
+import io.github.micansid.guiautomation.control.mouse.MouseButton;
+import io.github.micansid.guiautomation.control.screen.ScreenBuilder;
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * In-memory desktop for headless tests. It holds widgets, the mouse, the keyboard and the
+ * clipboard state and renders the widgets into a canvas, which is only repainted after an input
+ * event changed a widget. The Virtual executors and suppliers connect the desktop to the Mouse,
+ * Keyboard, Clipboard and Screen, so the Controller runs without a display. All methods are
+ * thread-safe.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class VirtualDesktop {
+  public static final int DEFAULT_BACKGROUND = 0xFFE0E0E0;
+
+  private final int width;
+  private final int height;
+  private final int background;
+  private final int[] canvas;
+  private final List<VirtualWidget> widgets = new ArrayList<>();
+  private final Set<MouseButton> pressedButtons = EnumSet.noneOf(MouseButton.class);
+  private final Set<Key> pressedKeys = EnumSet.noneOf(Key.class);
+  private Position mousePosition = new Position(0, 0);
+  private VirtualWidget pressedWidget;
+  private VirtualWidget focusedWidget;
+  private String clipboard;
+  private Image screenshot;
+  private boolean dirty = true;
+  private long events = 0;
+  private long scrolled = 0;
+
+  public VirtualDesktop(final int width, final int height) {
+    this(width, height, DEFAULT_BACKGROUND);
+  }
+
+  /**
+   * Create an empty desktop.
+   * @param width      of the screen
+   * @param height     of the screen
+   * @param background color of the screen
+   */
+  public VirtualDesktop(final int width, final int height, final int background) {
+    Ensure.greater(width, 0);
+    Ensure.greater(height, 0);
+    this.width = width;
+    this.height = height;
+    this.background = background;
+    this.canvas = new int[width * height];
+  }
+
+  /**
+   * Add a widget, the widgets added later are on top.
+   * @param widget to add
+   * @return this for fluent interface
+   */
+  public synchronized VirtualDesktop add(final VirtualWidget widget) {
+    Ensure.notNull(widget);
+    getWidgets().add(widget);
+    dirty = true;
+    return this;
+  }
+
+  public synchronized List<VirtualWidget> widgets() {
+    return Collections.unmodifiableList(new ArrayList<>(getWidgets()));
+  }
+
+  /**
+   * Builder of a Controller whose mouse, keyboard, clipboard and screen use this desktop.
+   * @return configured builder
+   */
+  public ControllerBuilder controllerBuilder() {
+    return new ControllerBuilder()
+        .setMouse(new Mouse(new VirtualMouseCommandExecutor(this),
+            new VirtualMousePositionSupplier(this)))
+        .setKeyboard(new Keyboard(new VirtualKeyboardCommandExecutor(this)))
+        .setClipboard(new Clipboard(new VirtualClipboardCommandExecutor(this)))
+        .setScreen(new ScreenBuilder().setScreenSupplier(new VirtualScreenSupplier(this)).build());
+  }
+
+  /*
+   *
+   * input events
+   *
+   */
+
+  /**
+   * Move the mouse, the position is limited to the screen.
+   * @param x x-coordinate
+   * @param y y-coordinate
+   */
+  public synchronized void mouseMove(final int x, final int y) {
+    events++;
+    mousePosition = new Position(Math.max(0, Math.min(getWidth() - 1, x)),
+        Math.max(0, Math.min(getHeight() - 1, y)));
+  }
+
+  public synchronized void mousePress(final MouseButton button) {
+    Ensure.notNull(button);
+    events++;
+    getPressedButtons().add(button);
+    if (button == MouseButton.LEFT) {
+      pressedWidget = widgetAt(mousePosition).orElse(null);
+      if (pressedWidget != null) {
+        pressedWidget.press();
+        dirty = true;
+      }
+    }
+  }
+
+  public synchronized void mouseRelease(final MouseButton button) {
+    Ensure.notNull(button);
+    events++;
+    getPressedButtons().remove(button);
+    if (button == MouseButton.LEFT && pressedWidget != null) {
+      VirtualWidget released = pressedWidget;
+      pressedWidget = null;
+      released.release();
+      if (released.contains(mousePosition)) {
+        released.click();
+        focus(released.isFocusable() ? released : null);
+      }
+      dirty = true;
+    }
+  }
+
+  public synchronized void scroll(final int notches) {
+    events++;
+    scrolled += notches;
+  }
+
+  public synchronized void keyPress(final Key key) {
+    Ensure.notNull(key);
+    events++;
+    getPressedKeys().add(key);
+    if (getPressedKeys().contains(Key.CONTROL)) {
+      shortcut(key);
+    } else {
+      character(key).ifPresent(this::type);
+    }
+  }
+
+  public synchronized void keyRelease(final Key key) {
+    Ensure.notNull(key);
+    events++;
+    getPressedKeys().remove(key);
+  }
+
+  public synchronized Optional<String> clipboard() {
+    return Optional.ofNullable(clipboard);
+  }
+
+  public synchronized void setClipboard(final String content) {
+    Ensure.notNull(content);
+    events++;
+    clipboard = content;
+  }
+
+  /*
+   *
+   * state
+   *
+   */
+
+  public synchronized Position mousePosition() {
+    return mousePosition;
+  }
+
+  /**
+   * Number of input events, e.g. to measure the throughput of a test.
+   * @return number of input events
+   */
+  public synchronized long events() {
+    return events;
+  }
+
+  /**
+   * Sum of the scrolled notches, positive for scrolling down.
+   * @return scrolled notches
+   */
+  public synchronized long scrolled() {
+    return scrolled;
+  }
+
+  public synchronized Optional<VirtualWidget> focused() {
+    return Optional.ofNullable(focusedWidget);
+  }
+
+  /**
+   * Screenshot of the desktop. The screenshot is only rendered again after a widget changed.
+   * @return image of the desktop
+   */
+  public synchronized Image screenshot() {
+    if (dirty) {
+      Arrays.fill(getCanvas(), getBackground());
+      for (VirtualWidget widget : getWidgets()) {
+        widget.paint(getCanvas(), getWidth());
+      }
+      screenshot = new Image(getCanvas(), getWidth(), getHeight());
+      dirty = false;
+    }
+    return screenshot;
+  }
+
+  private Optional<VirtualWidget> widgetAt(final Position position) {
+    VirtualWidget result = null;
+    for (VirtualWidget widget : getWidgets()) {
+      if (widget.contains(position)) {
+        result = widget;
+      }
+    }
+    return Optional.ofNullable(result);
+  }
+
+  private void focus(final VirtualWidget widget) {
+    if (focusedWidget != widget) {
+      if (focusedWidget != null) {
+        focusedWidget.focus(false);
+      }
+      focusedWidget = widget;
+      if (focusedWidget != null) {
+        focusedWidget.focus(true);
+      }
+    }
+  }
+
+  private void type(final char character) {
+    if (focusedWidget != null) {
+      focusedWidget.type(character);
+      dirty = true;
+    }
+  }
+
+  private void shortcut(final Key key) {
+    if (focusedWidget instanceof VirtualTextField) {
+      VirtualTextField textField = (VirtualTextField) focusedWidget;
+      if (key == Key.C || key == Key.X) {
+        clipboard = textField.text();
+      }
+      if (key == Key.X) {
+        textField.setText("");
+        dirty = true;
+      }
+      if (key == Key.V && clipboard != null) {
+        clipboard.chars().forEach(character -> textField.type((char) character));
+        dirty = true;
+      }
+    }
+  }
+
+  private Optional<Character> character(final Key key) {
+    boolean shift = getPressedKeys().contains(Key.SHIFT);
+    Character result = null;
+    if (key.compareTo(Key.A) >= 0 && key.compareTo(Key.Z) <= 0) {
+      char letter = (char) ('a' + key.ordinal() - Key.A.ordinal());
+      result = shift ? Character.toUpperCase(letter) : letter;
+    } else if (key.compareTo(Key.NUM_0) >= 0 && key.compareTo(Key.NUM_9) <= 0) {
+      result = (char) ('0' + key.ordinal() - Key.NUM_0.ordinal());
+    } else if (key == Key.SPACE) {
+      result = ' ';
+    } else if (key == Key.PERIOD) {
+      result = '.';
+    } else if (key == Key.COMMA || key == Key.COLON) {
+      result = ',';
+    } else if (key == Key.MINUS) {
+      result = '-';
+    } else if (key == Key.PLUS) {
+      result = '+';
+    } else if (key == Key.SLASH) {
+      result = '/';
+    } else if (key == Key.BACK_SPACE) {
+      result = '\b';
+    }
+    return Optional.ofNullable(result);
+  }
+}
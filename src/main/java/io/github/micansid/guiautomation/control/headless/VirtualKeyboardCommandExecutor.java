@@ -0,0 +1,27 @@
+package io.github.micansid.guiautomation.control.headless;
+
+import io.github.micansid.guiautomation.control.keyboard.Key;
+import io.github.micansid.guiautomation.control.keyboard.KeyboardCommandExecutor;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+@Getter(AccessLevel.PRIVATE)
+public class VirtualKeyboardCommandExecutor implements KeyboardCommandExecutor {
+  private final VirtualDesktop desktop;
+
+  public VirtualKeyboardCommandExecutor(final VirtualDesktop desktop) {
+    Ensure.notNull(desktop);
+    this.desktop = desktop;
+  }
+
+  @Override
+  public void press(final Key key) {
+    getDesktop().keyPress(key);
+  }
+
+  @Override
+  public void release(final Key key) {
+    getDesktop().keyRelease(key);
+  }
+}
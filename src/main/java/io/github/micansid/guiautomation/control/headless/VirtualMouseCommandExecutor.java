@@ -0,0 +1,39 @@
+package io.github.micansid.guiautomation.control.headless;
+
+import io.github.micansid.guiautomation.control.mouse.MouseButton;
+import io.github.micansid.guiautomation.control.mouse.MouseCommandExecutor;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+@Getter(AccessLevel.PRIVATE)
+public class VirtualMouseCommandExecutor implements MouseCommandExecutor {
+  private final VirtualDesktop desktop;
+
+  public VirtualMouseCommandExecutor(final VirtualDesktop desktop) {
+    Ensure.notNull(desktop);
+    this.desktop = desktop;
+  }
+
+  @Override
+  public void move(final int x, final int y) {
+    Ensure.notNegative(x);
+    Ensure.notNegative(y);
+    getDesktop().mouseMove(x, y);
+  }
+
+  @Override
+  public void press(final MouseButton button) {
+    getDesktop().mousePress(button);
+  }
+
+  @Override
+  public void release(final MouseButton button) {
+    getDesktop().mouseRelease(button);
+  }
+
+  @Override
+  public void scroll(final int notches) {
+    getDesktop().scroll(notches);
+  }
+}
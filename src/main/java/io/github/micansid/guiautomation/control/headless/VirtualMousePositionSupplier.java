@@ -0,0 +1,25 @@
+package io.github.micansid.guiautomation.control.headless;
+
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Supplier of the current mouse position of the VirtualDesktop.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class VirtualMousePositionSupplier implements Supplier<Position> {
+  private final VirtualDesktop desktop;
+
+  public VirtualMousePositionSupplier(final VirtualDesktop desktop) {
+    Ensure.notNull(desktop);
+    this.desktop = desktop;
+  }
+
+  @Override
+  public Position get() {
+    return getDesktop().mousePosition();
+  }
+}
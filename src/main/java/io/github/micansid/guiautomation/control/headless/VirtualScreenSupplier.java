@@ -0,0 +1,25 @@
+package io.github.micansid.guiautomation.control.headless;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Supplier of screenshots of the VirtualDesktop.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class VirtualScreenSupplier implements Supplier<Image> {
+  private final VirtualDesktop desktop;
+
+  public VirtualScreenSupplier(final VirtualDesktop desktop) {
+    Ensure.notNull(desktop);
+    this.desktop = desktop;
+  }
+
+  @Override
+  public Image get() {
+    return getDesktop().screenshot();
+  }
+}
@@ -0,0 +1,76 @@
+package io.github.micansid.guiautomation.control.headless;
+
+import io.github.micansid.guiautomation.util.Section;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Text field which receives the typed characters while it is focused. There are no fonts in the
+ * virtual desktop, each character is painted as a block with a color derived from the character,
+ * so the same text always looks the same.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class VirtualTextField extends VirtualWidget {
+  static final int CHARACTER_WIDTH = 6;
+  private static final int PADDING = 2;
+
+  private final StringBuilder text = new StringBuilder();
+  private boolean focused = false;
+
+  public VirtualTextField(final Section section) {
+    super(section);
+  }
+
+  public String text() {
+    return getText().toString();
+  }
+
+  @Override
+  protected void paint(final int[] canvas, final int width) {
+    int x = getSection().getStartPosition().getX();
+    int y = getSection().getStartPosition().getY();
+    int w = getSection().getWidth();
+    int h = getSection().getHeight();
+    fill(canvas, width, x, y, w, h, 0xFFFFFFFF);
+    border(canvas, width, x, y, w, h, isFocused() ? 0xFF2060C0 : 0xFF808080);
+    int visible = Math.max(0, (w - 2 * PADDING) / CHARACTER_WIDTH);
+    for (int index = 0; index < Math.min(visible, getText().length()); index++) {
+      fill(canvas, width, x + PADDING + index * CHARACTER_WIDTH + 1, y + PADDING,
+          CHARACTER_WIDTH - 1, h - 2 * PADDING, color(getText().charAt(index)));
+    }
+  }
+
+  @Override
+  protected boolean isFocusable() {
+    return true;
+  }
+
+  @Override
+  protected void type(final char character) {
+    if (character == '\b') {
+      if (getText().length() > 0) {
+        getText().setLength(getText().length() - 1);
+      }
+    } else {
+      getText().append(character);
+    }
+  }
+
+  @Override
+  protected void focus(final boolean focused) {
+    this.focused = focused;
+  }
+
+  /**
+   * Replace the text.
+   * @param text new text
+   */
+  void setText(final String text) {
+    getText().setLength(0);
+    getText().append(text);
+  }
+
+  static int color(final char character) {
+    return character == ' ' ? 0xFFFFFFFF : 0xFF000000 | ((character * 0x9E3779B1) >>> 8);
+  }
+}
@@ -0,0 +1,112 @@
+package io.github.micansid.guiautomation.control.headless;
+
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.Section;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Widget of the VirtualDesktop. A widget paints itself into the section of the canvas it covers
+ * and reacts to the input events the desktop dispatches to it. The methods are called while the
+ * desktop is locked.
+ */
+@Getter(AccessLevel.PUBLIC)
+public abstract class VirtualWidget {
+  private final Section section;
+
+  protected VirtualWidget(final Section section) {
+    Ensure.notNull(section);
+    this.section = section;
+  }
+
+  /**
+   * Paint the widget.
+   * @param canvas RGB data of the desktop
+   * @param width  of the desktop
+   */
+  protected abstract void paint(int[] canvas, int width);
+
+  /**
+   * The left mouse button was pressed on the widget.
+   */
+  protected void press() {
+    // most widgets do not react to a press
+  }
+
+  /**
+   * The left mouse button was released after it was pressed on the widget, on or outside of the
+   * widget.
+   */
+  protected void release() {
+    // most widgets do not react to a release
+  }
+
+  /**
+   * The left mouse button was pressed and released on the widget.
+   */
+  protected void click() {
+    // most widgets do not react to a click
+  }
+
+  /**
+   * Check if the widget receives the typed characters after a click.
+   * @return true if the widget can be focused
+   */
+  protected boolean isFocusable() {
+    return false;
+  }
+
+  /**
+   * A character was typed while the widget was focused.
+   * @param character which was typed, '\b' for backspace
+   */
+  protected void type(final char character) {
+    // most widgets do not react to typing
+  }
+
+  /**
+   * The focus of the widget changed.
+   * @param focused true if the widget is focused now
+   */
+  protected void focus(final boolean focused) {
+    // most widgets do not show the focus
+  }
+
+  public boolean contains(final Position position) {
+    return getSection().contains(position);
+  }
+
+  /**
+   * Fill a rectangle of the canvas, clipped to the canvas.
+   * @param canvas RGB data of the desktop
+   * @param width  of the desktop
+   * @param x      x-coordinate of the left upper bound
+   * @param y      y-coordinate of the left upper bound
+   * @param w      width of the rectangle
+   * @param h      height of the rectangle
+   * @param rgb    color of the rectangle
+   */
+  protected static void fill(final int[] canvas, final int width, final int x, final int y,
+                             final int w, final int h, final int rgb) {
+    int height = canvas.length / width;
+    int startX = Math.max(0, x);
+    int endX = Math.min(width, x + w);
+    for (int row = Math.max(0, y); row < Math.min(height, y + h); row++) {
+      for (int column = startX; column < endX; column++) {
+        canvas[row * width + column] = rgb;
+      }
+    }
+  }
+
+  /**
+   * Draw the border of a rectangle of the canvas, clipped to the canvas.
+   */
+  protected static void border(final int[] canvas, final int width, final int x, final int y,
+                               final int w, final int h, final int rgb) {
+    fill(canvas, width, x, y, w, 1, rgb);
+    fill(canvas, width, x, y + h - 1, w, 1, rgb);
+    fill(canvas, width, x, y, 1, h, rgb);
+    fill(canvas, width, x + w - 1, y, 1, h, rgb);
+  }
+}
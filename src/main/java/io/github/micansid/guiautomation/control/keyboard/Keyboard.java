@@ -2,6 +2,7 @@ package io.github.micansid.guiautomation.control.keyboard;
 
 import io.github.micansid.guiautomation.control.awt.AwtKeyboardCommandExecutor;
 import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.metric.Metrics;
 import java.util.function.Consumer;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -27,14 +28,18 @@ public class Keyboard {
   public Keyboard press(final Key key) {
     Ensure.notNull(key);
     getLogger().trace("press " + key);
+    long start = Metrics.start();
     getExecutor().press(key);
+    Metrics.stop("keyboard.press", start);
     return this;
   }
 
   public Keyboard release(final Key key) {
     Ensure.notNull(key);
     getLogger().trace("release " + key);
+    long start = Metrics.start();
     getExecutor().release(key);
+    Metrics.stop("keyboard.release", start);
     return this;
   }
 
@@ -48,7 +53,9 @@ public class Keyboard {
     Ensure.notNull(text);
     getLogger().debug("type: " + text);
     CharacterKeyMapping mapping = getCharacterKeyMapping();
+    long start = Metrics.start();
     text.chars().mapToObj(mapping::map).forEach(this::execute);
+    Metrics.stop("keyboard.type", start);
     return this;
   }
 
@@ -4,6 +4,7 @@ import io.github.micansid.guiautomation.control.awt.AwtMouseCommandExecutor;
 import io.github.micansid.guiautomation.control.awt.AwtMousePositionSupplier;
 import io.github.micansid.guiautomation.util.Position;
 import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.metric.Metrics;
 import java.util.function.Supplier;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -49,7 +50,9 @@ public class Mouse {
   public Mouse move(final Position position) {
     Ensure.notNull(position);
     getLogger().debug("move mouse to: " + position);
+    long start = Metrics.start();
     getExecutor().move(position.getX(), position.getY());
+    Metrics.stop("mouse.move", start);
     setLastMovePosition(position);
     return this;
   }
@@ -111,8 +114,10 @@ public class Mouse {
   public Mouse click(final MouseButton button) {
     Ensure.notNull(button);
     getLogger().debug("click button: " + button);
+    long start = Metrics.start();
     getExecutor().press(button);
     getExecutor().release(button);
+    Metrics.stop("mouse.click", start);
     return this;
   }
 
@@ -161,9 +166,11 @@ public class Mouse {
   public Mouse dragAndDrop(final Position position) {
     Ensure.notNull(position);
     getLogger().debug("drag and drop from " + getPositionSupplier().get() + " to " + position);
+    long start = Metrics.start();
     getExecutor().press(MouseButton.LEFT);
     getExecutor().move(position.getX(), position.getY());
     getExecutor().release(MouseButton.LEFT);
+    Metrics.stop("mouse.dragAndDrop", start);
     return this;
   }
 
@@ -176,7 +183,9 @@ public class Mouse {
   public Mouse scrollDown(final int notches) {
     Ensure.notNegative(notches);
     getLogger().debug("scroll down " + notches + " notches");
+    long start = Metrics.start();
     getExecutor().scroll(notches);
+    Metrics.stop("mouse.scroll", start);
     return this;
   }
 
@@ -189,11 +198,16 @@ public class Mouse {
   public Mouse scrollUp(final int notches) {
     Ensure.notNegative(notches);
     getLogger().debug("scroll up " + notches + " notches");
+    long start = Metrics.start();
     getExecutor().scroll(-notches);
+    Metrics.stop("mouse.scroll", start);
     return this;
   }
 
   public Position currentPosition() {
-    return getPositionSupplier().get();
+    long start = Metrics.start();
+    Position result = getPositionSupplier().get();
+    Metrics.stop("mouse.currentPosition", start);
+    return result;
   }
 }
@@ -1,6 +1,7 @@
 package io.github.micansid.guiautomation.control.screen;
 
 import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.metric.Metrics;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -20,6 +21,7 @@ public abstract class AbstractObserver {
   private void sleepShorterTime(final long first, final long second) {
     Ensure.notNegative(first);
     Ensure.notNegative(second);
+    long start = Metrics.start();
     try {
       if (first < second) {
         Thread.sleep(first);
@@ -28,6 +30,8 @@ public abstract class AbstractObserver {
       }
     } catch (InterruptedException exception) {
       throw new RuntimeException(exception);
+    } finally {
+      Metrics.stop("observer.sleep", start);
     }
   }
 
@@ -38,18 +42,22 @@ public abstract class AbstractObserver {
     Ensure.greater(timeout, 0);
     Ensure.greater(refreshInterval, 0);
 
+    long metricStart = Metrics.start();
     long start = getClock().get();
     long end = start + timeout;
     long remaining = end - start;
 
     Optional<T> result = supplier.get();
+    Metrics.increment("observer.poll");
 
     while (!result.isPresent() && remaining > 0) {
       sleepShorterTime(remaining, refreshInterval);
       remaining = end - getClock().get();
       result = supplier.get();
+      Metrics.increment("observer.poll");
     }
 
+    Metrics.stop("observer.waitUntil", metricStart);
     return result;
   }
 
@@ -61,23 +69,27 @@ public abstract class AbstractObserver {
     Ensure.notNegative(timeout);
     Ensure.greater(refreshInterval, 0);
 
+    long metricStart = Metrics.start();
     long start = getClock().get();
     long end = start + timeout;
     long remaining = end - start;
 
     Optional<T> result = supplier.get();
+    Metrics.increment("observer.poll");
 
     while (result.isPresent() && remaining > 0) {
       sleepShorterTime(remaining, refreshInterval);
       remaining = end - getClock().get();
       if (!check.test(result.get())) {
         result = supplier.get();
+        Metrics.increment("observer.poll");
         if (result.isPresent()) {
           result = Optional.empty();
         }
       }
     }
 
+    Metrics.stop("observer.waitWhile", metricStart);
     return result;
   }
 }
@@ -0,0 +1,153 @@
+package io.github.micansid.guiautomation.control.screen;
+
+import io.github.micansid.guiautomation.algorithm.find.ImagePositionFinder;
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.Section;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import io.github.micansid.guiautomation.util.metric.Metrics;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Pattern which is searched in a region relative to the position of its parent anchor, e.g. the
+ * OK button inside the dialog whose title bar was found. An anchor without a parent is searched
+ * on the whole screen. Anchors can be chained, every anchor of the chain shrinks the searched
+ * region. The last position of an anchor is cached and only verified with one comparison, so the
+ * parents of a chain are usually not searched again.
+ * <pre>
+ *   Anchor dialog = new Anchor(titleBar);
+ *   Anchor ok = dialog.child(okButton, 0, 0, 400, 300);
+ *   screen.clickPositionOf(ok);
+ * </pre>
+ */
+@Getter(AccessLevel.PRIVATE)
+@Setter(AccessLevel.PRIVATE)
+public class Anchor {
+  private final Anchor parent;
+  private final Supplier<Image> pattern;
+  private final int offsetX;
+  private final int offsetY;
+  private final int width;
+  private final int height;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private volatile Position cached;
+
+  /**
+   * Create an anchor which is searched on the whole screen.
+   * @param pattern of the anchor
+   */
+  public Anchor(final Supplier<Image> pattern) {
+    this(null, pattern, 0, 0, 1, 1);
+  }
+
+  private Anchor(final Anchor parent, final Supplier<Image> pattern, final int offsetX,
+                 final int offsetY, final int width, final int height) {
+    Ensure.notNull(pattern);
+    Ensure.greater(width, 0);
+    Ensure.greater(height, 0);
+    this.parent = parent;
+    this.pattern = pattern;
+    this.offsetX = offsetX;
+    this.offsetY = offsetY;
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Create an anchor which is searched in a region relative to this anchor. The region is clipped
+   * to the screen.
+   * @param pattern of the new anchor
+   * @param offsetX x-distance of the left upper bound of the region to this anchor, may be
+   *                negative
+   * @param offsetY y-distance of the left upper bound of the region to this anchor, may be
+   *                negative
+   * @param width   of the region
+   * @param height  of the region
+   * @return new anchor
+   */
+  public Anchor child(final Supplier<Image> pattern, final int offsetX, final int offsetY,
+                      final int width, final int height) {
+    return new Anchor(this, pattern, offsetX, offsetY, width, height);
+  }
+
+  /**
+   * Find the anchor on the screenshot. The cached position is verified first, then the anchor is
+   * searched in the region relative to the parent anchor.
+   * @param finder to search with
+   * @param screen to search in
+   * @return position of the anchor or an empty optional if the anchor or a parent isn't present
+   */
+  public Optional<Position> locate(final ImagePositionFinder finder, final Image screen) {
+    Ensure.notNull(finder);
+    Ensure.notNull(screen);
+    Image image = getPattern().get();
+    Optional<Position> result = Optional.ofNullable(getCached())
+        .filter(position -> Screen.fits(screen, image, position)
+            && finder.at(screen, image, position));
+    if (result.isPresent()) {
+      getHits().increment();
+      Metrics.increment("anchor.hit");
+    } else {
+      getMisses().increment();
+      Metrics.increment("anchor.miss");
+      if (getParent() == null) {
+        result = finder.find(screen, image);
+      } else {
+        result = getParent().locate(finder, screen)
+            .flatMap(position -> region(screen, image, position))
+            .flatMap(region -> finder.find(screen.getSubImage(region), image)
+                .map(region::scaleUpPosition));
+      }
+      setCached(result.orElse(null));
+    }
+    return result;
+  }
+
+  /**
+   * Forget the cached positions of this anchor and its parents.
+   */
+  public void invalidate() {
+    setCached(null);
+    if (getParent() != null) {
+      getParent().invalidate();
+    }
+  }
+
+  public long hits() {
+    return getHits().sum();
+  }
+
+  public long misses() {
+    return getMisses().sum();
+  }
+
+  public Supplier<Image> pattern() {
+    return getPattern();
+  }
+
+  /**
+   * Region relative to the parent position, clipped to the screen.
+   * @return region or an empty optional if the clipped region is smaller than the pattern
+   */
+  private Optional<Section> region(final Image screen, final Image image,
+                                   final Position parentPosition) {
+    long startX = Math.max(0, (long) parentPosition.getX() + getOffsetX());
+    long startY = Math.max(0, (long) parentPosition.getY() + getOffsetY());
+    long endX = Math.min(screen.getWidth(),
+        (long) parentPosition.getX() + getOffsetX() + getWidth());
+    long endY = Math.min(screen.getHeight(),
+        (long) parentPosition.getY() + getOffsetY() + getHeight());
+    Optional<Section> result = Optional.empty();
+    if (endX - startX >= image.getWidth() && endY - startY >= image.getHeight()) {
+      result = Optional.of(new Section(new Position((int) startX, (int) startY),
+          (int) (endX - startX), (int) (endY - startY)));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,171 @@
+package io.github.micansid.guiautomation.control.screen;
+
+import io.github.micansid.guiautomation.algorithm.find.ImagePositionFinder;
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.Section;
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import io.github.micansid.guiautomation.util.metric.Metrics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Last found position per pattern. Buttons usually reappear where they were found before, so a
+ * search first verifies the last position, then searches neighbourhoods of growing size around
+ * it and only then scans the whole screen. The found position isn't necessarily the first
+ * position of the pattern on the screen if the pattern is present more than once. The least
+ * recently used patterns are removed when the history is full.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class PositionHistory {
+  public static final int DEFAULT_CAPACITY = 256;
+  static final int NEIGHBOURHOOD_STEPS = 3;
+  static final int NEIGHBOURHOOD_GROWTH = 4;
+
+  private final Map<Image, Position> positions;
+  private final LongAdder verifiedHits = new LongAdder();
+  private final LongAdder neighbourhoodHits = new LongAdder();
+  private final LongAdder fullScans = new LongAdder();
+
+  public PositionHistory() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Create an empty history.
+   * @param capacity maximum number of patterns
+   */
+  public PositionHistory(final int capacity) {
+    Ensure.greater(capacity, 0);
+    positions = new LinkedHashMap<Image, Position>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Image, Position> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Find the pattern in the screen, starting at its last position.
+   * @param finder  to search with
+   * @param screen  to search in
+   * @param pattern to search
+   * @return position of the pattern or an empty optional if the pattern isn't present
+   */
+  public Optional<Position> find(final ImagePositionFinder finder, final Image screen,
+                                 final Image pattern) {
+    Ensure.notNull(finder);
+    Ensure.notNull(screen);
+    Ensure.notNull(pattern);
+
+    Optional<Position> last = last(pattern);
+    Optional<Position> result = last.filter(position -> Screen.fits(screen, pattern, position)
+        && finder.at(screen, pattern, position));
+    if (result.isPresent()) {
+      getVerifiedHits().increment();
+      Metrics.increment("history.verified");
+    } else {
+      if (last.isPresent()) {
+        result = neighbourhood(finder, screen, pattern, last.get());
+      }
+      if (result.isPresent()) {
+        getNeighbourhoodHits().increment();
+        Metrics.increment("history.neighbourhood");
+      } else {
+        result = finder.find(screen, pattern);
+        getFullScans().increment();
+        Metrics.increment("history.fullScan");
+      }
+    }
+
+    synchronized (this) {
+      if (result.isPresent()) {
+        getPositions().put(pattern, result.get());
+      } else {
+        getPositions().remove(pattern);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Last found position of the pattern.
+   * @param pattern to look up
+   * @return last position or an empty optional if the pattern wasn't found before
+   */
+  public synchronized Optional<Position> last(final Image pattern) {
+    Ensure.notNull(pattern);
+    return Optional.ofNullable(getPositions().get(pattern));
+  }
+
+  public synchronized int size() {
+    return getPositions().size();
+  }
+
+  public synchronized void clear() {
+    getPositions().clear();
+  }
+
+  public long verifiedHits() {
+    return getVerifiedHits().sum();
+  }
+
+  public long neighbourhoodHits() {
+    return getNeighbourhoodHits().sum();
+  }
+
+  public long fullScans() {
+    return getFullScans().sum();
+  }
+
+  /**
+   * Ratio of the searches which didn't scan the whole screen.
+   * @return hit rate between 0 and 1, 0 if nothing was searched
+   */
+  public double hitRate() {
+    long hits = verifiedHits() + neighbourhoodHits();
+    long total = hits + fullScans();
+    return total == 0 ? 0 : ((double) hits) / total;
+  }
+
+  @Override
+  public String toString() {
+    return "PositionHistory - patterns: " + size() + ", verified: " + verifiedHits()
+        + ", neighbourhood: " + neighbourhoodHits() + ", full scans: " + fullScans()
+        + ", hit rate: " + hitRate();
+  }
+
+  /**
+   * Search sections around the last position, each one NEIGHBOURHOOD_GROWTH times larger than the
+   * previous one. A section which covers the whole screen is not searched, the full scan follows.
+   */
+  private static Optional<Position> neighbourhood(final ImagePositionFinder finder,
+                                                  final Image screen, final Image pattern,
+                                                  final Position last) {
+    Optional<Position> result = Optional.empty();
+    long margin = Math.max(pattern.getWidth(), pattern.getHeight());
+    boolean wholeScreen = false;
+    for (int step = 0; step < NEIGHBOURHOOD_STEPS && !result.isPresent() && !wholeScreen;
+         step++) {
+      int startX = (int) Math.max(0, last.getX() - margin);
+      int startY = (int) Math.max(0, last.getY() - margin);
+      int endX = (int) Math.min(screen.getWidth(), last.getX() + pattern.getWidth() + margin);
+      int endY = (int) Math.min(screen.getHeight(), last.getY() + pattern.getHeight() + margin);
+      wholeScreen = startX == 0 && startY == 0 && endX == screen.getWidth()
+          && endY == screen.getHeight();
+      if (!wholeScreen && endX - startX >= pattern.getWidth()
+          && endY - startY >= pattern.getHeight()) {
+        Section section = new Section(new Position(startX, startY), endX - startX,
+            endY - startY);
+        result = finder.find(screen.getSubImage(section), pattern)
+            .map(section::scaleUpPosition);
+      }
+      margin *= NEIGHBOURHOOD_GROWTH;
+    }
+    return result;
+  }
+}
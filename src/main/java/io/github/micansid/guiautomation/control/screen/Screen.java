@@ -1,10 +1,12 @@
 package io.github.micansid.guiautomation.control.screen;
 
 import io.github.micansid.guiautomation.algorithm.find.ImagePositionFinder;
+import io.github.micansid.guiautomation.algorithm.find.MeteredImagePositionFinder;
 import io.github.micansid.guiautomation.util.Position;
 import io.github.micansid.guiautomation.util.Section;
 import io.github.micansid.guiautomation.util.helper.Ensure;
 import io.github.micansid.guiautomation.util.image.Image;
+import io.github.micansid.guiautomation.util.metric.Metrics;
 
 import java.util.Collection;
 import java.util.List;
@@ -18,6 +20,7 @@ import java.util.stream.Collectors;
 public class Screen implements Supplier<Image> {
   private final Supplier<Image> screenSupplier;
   private final ImagePositionFinder finder;
+  private final PositionHistory positionHistory;
 
 
   /**
@@ -26,11 +29,26 @@ public class Screen implements Supplier<Image> {
    * @param screenSupplier supplier of screenshots
    */
   public Screen(final ImagePositionFinder finder, final Supplier<Image> screenSupplier) {
+    this(finder, screenSupplier, null);
+  }
+
+
+  /**
+   * Constructor which injects the dependencies of a Screen with a position history. The position
+   * of a single pattern on the whole screen is searched starting at its last position.
+   * @param finder instance of a ImagePositionFinder to find a sub image in an image
+   * @param screenSupplier supplier of screenshots
+   * @param positionHistory of the found patterns or null to scan the screen every time
+   */
+  public Screen(final ImagePositionFinder finder, final Supplier<Image> screenSupplier,
+                final PositionHistory positionHistory) {
     Ensure.notNull(finder);
     Ensure.notNull(screenSupplier);
 
-    this.finder = finder;
+    this.finder = finder instanceof MeteredImagePositionFinder ? finder
+        : new MeteredImagePositionFinder(finder);
     this.screenSupplier = screenSupplier;
+    this.positionHistory = positionHistory;
   }
 
 
@@ -42,8 +60,9 @@ public class Screen implements Supplier<Image> {
    */
   public Optional<Position> positionOf(final Supplier<Image> supplier) {
     Ensure.suppliesNotNull(supplier);
-    Image screen = getScreenSupplier().get();
-    return getFinder().find(screen, supplier.get());
+    Image screen = capture();
+    return getPositionHistory() == null ? getFinder().find(screen, supplier.get())
+        : getPositionHistory().find(getFinder(), screen, supplier.get());
   }
 
 
@@ -58,12 +77,23 @@ public class Screen implements Supplier<Image> {
     Ensure.suppliesNotNull(supplier);
     Ensure.notNull(section);
 
-    Image screen = getScreenSupplier().get().getSubImage(section);
+    Image screen = capture().getSubImage(section);
     return getFinder().find(screen, supplier.get())
         .map(section::scaleUpPosition);
   }
 
 
+  /**
+   * Find the position of the anchor on the screen, see Anchor.
+   * @param anchor to find
+   * @return position of the anchor or an empty optional if the anchor isn't present
+   */
+  public Optional<Position> positionOf(final Anchor anchor) {
+    Ensure.notNull(anchor);
+    return anchor.locate(getFinder(), capture());
+  }
+
+
   /**
    * Find the first position of the first present pattern image on the screen.
    * @param suppliers list of pattern image suppliers. The order of the list represents the priority
@@ -76,11 +106,7 @@ public class Screen implements Supplier<Image> {
     Ensure.containsNoNull(suppliers);
     suppliers.forEach(Ensure::suppliesNotNull);
 
-    Image screen = getScreenSupplier().get();
-    return suppliers.stream()
-        .map(Supplier::get)
-        .flatMap(pattern -> getFinder().findAll(screen, pattern).stream())
-        .findFirst();
+    return firstPositionOf(capture(), suppliers);
   }
 
 
@@ -99,15 +125,27 @@ public class Screen implements Supplier<Image> {
     suppliers.forEach(Ensure::suppliesNotNull);
     Ensure.notNull(section);
 
-    Image screen = getScreenSupplier().get().getSubImage(section);
-    return suppliers.stream()
-        .map(Supplier::get)
-        .flatMap(pattern -> getFinder().findAll(screen, pattern).stream())
-        .findFirst()
+    return firstPositionOf(capture().getSubImage(section), suppliers)
         .map(section::scaleUpPosition);
   }
 
 
+  /**
+   * Search the patterns in the order of the list and stop at the first match.
+   * @param screen to search in
+   * @param suppliers list of pattern image suppliers ordered by priority
+   * @return first position of the first present pattern image
+   */
+  private Optional<Position> firstPositionOf(final Image screen,
+                                             final List<Supplier<Image>> suppliers) {
+    Optional<Position> result = Optional.empty();
+    for (int index = 0; index < suppliers.size() && !result.isPresent(); index++) {
+      result = getFinder().stream(screen, suppliers.get(index).get()).findFirst();
+    }
+    return result;
+  }
+
+
   /**
    * Find all positions of the pattern image on the screen.
    * @param supplier of the pattern image
@@ -117,7 +155,7 @@ public class Screen implements Supplier<Image> {
   public List<Position> positionsOf(final Supplier<Image> supplier) {
     Ensure.suppliesNotNull(supplier);
 
-    Image screen = getScreenSupplier().get();
+    Image screen = capture();
     return getFinder().findAll(screen, supplier.get());
   }
 
@@ -133,7 +171,7 @@ public class Screen implements Supplier<Image> {
     Ensure.suppliesNotNull(supplier);
     Ensure.notNull(section);
 
-    Image screen = getScreenSupplier().get().getSubImage(section);
+    Image screen = capture().getSubImage(section);
 
     return getFinder().findAll(screen, supplier.get()).stream()
         .map(section::scaleUpPosition)
@@ -152,7 +190,7 @@ public class Screen implements Supplier<Image> {
     suppliers.forEach(Ensure::suppliesNotNull);
 
     Set<Image> images = suppliers.stream().map(Supplier::get).collect(Collectors.toSet());
-    Image screen = getScreenSupplier().get();
+    Image screen = capture();
     return getFinder().findAll(screen, images);
   }
 
@@ -171,7 +209,7 @@ public class Screen implements Supplier<Image> {
     Ensure.notNull(section);
 
     Set<Image> images = suppliers.stream().map(Supplier::get).collect(Collectors.toSet());
-    Image screen = getScreenSupplier().get().getSubImage(section);
+    Image screen = capture().getSubImage(section);
 
     return getFinder().findAll(screen, images).entrySet().stream()
         .peek(entry -> entry.setValue(entry.getValue().stream()
@@ -189,7 +227,8 @@ public class Screen implements Supplier<Image> {
    */
   public Optional<Position> clickPositionOf(final Supplier<Image> supplier) {
     Ensure.suppliesNotNull(supplier);
-    return positionOf(supplier).map(position -> position.addSubPosition(supplier.get().middle()));
+    Image pattern = supplier.get();
+    return positionOf(pattern).map(position -> position.addSubPosition(pattern.middle()));
   }
 
 
@@ -203,8 +242,21 @@ public class Screen implements Supplier<Image> {
   public Optional<Position> clickPositionOf(final Supplier<Image> supplier, final Section section) {
     Ensure.suppliesNotNull(supplier);
     Ensure.notNull(section);
-    return positionOf(supplier, section)
-        .map(position -> position.addSubPosition(supplier.get().middle()));
+    Image pattern = supplier.get();
+    return positionOf(pattern, section)
+        .map(position -> position.addSubPosition(pattern.middle()));
+  }
+
+
+  /**
+   * Find the click position of the anchor on the screen.
+   * @param anchor to find
+   * @return click position of the anchor or an empty optional if the anchor isn't present
+   */
+  public Optional<Position> clickPositionOf(final Anchor anchor) {
+    Ensure.notNull(anchor);
+    Position middle = anchor.pattern().get().middle();
+    return positionOf(anchor).map(position -> position.addSubPosition(middle));
   }
 
 
@@ -257,8 +309,9 @@ public class Screen implements Supplier<Image> {
    */
   public List<Position> clickPositionsOf(final Supplier<Image> supplier) {
     Ensure.suppliesNotNull(supplier);
-    return positionsOf(supplier).stream()
-        .map(position -> position.addSubPosition(supplier.get().middle()))
+    Image pattern = supplier.get();
+    return positionsOf(pattern).stream()
+        .map(position -> position.addSubPosition(pattern.middle()))
         .collect(Collectors.toList());
   }
 
@@ -274,8 +327,9 @@ public class Screen implements Supplier<Image> {
     Ensure.suppliesNotNull(supplier);
     Ensure.notNull(section);
 
-    return positionsOf(supplier, section).stream()
-        .map(position -> position.addSubPosition(supplier.get().middle()))
+    Image pattern = supplier.get();
+    return positionsOf(pattern, section).stream()
+        .map(position -> position.addSubPosition(pattern.middle()))
         .collect(Collectors.toList());
   }
 
@@ -327,7 +381,7 @@ public class Screen implements Supplier<Image> {
     Ensure.suppliesNotNull(supplier);
     Ensure.notNull(position);
 
-    Image screen = getScreenSupplier().get();
+    Image screen = capture();
     return getFinder().at(screen, supplier.get(), position);
   }
 
@@ -361,7 +415,7 @@ public class Screen implements Supplier<Image> {
                                        final BinaryOperator<Boolean> booleanReduce) {
     Ensure.notNull(imagesWithPositions);
 
-    Image screen = getScreenSupplier().get();
+    Image screen = capture();
     return imagesWithPositions.entrySet().stream()
         .collect(Collectors.toMap(Map.Entry::getKey,
             entry -> entry.getValue().stream()
@@ -376,7 +430,7 @@ public class Screen implements Supplier<Image> {
    * @return width of the screen in pixel
    */
   public int width() {
-    return getScreenSupplier().get().getWidth();
+    return capture().getWidth();
   }
 
 
@@ -385,7 +439,49 @@ public class Screen implements Supplier<Image> {
    * @return height of the screen in pixel
    */
   public int height() {
-    return getScreenSupplier().get().getHeight();
+    return capture().getHeight();
+  }
+
+  /**
+   * Screen which captures one screenshot and uses it for all following searches, e.g. to evaluate
+   * several conditions on the same frame.
+   * @return screen of the current screenshot
+   */
+  public Screen freeze() {
+    Image frame = capture();
+    return new Screen(getFinder(), () -> frame, getPositionHistory());
+  }
+
+  /**
+   * Position history of the screen.
+   * @return position history or an empty optional if the screen has none
+   */
+  public Optional<PositionHistory> positionHistory() {
+    return Optional.ofNullable(getPositionHistory());
+  }
+
+  /**
+   * Take a screenshot from the screen supplier.
+   * @return current screenshot
+   */
+  private Image capture() {
+    long start = Metrics.start();
+    Image result = getScreenSupplier().get();
+    Metrics.stop("screen.capture", start);
+    return result;
+  }
+
+  /**
+   * Check if the pattern at the position lies completely on the screenshot, e.g. before a cached
+   * position is verified.
+   * @param screen   screenshot
+   * @param pattern  pattern image
+   * @param position of the left upper corner of the pattern
+   * @return true if the pattern fits on the screenshot
+   */
+  static boolean fits(final Image screen, final Image pattern, final Position position) {
+    return position.getX() + pattern.getWidth() <= screen.getWidth()
+        && position.getY() + pattern.getHeight() <= screen.getHeight();
   }
 
   private Supplier<Image> getScreenSupplier() {
@@ -396,8 +492,12 @@ public class Screen implements Supplier<Image> {
     return finder;
   }
 
+  private PositionHistory getPositionHistory() {
+    return positionHistory;
+  }
+
   @Override
   public Image get() {
-    return getScreenSupplier().get();
+    return capture();
   }
 }
@@ -13,9 +13,10 @@ import lombok.Getter;
 public class ScreenBuilder {
   private Supplier<Image> screenSupplier = new AwtScreenshotSupplier();
   private ImagePositionFinder finder = new SimpleFinder();
+  private PositionHistory positionHistory = null;
 
   public Screen build() {
-    return new Screen(getFinder(), getScreenSupplier());
+    return new Screen(getFinder(), getScreenSupplier(), getPositionHistory());
   }
 
   public ScreenBuilder setScreenSupplier(final Supplier<Image> screenSupplier) {
@@ -29,4 +30,10 @@ public class ScreenBuilder {
     this.finder = finder;
     return this;
   }
+
+  public ScreenBuilder setPositionHistory(final PositionHistory positionHistory) {
+    Ensure.notNull(positionHistory);
+    this.positionHistory = positionHistory;
+    return this;
+  }
 }
@@ -0,0 +1,283 @@
+package io.github.micansid.guiautomation.control.screen;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recorder of the screen for post-mortem debugging. The frames are divided into square tiles and
+ * only the tiles which changed since the previous frame are appended to the file. Every
+ * keyFrameInterval frames all tiles are written, so a frame is reconstructed from the nearest key
+ * frame. The ScreenRecording reads the file. The file format is big-endian:
+ * <pre>
+ * header: magic, version, tile size (int each)
+ * frame:  timestamp (long), width, height (int each), key frame (byte), number of tiles,
+ *         payload bytes (int each), per tile its index (int) and its pixels row by row (ints)
+ * </pre>
+ * The recorder runs on its own daemon thread after start(), record() can also be called directly.
+ * Only the previous frame and the buffer of one frame are held in memory.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class ScreenRecorder implements AutoCloseable {
+  public static final int DEFAULT_FRAMES_PER_SECOND = 10;
+  public static final int DEFAULT_TILE_SIZE = 64;
+  public static final int DEFAULT_KEY_FRAME_INTERVAL = 100;
+  static final int MAGIC = 0x47415352;
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 3 * Integer.BYTES;
+  static final int FRAME_HEADER_BYTES = Long.BYTES + 4 * Integer.BYTES + 1;
+
+  private final Logger logger = LoggerFactory.getLogger(getClass());
+  private final Supplier<Image> screenSupplier;
+  private final FileChannel channel;
+  private final int framesPerSecond;
+  private final int tileSize;
+  private final int keyFrameInterval;
+  private final LongAdder frames = new LongAdder();
+  private final LongAdder keyFrames = new LongAdder();
+  private final LongAdder tiles = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private ScheduledExecutorService executor;
+  private ByteBuffer buffer = ByteBuffer.allocateDirect(0);
+  private int[] previous;
+  private int previousWidth;
+  private int previousHeight;
+  private long lastTimestamp = Long.MIN_VALUE;
+  private long bytes = HEADER_BYTES;
+
+  public ScreenRecorder(final Supplier<Image> screenSupplier, final Path file) {
+    this(screenSupplier, file, DEFAULT_FRAMES_PER_SECOND, DEFAULT_TILE_SIZE,
+        DEFAULT_KEY_FRAME_INTERVAL);
+  }
+
+  /**
+   * Create a recorder and the file, an existing file is replaced.
+   * @param screenSupplier   supplier of the frames
+   * @param file             to record to
+   * @param framesPerSecond  rate of the recording thread
+   * @param tileSize         width and height of a tile in pixels
+   * @param keyFrameInterval number of frames from one key frame to the next
+   */
+  public ScreenRecorder(final Supplier<Image> screenSupplier, final Path file,
+                        final int framesPerSecond, final int tileSize,
+                        final int keyFrameInterval) {
+    Ensure.notNull(screenSupplier);
+    Ensure.notNull(file);
+    Ensure.greater(framesPerSecond, 0);
+    Ensure.smallerOrEqual(framesPerSecond, 1_000);
+    Ensure.greater(tileSize, 0);
+    Ensure.greater(keyFrameInterval, 0);
+    this.screenSupplier = screenSupplier;
+    this.framesPerSecond = framesPerSecond;
+    this.tileSize = tileSize;
+    this.keyFrameInterval = keyFrameInterval;
+
+    try {
+      channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING);
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+      header.putInt(MAGIC).putInt(VERSION).putInt(tileSize).flip();
+      write(header);
+    } catch (IOException exception) {
+      throw new RuntimeException(exception);
+    }
+  }
+
+  /**
+   * Start recording frames of the screen supplier on the recording thread. Nothing happens if the
+   * recorder is already started.
+   */
+  public synchronized void start() {
+    if (executor == null) {
+      executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ScreenRecorder");
+        thread.setDaemon(true);
+        return thread;
+      });
+      // the interval starts after a frame is written, a slow frame delays the next one instead
+      // of causing a burst of frames to catch up
+      executor.scheduleWithFixedDelay(this::recordScreen, 0, 1_000_000 / getFramesPerSecond(),
+          TimeUnit.MICROSECONDS);
+    }
+  }
+
+  /**
+   * Stop the recording thread and wait for the frame in progress.
+   */
+  public void stop() {
+    ScheduledExecutorService running;
+    synchronized (this) {
+      running = executor;
+      executor = null;
+    }
+    if (running != null) {
+      running.shutdown();
+      try {
+        running.awaitTermination(1, TimeUnit.MINUTES);
+      } catch (InterruptedException exception) {
+        throw new RuntimeException(exception);
+      }
+    }
+  }
+
+  /**
+   * Stop the recording and close the file.
+   */
+  @Override
+  public void close() {
+    stop();
+    try {
+      getChannel().close();
+    } catch (IOException exception) {
+      throw new RuntimeException(exception);
+    }
+  }
+
+  /**
+   * Append a frame to the recording.
+   * @param frame     to append
+   * @param timestamp of the frame in milliseconds, not smaller than the previous timestamp
+   */
+  public synchronized void record(final Image frame, final long timestamp) {
+    Ensure.notNull(frame);
+    Ensure.greaterOrEqual(timestamp, lastTimestamp);
+
+    int[] current = frame.getRgbData();
+    int width = frame.getWidth();
+    int height = frame.getHeight();
+    boolean keyFrame = previous == null || width != previousWidth || height != previousHeight
+        || getFrames().sum() % getKeyFrameInterval() == 0;
+    int columns = (width + getTileSize() - 1) / getTileSize();
+    int rows = (height + getTileSize() - 1) / getTileSize();
+
+    ensureCapacity(FRAME_HEADER_BYTES + (long) columns * rows * Integer.BYTES
+        + (long) width * height * Integer.BYTES);
+    buffer.clear();
+    buffer.position(FRAME_HEADER_BYTES);
+    int tileCount = 0;
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        if (keyFrame || tileChanged(current, width, height, column, row)) {
+          buffer.putInt(row * columns + column);
+          putTile(current, width, height, column, row);
+          tileCount++;
+        }
+      }
+    }
+    int payload = buffer.position() - FRAME_HEADER_BYTES;
+    buffer.putLong(0, timestamp).putInt(8, width).putInt(12, height)
+        .put(16, (byte) (keyFrame ? 1 : 0)).putInt(17, tileCount).putInt(21, payload);
+    buffer.flip();
+    try {
+      write(buffer);
+    } catch (IOException exception) {
+      throw new RuntimeException(exception);
+    }
+
+    previous = current;
+    previousWidth = width;
+    previousHeight = height;
+    lastTimestamp = timestamp;
+    bytes += FRAME_HEADER_BYTES + payload;
+    getFrames().increment();
+    getTiles().add(tileCount);
+    if (keyFrame) {
+      getKeyFrames().increment();
+    }
+  }
+
+  public long frames() {
+    return getFrames().sum();
+  }
+
+  public long keyFrames() {
+    return getKeyFrames().sum();
+  }
+
+  /**
+   * Number of written tiles, including the tiles of key frames.
+   * @return number of tiles
+   */
+  public long tiles() {
+    return getTiles().sum();
+  }
+
+  /**
+   * Number of frames of the recording thread which could not be captured or written.
+   * @return number of failures
+   */
+  public long failures() {
+    return getFailures().sum();
+  }
+
+  public synchronized long bytes() {
+    return bytes;
+  }
+
+  private void recordScreen() {
+    try {
+      Image frame = getScreenSupplier().get();
+      synchronized (this) {
+        // the wall clock may be set back, the timestamps of a recording must not decrease
+        record(frame, Math.max(System.currentTimeMillis(), lastTimestamp));
+      }
+    } catch (RuntimeException exception) {
+      // an exception would cancel the recording thread
+      getFailures().increment();
+      getLogger().error(exception.getMessage());
+    }
+  }
+
+  private boolean tileChanged(final int[] current, final int width, final int height,
+                              final int column, final int row) {
+    int startX = column * getTileSize();
+    int endX = Math.min(width, startX + getTileSize());
+    int endY = Math.min(height, (row + 1) * getTileSize());
+    boolean result = false;
+    for (int y = row * getTileSize(); y < endY && !result; y++) {
+      for (int index = y * width + startX; index < y * width + endX && !result; index++) {
+        result = current[index] != previous[index];
+      }
+    }
+    return result;
+  }
+
+  private void putTile(final int[] current, final int width, final int height, final int column,
+                       final int row) {
+    int startX = column * getTileSize();
+    int tileWidth = Math.min(width, startX + getTileSize()) - startX;
+    int endY = Math.min(height, (row + 1) * getTileSize());
+    IntBuffer tile = buffer.asIntBuffer();
+    for (int y = row * getTileSize(); y < endY; y++) {
+      tile.put(current, y * width + startX, tileWidth);
+    }
+    buffer.position(buffer.position() + tile.position() * Integer.BYTES);
+  }
+
+  private void ensureCapacity(final long capacity) {
+    Ensure.smallerOrEqual(capacity, Integer.MAX_VALUE);
+    if (buffer.capacity() < capacity) {
+      buffer = ByteBuffer.allocateDirect((int) capacity);
+    }
+  }
+
+  private void write(final ByteBuffer source) throws IOException {
+    while (source.hasRemaining()) {
+      getChannel().write(source);
+    }
+  }
+}
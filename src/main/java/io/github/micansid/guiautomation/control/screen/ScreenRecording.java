@@ -0,0 +1,209 @@
+package io.github.micansid.guiautomation.control.screen;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Recording written by the ScreenRecorder. Only the frame headers are read on construction. A
+ * frame is reconstructed from the nearest key frame by applying the changed tiles of the following
+ * frames. The last reconstructed frame is kept, so reading the frames in order applies each delta
+ * only once. A frame which was not written completely, e.g. after a crash, is ignored.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class ScreenRecording implements AutoCloseable {
+  private final FileChannel channel;
+  private final int tileSize;
+  private final int frameCount;
+  private final long[] timestamps;
+  private final long[] positions;
+  private final int[] keyFrames;
+  private ByteBuffer buffer = ByteBuffer.allocate(0);
+  private int[] canvas = new int[0];
+  private int canvasWidth;
+  private int canvasHeight;
+  private int canvasIndex = -1;
+
+  /**
+   * Open the recording and read the frame headers.
+   * @param file of the recording
+   */
+  public ScreenRecording(final Path file) {
+    Ensure.notNull(file);
+    try {
+      channel = FileChannel.open(file, StandardOpenOption.READ);
+      ByteBuffer header = read(0, ScreenRecorder.HEADER_BYTES);
+      if (header.remaining() < ScreenRecorder.HEADER_BYTES
+          || header.getInt() != ScreenRecorder.MAGIC) {
+        channel.close();
+        throw new RuntimeException(file + " is not a screen recording");
+      }
+      int version = header.getInt();
+      if (version != ScreenRecorder.VERSION) {
+        channel.close();
+        throw new RuntimeException("The version " + version + " of " + file
+            + " is not supported");
+      }
+      tileSize = header.getInt();
+
+      long[] frameTimestamps = new long[16];
+      long[] framePositions = new long[16];
+      int[] frameKeyFrames = new int[16];
+      int count = 0;
+      int keyFrame = -1;
+      long position = ScreenRecorder.HEADER_BYTES;
+      ByteBuffer frameHeader = read(position, ScreenRecorder.FRAME_HEADER_BYTES);
+      while (frameHeader.remaining() == ScreenRecorder.FRAME_HEADER_BYTES) {
+        long end = position + ScreenRecorder.FRAME_HEADER_BYTES + frameHeader.getInt(21);
+        boolean complete = end <= channel.size();
+        if (complete && frameHeader.get(16) == 1) {
+          keyFrame = count;
+        }
+        if (complete && keyFrame >= 0) {
+          if (count == frameTimestamps.length) {
+            frameTimestamps = Arrays.copyOf(frameTimestamps, count * 2);
+            framePositions = Arrays.copyOf(framePositions, count * 2);
+            frameKeyFrames = Arrays.copyOf(frameKeyFrames, count * 2);
+          }
+          frameTimestamps[count] = frameHeader.getLong(0);
+          framePositions[count] = position;
+          frameKeyFrames[count] = keyFrame;
+          count++;
+        }
+        position = end;
+        frameHeader = read(position, ScreenRecorder.FRAME_HEADER_BYTES);
+      }
+      frameCount = count;
+      timestamps = Arrays.copyOf(frameTimestamps, count);
+      positions = Arrays.copyOf(framePositions, count);
+      keyFrames = Arrays.copyOf(frameKeyFrames, count);
+    } catch (IOException exception) {
+      throw new RuntimeException(exception);
+    }
+  }
+
+  public int size() {
+    return getFrameCount();
+  }
+
+  /**
+   * Timestamp of a frame.
+   * @param index of the frame
+   * @return timestamp in milliseconds
+   */
+  public long timestamp(final int index) {
+    Ensure.notNegative(index);
+    Ensure.smaller(index, size());
+    return getTimestamps()[index];
+  }
+
+  /**
+   * Index of the frame which was on the screen at the timestamp, the last frame recorded at or
+   * before the timestamp.
+   * @param timestamp in milliseconds
+   * @return index of the frame or an empty optional if the timestamp is before the first frame
+   */
+  public Optional<Integer> indexAt(final long timestamp) {
+    int index = Arrays.binarySearch(getTimestamps(), timestamp);
+    if (index >= 0) {
+      // frames with the same timestamp, the last one was on the screen
+      while (index + 1 < size() && getTimestamps()[index + 1] == timestamp) {
+        index++;
+      }
+    } else {
+      index = -index - 2;
+    }
+    return index < 0 ? Optional.empty() : Optional.of(index);
+  }
+
+  /**
+   * Reconstruct the frame which was on the screen at the timestamp.
+   * @param timestamp in milliseconds
+   * @return frame or an empty optional if the timestamp is before the first frame
+   */
+  public Optional<Image> frameAt(final long timestamp) {
+    return indexAt(timestamp).map(this::frame);
+  }
+
+  /**
+   * Reconstruct a frame.
+   * @param index of the frame
+   * @return the frame
+   */
+  public synchronized Image frame(final int index) {
+    Ensure.notNegative(index);
+    Ensure.smaller(index, size());
+
+    int keyFrame = getKeyFrames()[index];
+    int first = canvasIndex >= keyFrame && canvasIndex <= index ? canvasIndex + 1 : keyFrame;
+    try {
+      for (int frame = first; frame <= index; frame++) {
+        apply(frame);
+      }
+    } catch (IOException exception) {
+      throw new RuntimeException(exception);
+    }
+    return new Image(Arrays.copyOf(canvas, canvasWidth * canvasHeight), canvasWidth,
+        canvasHeight);
+  }
+
+  @Override
+  public void close() {
+    try {
+      getChannel().close();
+    } catch (IOException exception) {
+      throw new RuntimeException(exception);
+    }
+  }
+
+  private void apply(final int frame) throws IOException {
+    ByteBuffer header = read(getPositions()[frame], ScreenRecorder.FRAME_HEADER_BYTES);
+    int width = header.getInt(8);
+    int height = header.getInt(12);
+    int tileCount = header.getInt(17);
+    int payload = header.getInt(21);
+    if (canvas.length < width * height) {
+      canvas = new int[width * height];
+    }
+    canvasWidth = width;
+    canvasHeight = height;
+    canvasIndex = frame;
+
+    IntBuffer tiles = read(getPositions()[frame] + ScreenRecorder.FRAME_HEADER_BYTES, payload)
+        .asIntBuffer();
+    int columns = (width + getTileSize() - 1) / getTileSize();
+    for (int tile = 0; tile < tileCount; tile++) {
+      int tileIndex = tiles.get();
+      int startX = (tileIndex % columns) * getTileSize();
+      int startY = (tileIndex / columns) * getTileSize();
+      int tileWidth = Math.min(width, startX + getTileSize()) - startX;
+      int endY = Math.min(height, startY + getTileSize());
+      for (int y = startY; y < endY; y++) {
+        tiles.get(canvas, y * width + startX, tileWidth);
+      }
+    }
+  }
+
+  private ByteBuffer read(final long position, final int length) throws IOException {
+    if (buffer.capacity() < length) {
+      buffer = ByteBuffer.allocate(length);
+    }
+    buffer.clear();
+    buffer.limit(length);
+    int read = 0;
+    while (read >= 0 && buffer.hasRemaining()) {
+      read = channel.read(buffer, position + buffer.position());
+    }
+    buffer.flip();
+    return buffer;
+  }
+}
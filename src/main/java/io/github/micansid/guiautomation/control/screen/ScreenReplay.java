@@ -0,0 +1,92 @@
+package io.github.micansid.guiautomation.control.screen;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Screen supplier which replays a ScreenRecording, e.g. to benchmark finders and observers against
+ * a recorded session without a display. The replay starts with the first call of get(). With a
+ * finite speed get() returns the frame which was on the screen at the elapsed time multiplied by
+ * the speed, so a speed of 1 preserves the recorded timing. With AS_FAST_AS_POSSIBLE every call
+ * of get() returns the next frame. After the last frame the last frame is returned.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class ScreenReplay implements Supplier<Image> {
+  public static final double REAL_TIME = 1.0;
+  public static final double AS_FAST_AS_POSSIBLE = Double.POSITIVE_INFINITY;
+
+  private final ScreenRecording recording;
+  private final double speed;
+  private final Supplier<Long> clock;
+  private long start;
+  private int nextIndex = 0;
+  private int lastIndex = -1;
+  private Image lastFrame;
+
+  public ScreenReplay(final ScreenRecording recording) {
+    this(recording, REAL_TIME);
+  }
+
+  public ScreenReplay(final ScreenRecording recording, final double speed) {
+    this(recording, speed, System::currentTimeMillis);
+  }
+
+  /**
+   * Create a replay.
+   * @param recording to replay, has to contain at least one frame
+   * @param speed     factor of the recorded timing or AS_FAST_AS_POSSIBLE
+   * @param clock     supplier of the time in milliseconds
+   */
+  public ScreenReplay(final ScreenRecording recording, final double speed,
+                      final Supplier<Long> clock) {
+    Ensure.notNull(recording);
+    Ensure.greater(recording.size(), 0);
+    if (!(speed > 0)) {
+      throw new IllegalArgumentException("ENSURE: " + speed + " is not a positive speed");
+    }
+    Ensure.notNull(clock);
+    this.recording = recording;
+    this.speed = speed;
+    this.clock = clock;
+  }
+
+  @Override
+  public synchronized Image get() {
+    int index;
+    if (getSpeed() == AS_FAST_AS_POSSIBLE) {
+      index = Math.min(nextIndex, getRecording().size() - 1);
+      nextIndex++;
+    } else {
+      if (lastIndex < 0) {
+        start = getClock().get();
+      }
+      long elapsed = (long) ((getClock().get() - start) * getSpeed());
+      index = getRecording().indexAt(getRecording().timestamp(0) + elapsed).orElse(0);
+    }
+
+    if (index != lastIndex) {
+      lastFrame = getRecording().frame(index);
+      lastIndex = index;
+    }
+    return lastFrame;
+  }
+
+  /**
+   * Check if the last frame of the recording is replayed.
+   * @return true if the replay reached the last frame
+   */
+  public synchronized boolean isFinished() {
+    return lastIndex == getRecording().size() - 1;
+  }
+
+  /**
+   * Index of the frame which was returned by the last call of get().
+   * @return index of the frame or -1 if get() was not called
+   */
+  public synchronized int index() {
+    return lastIndex;
+  }
+}
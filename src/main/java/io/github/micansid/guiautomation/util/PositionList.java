@@ -0,0 +1,203 @@
+package io.github.micansid.guiautomation.util;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Compact list of Positions. The coordinates are packed into a long[] with the y-coordinate in the
+ * upper and the x-coordinate in the lower 32 bits, so the natural order of the packed values is
+ * the order of Position. Finders add coordinates without allocating a Position, the Positions are
+ * created lazily when the list is read. Like an ArrayList the list supports set, insertion and
+ * removal at an index.
+ */
+public class PositionList extends AbstractList<Position> implements RandomAccess {
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final int RADIX_BITS = 16;
+  private static final int RADIX = 1 << RADIX_BITS;
+  private static final int RADIX_SORT_THRESHOLD = 4_096;
+
+  private long[] packed;
+  private int size = 0;
+
+  public PositionList() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Create an empty list with the given capacity.
+   * @param capacity initial capacity, is not allowed to be negative
+   */
+  public PositionList(final int capacity) {
+    Ensure.notNegative(capacity);
+    packed = new long[capacity];
+  }
+
+
+  /**
+   * Add the coordinates without creating a Position.
+   * @param x x-coordinate, is not allowed to be negative
+   * @param y y-coordinate, is not allowed to be negative
+   */
+  public void add(final int x, final int y) {
+    if ((x | y) < 0) {
+      Ensure.notNegative(x);
+      Ensure.notNegative(y);
+    }
+    ensureCapacity(size + 1);
+    packed[size++] = pack(x, y);
+    modCount++;
+  }
+
+  @Override
+  public boolean add(final Position position) {
+    Ensure.notNull(position);
+    add(position.getX(), position.getY());
+    return true;
+  }
+
+
+  /**
+   * Append all coordinates of the other list.
+   * @param other list to append
+   */
+  public void addAll(final PositionList other) {
+    Ensure.notNull(other);
+    ensureCapacity(size + other.size);
+    System.arraycopy(other.packed, 0, packed, size, other.size);
+    size += other.size;
+    modCount++;
+  }
+
+  @Override
+  public void add(final int index, final Position position) {
+    if (index != size) {
+      checkIndex(index);
+    }
+    Ensure.notNull(position);
+    ensureCapacity(size + 1);
+    System.arraycopy(packed, index, packed, index + 1, size - index);
+    packed[index] = pack(position.getX(), position.getY());
+    size++;
+    modCount++;
+  }
+
+  @Override
+  public Position set(final int index, final Position position) {
+    Position result = get(index);
+    Ensure.notNull(position);
+    packed[index] = pack(position.getX(), position.getY());
+    return result;
+  }
+
+  @Override
+  public Position remove(final int index) {
+    Position result = get(index);
+    System.arraycopy(packed, index + 1, packed, index, size - index - 1);
+    size--;
+    modCount++;
+    return result;
+  }
+
+  @Override
+  public Position get(final int index) {
+    checkIndex(index);
+    return new Position(getX(index), getY(index));
+  }
+
+  public int getX(final int index) {
+    checkIndex(index);
+    return (int) packed[index];
+  }
+
+  public int getY(final int index) {
+    checkIndex(index);
+    return (int) (packed[index] >>> 32);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    size = 0;
+    modCount++;
+  }
+
+
+  /**
+   * Sort the positions by row and column, the order of Position. Large lists are sorted with a LSD
+   * radix sort on the packed values. Returns immediately if the list is already sorted.
+   * @return this for fluent interface
+   */
+  public PositionList sort() {
+    if (!isSorted()) {
+      if (size < RADIX_SORT_THRESHOLD) {
+        Arrays.sort(packed, 0, size);
+      } else {
+        radixSort();
+      }
+      modCount++;
+    }
+    return this;
+  }
+
+  private boolean isSorted() {
+    boolean result = true;
+    for (int index = 1; index < size && result; index++) {
+      result = packed[index - 1] <= packed[index];
+    }
+    return result;
+  }
+
+  private void radixSort() {
+    long[] source = packed;
+    long[] target = new long[packed.length];
+    int[] counts = new int[RADIX + 1];
+
+    // the coordinates are not negative, so the highest bit is never set
+    for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+      Arrays.fill(counts, 0);
+      for (int index = 0; index < size; index++) {
+        counts[digit(source[index], shift) + 1]++;
+      }
+      // a pass in which every value has the same digit would not change the order
+      if (counts[digit(source[0], shift) + 1] != size) {
+        for (int digit = 0; digit < RADIX; digit++) {
+          counts[digit + 1] += counts[digit];
+        }
+        for (int index = 0; index < size; index++) {
+          target[counts[digit(source[index], shift)]++] = source[index];
+        }
+        long[] swap = source;
+        source = target;
+        target = swap;
+      }
+    }
+    packed = source;
+  }
+
+  private void ensureCapacity(final int capacity) {
+    if (capacity > packed.length) {
+      packed = Arrays.copyOf(packed, Math.max(capacity,
+          Math.max(DEFAULT_CAPACITY, packed.length * 2)));
+    }
+  }
+
+  private static int digit(final long value, final int shift) {
+    return (int) ((value >>> shift) & (RADIX - 1));
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  private static long pack(final int x, final int y) {
+    return ((long) y << 32) | (x & 0xFFFFFFFFL);
+  }
+}
@@ -1,13 +1,16 @@
 package io.github.micansid.guiautomation.util.helper;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.Supplier;
 
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * StopWatch which accumulates the measured time in a running total, so the memory usage doesn't
+ * grow with the number of pauses. For the distribution of many intervals use the
+ * IntervalRecorder.
+ */
 @Getter(AccessLevel.PRIVATE)
 @Setter(AccessLevel.PRIVATE)
 public class StopWatch {
@@ -16,8 +19,9 @@ public class StopWatch {
   private boolean running = false;
   @Getter(AccessLevel.PUBLIC)
   private boolean stopped = false;
-  private final List<Long> starts = new ArrayList<>();
-  private final List<Long> stops = new ArrayList<>();
+  private long lastStart = 0;
+  private long accumulated = 0;
+  private int intervals = 0;
 
 
   /**
@@ -45,7 +49,7 @@ public class StopWatch {
   public synchronized boolean start() {
     boolean result = false;
     if (!isRunning() && !isStopped()) {
-      getStarts().add(getClock().get());
+      setLastStart(getClock().get());
       setRunning(true);
       result = true;
     }
@@ -60,8 +64,7 @@ public class StopWatch {
   public synchronized boolean pause() {
     boolean result = false;
     if (isRunning()) {
-      getStops().add(getClock().get());
-      setRunning(false);
+      finishInterval();
       result = true;
     }
     return result;
@@ -75,8 +78,7 @@ public class StopWatch {
   public synchronized boolean stop() {
     boolean result = false;
     if (isRunning()) {
-      getStops().add(getClock().get());
-      setRunning(false);
+      finishInterval();
       setStopped(true);
       result = true;
     }
@@ -89,16 +91,10 @@ public class StopWatch {
    * @return duration of time units
    */
   public synchronized long duration() {
-    long result = 0;
-
-    for (int index = 0; index < getStarts().size(); index++) {
-      if (index < getStops().size()) {
-        result += getStops().get(index) - getStarts().get(index);
-      } else {
-        result += getClock().get() - getStarts().get(index);
-      }
+    long result = getAccumulated();
+    if (isRunning()) {
+      result += getClock().get() - getLastStart();
     }
-
     return result;
   }
 
@@ -109,10 +105,16 @@ public class StopWatch {
   public synchronized int pauses() {
     int result = 0;
     if (isStopped()) {
-      result = getStops().size() - 1;
+      result = getIntervals() - 1;
     } else {
-      result = getStops().size();
+      result = getIntervals();
     }
     return result;
   }
+
+  private void finishInterval() {
+    setAccumulated(getAccumulated() + getClock().get() - getLastStart());
+    setIntervals(getIntervals() + 1);
+    setRunning(false);
+  }
 }
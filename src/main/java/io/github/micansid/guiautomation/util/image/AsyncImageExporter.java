@@ -0,0 +1,131 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Exporter which encodes the images on a pool of daemon threads, so diagnostic screenshots never
+ * stall the automation. The exports wait in a bounded queue. If the queue is full, new exports
+ * are dropped instead of blocking the caller.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class AsyncImageExporter {
+  static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+  private final ImageExporter exporter;
+  private final ImageExporter.Compression compression;
+  private final ThreadPoolExecutor executor;
+  private final LongAdder exported = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+
+  /**
+   * Exporter with one encoder thread, a queue of DEFAULT_QUEUE_CAPACITY images and fast
+   * compression.
+   */
+  public AsyncImageExporter() {
+    this(1, DEFAULT_QUEUE_CAPACITY, ImageExporter.Compression.FAST);
+  }
+
+  public AsyncImageExporter(final int threads, final int queueCapacity,
+                            final ImageExporter.Compression compression) {
+    this(new ImageExporter(), threads, queueCapacity, compression);
+  }
+
+  /**
+   * Create an exporter.
+   * @param exporter      which encodes the images
+   * @param threads       number of encoder threads
+   * @param queueCapacity number of images which can wait for an encoder thread
+   * @param compression   of the exported images
+   */
+  public AsyncImageExporter(final ImageExporter exporter, final int threads,
+                            final int queueCapacity,
+                            final ImageExporter.Compression compression) {
+    Ensure.notNull(exporter);
+    Ensure.greater(threads, 0);
+    Ensure.greater(queueCapacity, 0);
+    Ensure.notNull(compression);
+    this.exporter = exporter;
+    this.compression = compression;
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+          Thread thread = new Thread(runnable, "AsyncImageExporter");
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /**
+   * Export the image in the background. The image is converted and encoded by an encoder thread.
+   * @param image to export
+   * @param path  where the image should exported
+   * @return future of the result of the export, false if the export failed or was dropped
+   */
+  public CompletableFuture<Boolean> export(final Image image, final String path) {
+    Ensure.notNull(image);
+    Ensure.notBlank(path);
+
+    CompletableFuture<Boolean> result = new CompletableFuture<>();
+    try {
+      getExecutor().execute(() -> {
+        boolean success = false;
+        try {
+          success = getExporter().export(image, path, getCompression());
+        } finally {
+          (success ? getExported() : getFailed()).increment();
+          result.complete(success);
+        }
+      });
+    } catch (RejectedExecutionException exception) {
+      getDropped().increment();
+      result.complete(false);
+    }
+    return result;
+  }
+
+  public long exported() {
+    return getExported().sum();
+  }
+
+  public long failed() {
+    return getFailed().sum();
+  }
+
+  /**
+   * Number of exports which were dropped, because the queue was full or the exporter was shut
+   * down.
+   * @return number of dropped exports
+   */
+  public long dropped() {
+    return getDropped().sum();
+  }
+
+  public int queued() {
+    return getExecutor().getQueue().size();
+  }
+
+  /**
+   * Finish the queued exports and stop the encoder threads. Later exports are dropped.
+   * @param timeoutMillis maximum time to wait for the queued exports
+   * @return true if all exports are finished
+   */
+  public boolean shutdown(final long timeoutMillis) {
+    Ensure.notNegative(timeoutMillis);
+    getExecutor().shutdown();
+    boolean result;
+    try {
+      result = getExecutor().awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException exception) {
+      throw new RuntimeException(exception);
+    }
+    return result;
+  }
+}
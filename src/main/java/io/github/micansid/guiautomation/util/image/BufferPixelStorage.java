@@ -0,0 +1,97 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * PixelStorage on an IntBuffer, which can be a direct buffer outside of the heap or a memory-mapped
+ * file. Large screenshots and pattern libraries stored this way do not add to the heap and are
+ * not copied by the garbage collector.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class BufferPixelStorage extends PixelStorage {
+  private final IntBuffer buffer;
+
+  /**
+   * Use the remaining ints of the buffer without copying. The buffer must not be modified
+   * afterwards.
+   * @param buffer with the RGB information
+   */
+  public BufferPixelStorage(final IntBuffer buffer) {
+    Ensure.notNull(buffer);
+    this.buffer = buffer.slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * Copy the data into a new direct buffer.
+   * @param data RGB information
+   */
+  public BufferPixelStorage(final int[] data) {
+    this(directBuffer(data));
+  }
+
+  /**
+   * Map pixels of a file into memory. The pixels are stored as ints in big-endian byte order.
+   * @param file     to map
+   * @param position byte position of the first pixel in the file
+   * @param size     number of pixels
+   */
+  public BufferPixelStorage(final Path file, final long position, final int size) {
+    this(map(file, position, size));
+  }
+
+  @Override
+  public int size() {
+    return getBuffer().capacity();
+  }
+
+  @Override
+  public int get(final int index) {
+    return getBuffer().get(index);
+  }
+
+  @Override
+  public void get(final int index, final int[] target, final int offset, final int length) {
+    ensureRange(index, target, offset, length);
+    IntBuffer view = getBuffer().duplicate();
+    view.position(index);
+    view.get(target, offset, length);
+  }
+
+  /**
+   * Check if the pixels are stored outside of the heap.
+   * @return true for direct and memory-mapped buffers
+   */
+  public boolean isDirect() {
+    return getBuffer().isDirect();
+  }
+
+  private static IntBuffer directBuffer(final int[] data) {
+    Ensure.notNull(data);
+    IntBuffer result = ByteBuffer.allocateDirect(data.length * Integer.BYTES)
+        .order(ByteOrder.nativeOrder()).asIntBuffer();
+    result.put(data);
+    result.flip();
+    return result;
+  }
+
+  private static IntBuffer map(final Path file, final long position, final int size) {
+    Ensure.notNull(file);
+    Ensure.notNegative(position);
+    Ensure.notNegative(size);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, position, (long) size * Integer.BYTES)
+          .asIntBuffer();
+    } catch (IOException exception) {
+      throw new RuntimeException(exception);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Bounded pool of byte buffers into which encoded images are read before they are decoded. The
+ * buffers grow with the largest file and are shared by the loading threads.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class DecodeBufferPool {
+  static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private final BlockingQueue<byte[]> buffers;
+  private final int bufferSize;
+
+  /**
+   * Create a pool.
+   * @param capacity   maximum number of pooled buffers
+   * @param bufferSize initial size of new buffers
+   */
+  public DecodeBufferPool(final int capacity, final int bufferSize) {
+    Ensure.greater(capacity, 0);
+    Ensure.greater(bufferSize, 0);
+    this.buffers = new ArrayBlockingQueue<>(capacity);
+    this.bufferSize = bufferSize;
+  }
+
+  /**
+   * Take a pooled buffer or create a new one if the pool is empty.
+   * @return buffer
+   */
+  public byte[] acquire() {
+    byte[] result = getBuffers().poll();
+    return result == null ? new byte[getBufferSize()] : result;
+  }
+
+  /**
+   * Return a buffer to the pool. The buffer is dropped if the pool is full.
+   * @param buffer to return
+   */
+  public void release(final byte[] buffer) {
+    Ensure.notNull(buffer);
+    getBuffers().offer(buffer);
+  }
+
+  public int pooled() {
+    return getBuffers().size();
+  }
+}
@@ -0,0 +1,50 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * PixelStorage on a heap array, the default storage of an Image.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class HeapPixelStorage extends PixelStorage {
+  private final int[] data;
+
+  /**
+   * Store a copy of the data.
+   * @param data RGB information
+   */
+  public HeapPixelStorage(final int[] data) {
+    Ensure.notNull(data);
+    this.data = Arrays.copyOf(data, data.length);
+  }
+
+  @Override
+  public int size() {
+    return getData().length;
+  }
+
+  @Override
+  public int get(final int index) {
+    return getData()[index];
+  }
+
+  @Override
+  public void get(final int index, final int[] target, final int offset, final int length) {
+    ensureRange(index, target, offset, length);
+    System.arraycopy(getData(), index, target, offset, length);
+  }
+
+  @Override
+  public boolean equals(final Object object) {
+    return object instanceof HeapPixelStorage
+        ? Arrays.equals(getData(), ((HeapPixelStorage) object).getData()) : super.equals(object);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(getData());
+  }
+}
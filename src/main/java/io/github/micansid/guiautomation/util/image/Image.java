@@ -4,11 +4,10 @@ import io.github.micansid.guiautomation.util.helper.Ensure;
 import io.github.micansid.guiautomation.util.Position;
 import io.github.micansid.guiautomation.util.Section;
 
-import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
@@ -30,7 +29,7 @@ public class Image implements Supplier<Image> {
    * RGB information of the image.
    */
   @Getter(AccessLevel.PRIVATE)
-  private final int[] imageData;
+  private final PixelStorage storage;
 
   /**
    * width of the image.
@@ -42,6 +41,20 @@ public class Image implements Supplier<Image> {
    */
   private final int height;
 
+  /**
+   * Summed-area tables, created on the first call of integralImage().
+   */
+  @EqualsAndHashCode.Exclude
+  @Getter(AccessLevel.NONE)
+  private volatile IntegralImage integralImage;
+
+  /**
+   * Reduced representations by ordinal, created on the first call of reduced().
+   */
+  @EqualsAndHashCode.Exclude
+  @Getter(AccessLevel.NONE)
+  private final AtomicReferenceArray<ReducedImage> reduced =
+      new AtomicReferenceArray<>(ReducedImage.Representation.values().length);
 
   /**
    * Construct a ScreenImage from a BufferedImage.
@@ -66,12 +79,30 @@ public class Image implements Supplier<Image> {
     Ensure.equal(width * height, imageData.length);
     this.width = width;
     this.height = height;
-    this.imageData = Arrays.copyOf(imageData, width * height);
+    this.storage = new HeapPixelStorage(imageData);
+  }
+
+
+  /**
+   * Construct a ScreenImage on a PixelStorage without copying the pixels, e.g. a direct or
+   * memory-mapped BufferPixelStorage.
+   * @param storage RGB information, the size of the storage have to be width * height.
+   * @param width   of the image
+   * @param height  of the image
+   */
+  public Image(final PixelStorage storage, final int width, final int height) {
+    Ensure.notNegative(width);
+    Ensure.notNegative(height);
+    Ensure.notNull(storage);
+    Ensure.equal((long) width * height, storage.size());
+    this.width = width;
+    this.height = height;
+    this.storage = storage;
   }
 
   public int getRgb(final int x, final int y) {
     ensureCoordinates(x, y);
-    return getImageData()[y * getWidth() + x];
+    return getStorage().get(y * getWidth() + x);
   }
 
   public int getRgb(final Position position) {
@@ -89,7 +120,40 @@ public class Image implements Supplier<Image> {
 
 
   public int[] getRgbData() {
-    return Arrays.copyOf(getImageData(), getWidth() * getHeight());
+    int[] result = new int[getWidth() * getHeight()];
+    getStorage().get(0, result, 0, result.length);
+    return result;
+  }
+
+
+  /**
+   * Copy the RGB information of an area into an array, like BufferedImage.getRGB(). Each row of
+   * the area is copied with one array copy.
+   * @param startX   x-coordinate of the left upper bound
+   * @param startY   y-coordinate of the left upper bound
+   * @param w        width of the area
+   * @param h        height of the area
+   * @param target   array to copy into or null to allocate a new array of size
+   *                 offset + h * scansize
+   * @param offset   index of the first pixel in the target
+   * @param scansize distance between the rows in the target
+   * @return the target array
+   */
+  public int[] getRgb(final int startX, final int startY, final int w, final int h,
+                      final int[] target, final int offset, final int scansize) {
+    Ensure.notNegative(startX);
+    Ensure.notNegative(startY);
+    Ensure.notNegative(w);
+    Ensure.notNegative(h);
+    Ensure.notNegative(offset);
+    Ensure.smallerOrEqual(startX + w, getWidth());
+    Ensure.smallerOrEqual(startY + h, getHeight());
+    Ensure.smallerOrEqual(w, scansize);
+    int[] result = target == null ? new int[offset + h * scansize] : target;
+    for (int row = 0; row < h; row++) {
+      getStorage().get((startY + row) * getWidth() + startX, result, offset + row * scansize, w);
+    }
+    return result;
   }
 
 
@@ -102,7 +166,7 @@ public class Image implements Supplier<Image> {
    * @return ScreenImage of the defined section
    */
   public Image getSubImage(final int x, final int y, final int w, final int h) {
-    return new Image(bufferedImage().getSubimage(x, y, w, h));
+    return new Image(getRgb(x, y, w, h, null, 0, w), w, h);
   }
 
 
@@ -118,7 +182,7 @@ public class Image implements Supplier<Image> {
 
   public int getRed(final int x, final int y) {
     ensureCoordinates(x, y);
-    return new Color(getRgb(x, y), true).getRed();
+    return (getRgb(x, y) >> 16) & 0xFF;
   }
 
   public int getRed(final Position position) {
@@ -128,7 +192,7 @@ public class Image implements Supplier<Image> {
 
   public int getGreen(final int x, final int y) {
     ensureCoordinates(x, y);
-    return new Color(getRgb(x, y), true).getGreen();
+    return (getRgb(x, y) >> 8) & 0xFF;
   }
 
   public int getGreen(final Position position) {
@@ -138,7 +202,7 @@ public class Image implements Supplier<Image> {
 
   public int getBlue(final int x, final int y) {
     ensureCoordinates(x, y);
-    return new Color(getRgb(x, y), true).getBlue();
+    return getRgb(x, y) & 0xFF;
   }
 
   public int getBlue(final Position position) {
@@ -148,7 +212,7 @@ public class Image implements Supplier<Image> {
 
   public int getAlpha(final int x, final int y) {
     ensureCoordinates(x, y);
-    return new Color(getRgb(x, y), true).getAlpha();
+    return getRgb(x, y) >>> 24;
   }
 
   public int getAlpha(final Position position) {
@@ -184,7 +248,43 @@ public class Image implements Supplier<Image> {
    */
   public BufferedImage bufferedImage() {
     BufferedImage result = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_ARGB);
-    result.setRGB(0, 0, getWidth(), getHeight(), getImageData(), 0, getWidth());
+    result.setRGB(0, 0, getWidth(), getHeight(), getRgbData(), 0, getWidth());
+    return result;
+  }
+
+  /**
+   * Summed-area tables of the color channels for constant-time statistics of rectangles. The
+   * instance is created once per image and computes the table of a channel on first use.
+   * @return integral image of this image
+   */
+  public IntegralImage integralImage() {
+    IntegralImage result = integralImage;
+    if (result == null) {
+      synchronized (this) {
+        result = integralImage;
+        if (result == null) {
+          result = new IntegralImage(this);
+          integralImage = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Reduced representation with one byte per pixel, computed once per image.
+   * @param representation kind of the representation
+   * @return reduced image
+   */
+  public ReducedImage reduced(final ReducedImage.Representation representation) {
+    Ensure.notNull(representation);
+    ReducedImage result = reduced.get(representation.ordinal());
+    if (result == null) {
+      // two threads may compute equal representations, only the first one is kept
+      reduced.compareAndSet(representation.ordinal(), null,
+          new ReducedImage(this, representation));
+      result = reduced.get(representation.ordinal());
+    }
     return result;
   }
 
@@ -1,8 +1,14 @@
 package io.github.micansid.guiautomation.util.image;
 
+import io.github.micansid.guiautomation.util.helper.Ensure;
 import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.zip.Deflater;
 import javax.imageio.ImageIO;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -34,4 +40,76 @@ public class ImageExporter {
   public boolean export(final Image image, final String path) {
     return export(image.bufferedImage(), path);
   }
+
+  /**
+   * Export an image to the disk as PNG with the given compression. The DEFAULT compression is
+   * written by ImageIO, FAST and NONE by an encoder with the deflate level of the compression.
+   * @param image       to export
+   * @param path        where the image should exported
+   * @param compression of the PNG
+   * @return result of the export as a boolean
+   */
+  public boolean export(final BufferedImage image, final String path,
+                        final Compression compression) {
+    Ensure.notNull(image);
+    Ensure.notNull(path);
+    Ensure.notNull(compression);
+    return compression == Compression.DEFAULT ? export(image, path)
+        : encode(image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0,
+            image.getWidth()), image.getWidth(), image.getHeight(), path, compression);
+  }
+
+  /**
+   * Export an image to the disk as PNG with the given compression, without converting it into
+   * a BufferedImage unless the DEFAULT compression is used.
+   * @param image       to export
+   * @param path        where the image should exported
+   * @param compression of the PNG
+   * @return result of the export as a boolean
+   */
+  public boolean export(final Image image, final String path, final Compression compression) {
+    Ensure.notNull(image);
+    Ensure.notNull(path);
+    Ensure.notNull(compression);
+    return compression == Compression.DEFAULT ? export(image, path)
+        : encode(image.getRgbData(), image.getWidth(), image.getHeight(), path, compression);
+  }
+
+  private boolean encode(final int[] argb, final int width, final int height, final String path,
+                         final Compression compression) {
+    boolean result = false;
+    try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(Paths.get(path)))) {
+      new PngEncoder(compression.getLevel()).encode(argb, width, height, output);
+      result = true;
+    } catch (IOException exception) {
+      getLogger().error(exception.getMessage());
+    }
+    return result;
+  }
+
+
+  /**
+   * Compression of exported PNGs. Lower compression trades file size for encoding time.
+   */
+  @Getter(AccessLevel.PRIVATE)
+  public enum Compression {
+    /**
+     * Compression of the ImageIO PNG writer.
+     */
+    DEFAULT(Deflater.DEFAULT_COMPRESSION),
+    /**
+     * Fastest deflate level.
+     */
+    FAST(Deflater.BEST_SPEED),
+    /**
+     * Stored deflate blocks without compression.
+     */
+    NONE(Deflater.NO_COMPRESSION);
+
+    private final int level;
+
+    Compression(final int level) {
+      this.level = level;
+    }
+  }
 }
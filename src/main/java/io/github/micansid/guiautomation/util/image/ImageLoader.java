@@ -4,10 +4,36 @@ import io.github.micansid.guiautomation.util.helper.Ensure;
 
 import java.awt.image.BufferedImage;
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.imageio.ImageIO;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -16,7 +42,30 @@ import org.slf4j.LoggerFactory;
 
 @Getter(AccessLevel.PRIVATE)
 public class ImageLoader {
+  private static final BiConsumer<Integer, Integer> NO_PROGRESS = (loaded, total) -> { };
+
   private final Logger logger = LoggerFactory.getLogger(getClass());
+  private final Executor executor;
+  private final DecodeBufferPool bufferPool;
+
+  /**
+   * Create a loader, which loads batches of images on a shared pool with a thread per core.
+   */
+  public ImageLoader() {
+    this(Defaults.EXECUTOR, Defaults.BUFFER_POOL);
+  }
+
+  /**
+   * Create a loader.
+   * @param executor   which loads the images of a batch, it bounds the number of parallel loads
+   * @param bufferPool pool of the buffers into which the files are read
+   */
+  public ImageLoader(final Executor executor, final DecodeBufferPool bufferPool) {
+    Ensure.notNull(executor);
+    Ensure.notNull(bufferPool);
+    this.executor = executor;
+    this.bufferPool = bufferPool;
+  }
 
   /**
    * Load a image from the resources directory.
@@ -64,4 +113,186 @@ public class ImageLoader {
   private Optional<BufferedImage> load(final InputStream inputStream) throws IOException {
     return Optional.of(ImageIO.read(inputStream));
   }
+
+
+  public CompletableFuture<Map<String, Image>> loadAll(final String directory) {
+    return loadAll(directory, NO_PROGRESS);
+  }
+
+  /**
+   * Load all images of the directory and its subdirectories in parallel. Images which can not be
+   * loaded are logged and missing in the result.
+   * @param directory to load
+   * @param progress  called with the number of processed and the total number of files after each
+   *                  file, from the loading threads
+   * @return future of the images by their path relative to the directory, separated by '/'
+   */
+  public CompletableFuture<Map<String, Image>> loadAll(
+      final String directory, final BiConsumer<Integer, Integer> progress) {
+    Ensure.notBlank(directory);
+    Ensure.notNull(progress);
+
+    CompletableFuture<Map<String, Image>> result;
+    Map<String, Source> sources = new TreeMap<>();
+    try {
+      collectFiles(Paths.get(directory), "", sources);
+      result = loadAll(sources, progress);
+    } catch (IOException exception) {
+      result = new CompletableFuture<>();
+      result.completeExceptionally(exception);
+    }
+    return result;
+  }
+
+  public CompletableFuture<Map<String, Image>> loadAllFromResources(final String prefix) {
+    return loadAllFromResources(prefix, NO_PROGRESS);
+  }
+
+  /**
+   * Load all images of the classpath below the prefix in parallel, from directories and jars.
+   * Images which can not be loaded are logged and missing in the result.
+   * @param prefix   resource directory, e.g. "patterns/buttons"
+   * @param progress called with the number of processed and the total number of files after each
+   *                 file, from the loading threads
+   * @return future of the images by their resource path, which can be used with
+   *         loadFromResources()
+   */
+  public CompletableFuture<Map<String, Image>> loadAllFromResources(
+      final String prefix, final BiConsumer<Integer, Integer> progress) {
+    Ensure.notNull(prefix);
+    Ensure.notNull(progress);
+
+    String directory = prefix.replaceAll("^/+|/+$", "");
+    CompletableFuture<Map<String, Image>> result;
+    Map<String, Source> sources = new TreeMap<>();
+    try {
+      Enumeration<URL> urls = getClass().getClassLoader().getResources(directory);
+      while (urls.hasMoreElements()) {
+        URL url = urls.nextElement();
+        if ("jar".equals(url.getProtocol())) {
+          collectJarEntries((JarURLConnection) url.openConnection(), directory, sources);
+        } else {
+          collectFiles(Paths.get(url.toURI()), directory.isEmpty() ? "" : directory + "/",
+              sources);
+        }
+      }
+      result = loadAll(sources, progress);
+    } catch (IOException | URISyntaxException exception) {
+      result = new CompletableFuture<>();
+      result.completeExceptionally(exception);
+    }
+    return result;
+  }
+
+  private CompletableFuture<Map<String, Image>> loadAll(final Map<String, Source> sources,
+      final BiConsumer<Integer, Integer> progress) {
+    Map<String, Image> images = new ConcurrentHashMap<>();
+    AtomicInteger processed = new AtomicInteger();
+    int total = sources.size();
+
+    CompletableFuture<?>[] loads = sources.entrySet().stream()
+        .map(source -> CompletableFuture.runAsync(() -> {
+          try {
+            decode(source.getKey(), source.getValue())
+                .ifPresent(image -> images.put(source.getKey(), image));
+          } finally {
+            progress.accept(processed.incrementAndGet(), total);
+          }
+        }, getExecutor()))
+        .toArray(CompletableFuture<?>[]::new);
+
+    return CompletableFuture.allOf(loads)
+        .thenApply(ignored -> Collections.unmodifiableMap(new TreeMap<>(images)));
+  }
+
+  private Optional<Image> decode(final String name, final Source source) {
+    Optional<Image> result = Optional.empty();
+    byte[] buffer = getBufferPool().acquire();
+    try (InputStream inputStream = source.open()) {
+      int length = 0;
+      int read = 0;
+      while (read >= 0) {
+        if (length == buffer.length) {
+          buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        read = inputStream.read(buffer, length, buffer.length - length);
+        length += Math.max(read, 0);
+      }
+      BufferedImage image = ImageIO.read(new ByteArrayInputStream(buffer, 0, length));
+      if (image == null) {
+        getLogger().error("The format of " + name + " is not supported");
+      } else {
+        result = Optional.of(new Image(image));
+      }
+    } catch (IOException exception) {
+      getLogger().error(exception.getMessage());
+    } finally {
+      getBufferPool().release(buffer);
+    }
+    return result;
+  }
+
+  private void collectFiles(final Path root, final String prefix,
+                            final Map<String, Source> sources) throws IOException {
+    try (Stream<Path> files = Files.walk(root)) {
+      files.filter(Files::isRegularFile)
+          .filter(file -> isImage(file.getFileName().toString()))
+          .forEach(file -> sources.put(prefix + root.relativize(file).toString()
+              .replace(file.getFileSystem().getSeparator(), "/"),
+              () -> Files.newInputStream(file)));
+    }
+  }
+
+  private void collectJarEntries(final JarURLConnection connection, final String directory,
+                                 final Map<String, Source> sources) throws IOException {
+    connection.setUseCaches(false);
+    String prefix = directory.isEmpty() ? "" : directory + "/";
+    Set<String> names = new HashSet<>();
+    try (JarFile jar = connection.getJarFile()) {
+      Enumeration<JarEntry> entries = jar.entries();
+      while (entries.hasMoreElements()) {
+        JarEntry entry = entries.nextElement();
+        if (!entry.isDirectory() && entry.getName().startsWith(prefix)
+            && isImage(entry.getName())) {
+          names.add(entry.getName());
+        }
+      }
+    }
+    for (String name : names) {
+      sources.put(name, () -> {
+        InputStream inputStream = getClass().getClassLoader().getResourceAsStream(name);
+        if (inputStream == null) {
+          throw new IOException("The resource " + name + " is not available");
+        }
+        return inputStream;
+      });
+    }
+  }
+
+  private boolean isImage(final String name) {
+    int dot = name.lastIndexOf('.');
+    return dot >= 0 && Defaults.SUFFIXES.contains(name.substring(dot).toLowerCase(Locale.ROOT));
+  }
+
+
+  @FunctionalInterface
+  private interface Source {
+    InputStream open() throws IOException;
+  }
+
+  /**
+   * Lazily created defaults, the daemon threads of the pool do not block the exit.
+   */
+  private static final class Defaults {
+    private static final Set<String> SUFFIXES = Arrays.stream(ImageIO.getReaderFileSuffixes())
+        .map(suffix -> "." + suffix.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors(), runnable -> {
+          Thread thread = new Thread(runnable, "ImageLoader");
+          thread.setDaemon(true);
+          return thread;
+        });
+    private static final DecodeBufferPool BUFFER_POOL = new DecodeBufferPool(
+        Runtime.getRuntime().availableProcessors(), DecodeBufferPool.DEFAULT_BUFFER_SIZE);
+  }
 }
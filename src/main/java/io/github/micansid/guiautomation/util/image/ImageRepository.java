@@ -0,0 +1,211 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Cache of pattern images. The images are held by soft references in a LRU map, which is bounded
+ * by the pixel bytes of the images. The least recently used images are evicted when the bound is
+ * exceeded, and the garbage collector can clear any cached image under memory pressure.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class ImageRepository {
+  private final long maximumBytes;
+  private final ImageLoader loader;
+  private final Map<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final ReferenceQueue<Image> collectedImages = new ReferenceQueue<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder collections = new LongAdder();
+  private long bytes = 0;
+
+  public ImageRepository(final long maximumBytes) {
+    this(maximumBytes, new ImageLoader());
+  }
+
+  /**
+   * Create an empty repository.
+   * @param maximumBytes maximum of the pixel bytes of all cached images, 4 bytes per pixel
+   * @param loader       which loads resources and files
+   */
+  public ImageRepository(final long maximumBytes, final ImageLoader loader) {
+    Ensure.notNegative(maximumBytes);
+    Ensure.notNull(loader);
+    this.maximumBytes = maximumBytes;
+    this.loader = loader;
+  }
+
+  /**
+   * Memoize a supplier, it is only called if its image is not cached.
+   * @param supplier of the image
+   * @return supplier of the cached image
+   */
+  public Supplier<Image> cached(final Supplier<Image> supplier) {
+    Ensure.notNull(supplier);
+    return () -> get(supplier, supplier);
+  }
+
+  /**
+   * Supplier of an image from the resources directory.
+   * @param path of the image
+   * @return supplier of the cached image, which throws an exception if the image is not available
+   */
+  public Supplier<Image> resource(final String path) {
+    Ensure.notBlank(path);
+    return () -> get("resource:" + path, () -> getLoader().loadFromResources(path)
+        .orElseThrow(() -> new RuntimeException("The image " + path + " could not be loaded")));
+  }
+
+  /**
+   * Supplier of an image from the file system.
+   * @param path of the image
+   * @return supplier of the cached image, which throws an exception if the image is not available
+   */
+  public Supplier<Image> file(final String path) {
+    Ensure.notBlank(path);
+    return () -> get("file:" + path, () -> getLoader().load(path)
+        .orElseThrow(() -> new RuntimeException("The image " + path + " could not be loaded")));
+  }
+
+  /**
+   * The cached image of the key or the image of the loader, which is cached afterwards. The loader
+   * is called without holding a lock, so concurrent misses of the same key may both load.
+   * @param key    of the image
+   * @param loader of the image, if it is not cached
+   * @return image of the key
+   */
+  public Image get(final Object key, final Supplier<Image> loader) {
+    Ensure.notNull(key);
+    Ensure.notNull(loader);
+
+    Image result = cachedImage(key);
+    if (result == null) {
+      getMisses().increment();
+      result = loader.get();
+      Ensure.notNull(result);
+      put(key, result);
+    } else {
+      getHits().increment();
+    }
+    return result;
+  }
+
+  public long hits() {
+    return getHits().sum();
+  }
+
+  public long misses() {
+    return getMisses().sum();
+  }
+
+  /**
+   * Number of images which were evicted to stay below the maximum bytes.
+   * @return number of evictions
+   */
+  public long evictions() {
+    return getEvictions().sum();
+  }
+
+  /**
+   * Number of images which were cleared by the garbage collector.
+   * @return number of collections
+   */
+  public long collections() {
+    return getCollections().sum();
+  }
+
+  public double hitRate() {
+    long requests = hits() + misses();
+    return requests == 0 ? 0 : ((double) hits()) / requests;
+  }
+
+  public synchronized int size() {
+    purgeCollected();
+    return getEntries().size();
+  }
+
+  public synchronized long bytes() {
+    purgeCollected();
+    return bytes;
+  }
+
+  /**
+   * Remove all cached images, the statistics are kept.
+   */
+  public synchronized void clear() {
+    getEntries().clear();
+    bytes = 0;
+  }
+
+  @Override
+  public String toString() {
+    return "ImageRepository - images: " + size() + ", bytes: " + bytes() + ", hits: " + hits()
+        + ", misses: " + misses() + ", evictions: " + evictions() + ", collections: "
+        + collections();
+  }
+
+  private synchronized Image cachedImage(final Object key) {
+    purgeCollected();
+    Entry entry = getEntries().get(key);
+    return entry == null ? null : entry.get();
+  }
+
+  private synchronized void put(final Object key, final Image image) {
+    long imageBytes = (long) image.getWidth() * image.getHeight() * Integer.BYTES;
+    if (imageBytes <= getMaximumBytes()) {
+      remove(key);
+      getEntries().put(key, new Entry(key, image, imageBytes, getCollectedImages()));
+      bytes += imageBytes;
+
+      Iterator<Entry> eldest = getEntries().values().iterator();
+      while (bytes > getMaximumBytes()) {
+        Entry entry = eldest.next();
+        eldest.remove();
+        bytes -= entry.getBytes();
+        getEvictions().increment();
+      }
+    }
+  }
+
+  private void remove(final Object key) {
+    Entry entry = getEntries().remove(key);
+    if (entry != null) {
+      bytes -= entry.getBytes();
+    }
+  }
+
+  private void purgeCollected() {
+    Entry collected = (Entry) getCollectedImages().poll();
+    while (collected != null) {
+      // the key may already be cached again with a new entry
+      if (getEntries().get(collected.getKey()) == collected) {
+        remove(collected.getKey());
+        getCollections().increment();
+      }
+      collected = (Entry) getCollectedImages().poll();
+    }
+  }
+
+
+  @Getter(AccessLevel.PRIVATE)
+  private static class Entry extends SoftReference<Image> {
+    private final Object key;
+    private final long bytes;
+
+    Entry(final Object key, final Image image, final long bytes,
+          final ReferenceQueue<Image> queue) {
+      super(image, queue);
+      this.key = key;
+      this.bytes = bytes;
+    }
+  }
+}
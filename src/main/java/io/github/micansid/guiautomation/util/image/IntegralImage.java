@@ -0,0 +1,238 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Summed-area tables of the color channels of an image. The table of a channel is computed on the
+ * first query of the channel, then the sum and the sum of squares of any rectangle are read with
+ * four lookups. The tables have one row and one column more than the image and are stored as
+ * long arrays, so they need 16 bytes per pixel and channel.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class IntegralImage {
+  private final Image image;
+  private final int stride;
+  private final AtomicReferenceArray<Tables> tables =
+      new AtomicReferenceArray<>(Channel.values().length);
+
+  /**
+   * Color channel of a pixel.
+   */
+  public enum Channel {
+    RED(16), GREEN(8), BLUE(0), ALPHA(24);
+
+    private final int shift;
+
+    Channel(final int shift) {
+      this.shift = shift;
+    }
+
+    public int of(final int rgb) {
+      return (rgb >>> shift) & 0xFF;
+    }
+  }
+
+  IntegralImage(final Image image) {
+    Ensure.notNull(image);
+    this.image = image;
+    this.stride = image.getWidth() + 1;
+  }
+
+  /**
+   * Sum of the channel values in the rectangle.
+   * @param channel to sum up
+   * @param x       x-coordinate of the left upper pixel
+   * @param y       y-coordinate of the left upper pixel
+   * @param w       width of the rectangle
+   * @param h       height of the rectangle
+   * @return sum of the values
+   */
+  public long sum(final Channel channel, final int x, final int y, final int w, final int h) {
+    ensureRectangle(x, y, w, h);
+    return rectangle(sums(channel), x, y, w, h);
+  }
+
+  /**
+   * Sum of the squared channel values in the rectangle.
+   * @param channel to sum up
+   * @param x       x-coordinate of the left upper pixel
+   * @param y       y-coordinate of the left upper pixel
+   * @param w       width of the rectangle
+   * @param h       height of the rectangle
+   * @return sum of the squared values
+   */
+  public long sumOfSquares(final Channel channel, final int x, final int y, final int w,
+                           final int h) {
+    ensureRectangle(x, y, w, h);
+    return rectangle(squares(channel), x, y, w, h);
+  }
+
+  public double mean(final Channel channel, final int x, final int y, final int w, final int h) {
+    long pixels = (long) w * h;
+    return pixels == 0 ? 0 : ((double) sum(channel, x, y, w, h)) / pixels;
+  }
+
+  /**
+   * Variance of the channel values in the rectangle.
+   * @param channel of the values
+   * @param x       x-coordinate of the left upper pixel
+   * @param y       y-coordinate of the left upper pixel
+   * @param w       width of the rectangle
+   * @param h       height of the rectangle
+   * @return population variance of the values, 0 for an empty rectangle
+   */
+  public double variance(final Channel channel, final int x, final int y, final int w,
+                         final int h) {
+    long pixels = (long) w * h;
+    double result = 0;
+    if (pixels > 0) {
+      double mean = mean(channel, x, y, w, h);
+      result = Math.max(0, ((double) sumOfSquares(channel, x, y, w, h)) / pixels - mean * mean);
+    }
+    return result;
+  }
+
+  /**
+   * Window of a fixed size whose sums are read without a check of the position, for the inner
+   * loops of the finders. The window has to fit into the image at every queried position.
+   * @param channel of the values
+   * @param w       width of the window
+   * @param h       height of the window
+   * @return window of the channel
+   */
+  public Window window(final Channel channel, final int w, final int h) {
+    Ensure.notNegative(w);
+    Ensure.notNegative(h);
+    return new Window(tables(channel), getStride(), w, h);
+  }
+
+  private long rectangle(final long[] table, final int x, final int y, final int w,
+                         final int h) {
+    int top = y * getStride();
+    int bottom = (y + h) * getStride();
+    return table[bottom + x + w] - table[bottom + x] - table[top + x + w] + table[top + x];
+  }
+
+  private long[] sums(final Channel channel) {
+    return tables(channel).sums;
+  }
+
+  private long[] squares(final Channel channel) {
+    return tables(channel).squares;
+  }
+
+  /**
+   * Tables of the channel, computed on the first request. The tables are published only after
+   * both are filled, so another thread never reads a partially computed table.
+   */
+  private Tables tables(final Channel channel) {
+    Ensure.notNull(channel);
+    Tables result = getTables().get(channel.ordinal());
+    if (result == null) {
+      result = compute(channel);
+    }
+    return result;
+  }
+
+  /**
+   * Compute both tables of the channel, row by row with a running row sum.
+   */
+  private synchronized Tables compute(final Channel channel) {
+    Tables result = getTables().get(channel.ordinal());
+    if (result == null) {
+      int width = getImage().getWidth();
+      int height = getImage().getHeight();
+      long[] sum = new long[getStride() * (height + 1)];
+      long[] square = new long[getStride() * (height + 1)];
+      int[] row = new int[width];
+      for (int y = 0; y < height; y++) {
+        getImage().getRgb(0, y, width, 1, row, 0, width);
+        long rowSum = 0;
+        long rowSquare = 0;
+        int above = y * getStride();
+        int current = above + getStride();
+        for (int x = 0; x < width; x++) {
+          long value = channel.of(row[x]);
+          rowSum += value;
+          rowSquare += value * value;
+          sum[current + x + 1] = sum[above + x + 1] + rowSum;
+          square[current + x + 1] = square[above + x + 1] + rowSquare;
+        }
+      }
+      result = new Tables(sum, square);
+      getTables().set(channel.ordinal(), result);
+    }
+    return result;
+  }
+
+  private void ensureRectangle(final int x, final int y, final int w, final int h) {
+    Ensure.notNegative(x);
+    Ensure.notNegative(y);
+    Ensure.notNegative(w);
+    Ensure.notNegative(h);
+    Ensure.smallerOrEqual((long) x + w, getImage().getWidth());
+    Ensure.smallerOrEqual((long) y + h, getImage().getHeight());
+  }
+
+
+  /**
+   * Sums of the rectangles of one size and channel. The offsets of the corners are computed once.
+   */
+  public static final class Window {
+    private final long[] sums;
+    private final long[] squares;
+    private final int stride;
+    private final int width;
+    private final int bottom;
+
+    private Window(final Tables tables, final int stride, final int width, final int height) {
+      this.sums = tables.sums;
+      this.squares = tables.squares;
+      this.stride = stride;
+      this.width = width;
+      this.bottom = height * stride;
+    }
+
+    /**
+     * Sum of the channel values in the window.
+     * @param x x-coordinate of the left upper pixel
+     * @param y y-coordinate of the left upper pixel
+     * @return sum of the values
+     */
+    public long sum(final int x, final int y) {
+      return rectangle(sums, y * stride + x);
+    }
+
+    /**
+     * Sum of the squared channel values in the window.
+     * @param x x-coordinate of the left upper pixel
+     * @param y y-coordinate of the left upper pixel
+     * @return sum of the squared values
+     */
+    public long sumOfSquares(final int x, final int y) {
+      return rectangle(squares, y * stride + x);
+    }
+
+    private long rectangle(final long[] table, final int top) {
+      int lower = top + bottom;
+      return table[lower + width] - table[lower] - table[top + width] + table[top];
+    }
+  }
+
+
+  /**
+   * Summed-area tables of one channel.
+   */
+  private static class Tables {
+    private final long[] sums;
+    private final long[] squares;
+
+    Tables(final long[] sums, final long[] squares) {
+      this.sums = sums;
+      this.squares = squares;
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Pattern archive written by the PatternArchiveWriter and mapped into memory. Only the index is
+ * read on construction. The pixels of a pattern are not decoded or copied, each Image reads them
+ * from the mapped file through a BufferPixelStorage. The Image of a pattern is created on the
+ * first request and reused, so the caches of the finders and of the Image stay valid. An archive
+ * is limited to 2GB.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class PatternArchive {
+  private final MappedByteBuffer buffer;
+  private final Map<String, Entry> entries;
+  private final Map<String, Image> images = new ConcurrentHashMap<>();
+
+  /**
+   * Map the archive and read its index.
+   * @param path of the archive
+   */
+  public PatternArchive(final Path path) {
+    Ensure.notNull(path);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } catch (IOException exception) {
+      throw new RuntimeException(exception);
+    }
+    entries = Collections.unmodifiableMap(readIndex(buffer.duplicate(), path));
+  }
+
+  public Set<String> names() {
+    return getEntries().keySet();
+  }
+
+  public int size() {
+    return getEntries().size();
+  }
+
+  public boolean contains(final String name) {
+    return getEntries().containsKey(name);
+  }
+
+  /**
+   * Metadata of a pattern, available without reading its pixels.
+   * @param name of the pattern
+   * @return metadata of the pattern or an empty optional if the archive does not contain the name
+   */
+  public Optional<Entry> entry(final String name) {
+    Ensure.notNull(name);
+    return Optional.ofNullable(getEntries().get(name));
+  }
+
+  /**
+   * The pattern backed by the mapped archive.
+   * @param name of the pattern
+   * @return the pattern or an empty optional if the archive does not contain the name
+   */
+  public Optional<Image> get(final String name) {
+    return entry(name).map(entry -> getImages().computeIfAbsent(name, key -> image(entry)));
+  }
+
+  /**
+   * Supplier of a pattern for the Screen API, which returns the same Image instance each time.
+   * @param name of the pattern, has to be contained in the archive
+   * @return supplier of the pattern
+   */
+  public Supplier<Image> supplier(final String name) {
+    Ensure.notNull(name);
+    if (!contains(name)) {
+      throw new IllegalArgumentException("ENSURE: The archive does not contain " + name);
+    }
+    return () -> get(name).get();
+  }
+
+  private Image image(final Entry entry) {
+    ByteBuffer pixels = getBuffer().duplicate();
+    pixels.position((int) entry.getPosition());
+    pixels.limit((int) entry.getPosition() + entry.getWidth() * entry.getHeight() * Integer.BYTES);
+    return new Image(new BufferPixelStorage(pixels.slice().asIntBuffer()), entry.getWidth(),
+        entry.getHeight());
+  }
+
+  private static Map<String, Entry> readIndex(final ByteBuffer index, final Path path) {
+    if (index.remaining() < PatternArchiveWriter.HEADER_BYTES
+        || index.getInt() != PatternArchiveWriter.MAGIC) {
+      throw new RuntimeException(path + " is not a pattern archive");
+    }
+    int version = index.getInt();
+    if (version != PatternArchiveWriter.VERSION) {
+      throw new RuntimeException("The version " + version + " of " + path + " is not supported");
+    }
+
+    int count = index.getInt();
+    Map<String, Entry> result = new HashMap<>(count * 2);
+    for (int number = 0; number < count; number++) {
+      byte[] name = new byte[index.getInt()];
+      index.get(name);
+      Entry entry = new Entry(index.getInt(), index.getInt(), index.getInt(), index.getInt(),
+          index.getLong());
+      if (entry.getPosition() + (long) entry.getWidth() * entry.getHeight() * Integer.BYTES
+          > index.capacity()) {
+        throw new RuntimeException("The archive " + path + " is truncated");
+      }
+      result.put(new String(name, StandardCharsets.UTF_8), entry);
+    }
+    return result;
+  }
+
+
+  /**
+   * Metadata of a pattern in the archive.
+   */
+  @Getter(AccessLevel.PUBLIC)
+  public static class Entry {
+    private final int width;
+    private final int height;
+    private final int opaquePixels;
+    private final int distinctColors;
+    @Getter(AccessLevel.PRIVATE)
+    private final long position;
+
+    Entry(final int width, final int height, final int opaquePixels, final int distinctColors,
+          final long position) {
+      this.width = width;
+      this.height = height;
+      this.opaquePixels = opaquePixels;
+      this.distinctColors = distinctColors;
+      this.position = position;
+    }
+
+    public boolean containsTransparent() {
+      return getOpaquePixels() < getWidth() * getHeight();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writer of pattern archives, which are read by the PatternArchive. The archive is big-endian and
+ * consists of a header, an index and the raw ARGB pixels of all patterns:
+ * <pre>
+ * header: magic, version, number of patterns (int each)
+ * index:  per pattern name length (int), name (UTF-8), width, height, opaque pixels,
+ *         distinct opaque colors (int each), byte position of the pixels (long)
+ * pixels: per pattern width * height ARGB ints
+ * </pre>
+ */
+@Getter(AccessLevel.PRIVATE)
+public class PatternArchiveWriter {
+  static final int MAGIC = 0x47415041;
+  static final int VERSION = 1;
+  static final int HEADER_BYTES = 3 * Integer.BYTES;
+  static final int ENTRY_BYTES = 5 * Integer.BYTES + Long.BYTES;
+
+  private final Logger logger = LoggerFactory.getLogger(getClass());
+  private final Map<String, Image> patterns = new LinkedHashMap<>();
+
+  /**
+   * Add a pattern to the archive.
+   * @param name    unique name of the pattern
+   * @param pattern to add
+   * @return this for fluent interface
+   */
+  public PatternArchiveWriter add(final String name, final Image pattern) {
+    Ensure.notBlank(name);
+    Ensure.notNull(pattern);
+    if (getPatterns().containsKey(name)) {
+      throw new IllegalArgumentException("ENSURE: The pattern " + name + " is already added");
+    }
+    getPatterns().put(name, pattern);
+    return this;
+  }
+
+  /**
+   * Write the archive to the disk.
+   * @param path of the archive
+   * @return result of the export as a boolean
+   */
+  public boolean write(final Path path) {
+    Ensure.notNull(path);
+    boolean result = false;
+
+    long position = HEADER_BYTES;
+    for (String name : getPatterns().keySet()) {
+      position += ENTRY_BYTES + name.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    try (DataOutputStream output = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(path)))) {
+      output.writeInt(MAGIC);
+      output.writeInt(VERSION);
+      output.writeInt(getPatterns().size());
+
+      for (Map.Entry<String, Image> entry : getPatterns().entrySet()) {
+        byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+        Image pattern = entry.getValue();
+        output.writeInt(name.length);
+        output.write(name);
+        output.writeInt(pattern.getWidth());
+        output.writeInt(pattern.getHeight());
+        writeMetadata(output, pattern);
+        output.writeLong(position);
+        position += (long) pattern.getWidth() * pattern.getHeight() * Integer.BYTES;
+      }
+
+      for (Image pattern : getPatterns().values()) {
+        for (int rgb : pattern.getRgbData()) {
+          output.writeInt(rgb);
+        }
+      }
+      result = true;
+    } catch (IOException exception) {
+      getLogger().error(exception.getMessage());
+    }
+    return result;
+  }
+
+  private void writeMetadata(final DataOutputStream output, final Image pattern)
+      throws IOException {
+    int opaque = 0;
+    Set<Integer> colors = new HashSet<>();
+    for (int rgb : pattern.getRgbData()) {
+      if ((rgb >>> 24) != 0) {
+        opaque++;
+        colors.add(rgb);
+      }
+    }
+    output.writeInt(opaque);
+    output.writeInt(colors.size());
+  }
+}
@@ -0,0 +1,68 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+
+/**
+ * Storage of the RGB information of an Image, row by row. The storage is never modified after it
+ * is passed to an Image. Two storages are equal if they contain the same values, independent of
+ * where the values are stored.
+ */
+public abstract class PixelStorage {
+
+  /**
+   * Number of stored pixels.
+   * @return number of pixels
+   */
+  public abstract int size();
+
+  /**
+   * RGB value of a pixel.
+   * @param index of the pixel
+   * @return RGB value
+   */
+  public abstract int get(int index);
+
+  /**
+   * Copy a range of pixels into an array.
+   * @param index  of the first pixel
+   * @param target array to copy into
+   * @param offset index of the first pixel in the target
+   * @param length number of pixels to copy
+   */
+  public abstract void get(int index, int[] target, int offset, int length);
+
+  protected void ensureRange(final int index, final int[] target, final int offset,
+                             final int length) {
+    Ensure.notNull(target);
+    Ensure.notNegative(index);
+    Ensure.notNegative(offset);
+    Ensure.notNegative(length);
+    Ensure.smallerOrEqual((long) index + length, size());
+    Ensure.smallerOrEqual((long) offset + length, target.length);
+  }
+
+  @Override
+  public boolean equals(final Object object) {
+    boolean result = this == object;
+    if (!result && object instanceof PixelStorage && ((PixelStorage) object).size() == size()) {
+      PixelStorage other = (PixelStorage) object;
+      result = true;
+      for (int index = 0; index < size() && result; index++) {
+        result = get(index) == other.get(index);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Hash of the values, equal to Arrays.hashCode() of the pixels.
+   */
+  @Override
+  public int hashCode() {
+    int result = 1;
+    for (int index = 0; index < size(); index++) {
+      result = 31 * result + get(index);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,101 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Minimal PNG encoder for 8 bit RGBA images with an explicit deflate level. The rows are written
+ * without a filter, which is the cheapest encoding and works on every Java version, unlike the
+ * compression settings of the ImageIO PNG writer.
+ */
+@Getter(AccessLevel.PRIVATE)
+class PngEncoder {
+  private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+  private static final int COLOR_TYPE_RGBA = 6;
+
+  private final int level;
+
+  /**
+   * Create an encoder.
+   * @param level of the deflate compression from Deflater.NO_COMPRESSION to
+   *              Deflater.BEST_COMPRESSION
+   */
+  PngEncoder(final int level) {
+    Ensure.greaterOrEqual(level, Deflater.NO_COMPRESSION);
+    Ensure.smallerOrEqual(level, Deflater.BEST_COMPRESSION);
+    this.level = level;
+  }
+
+  /**
+   * Write the image as PNG.
+   * @param argb   pixels row by row
+   * @param width  of the image
+   * @param height of the image
+   * @param output to write to, is not closed
+   * @throws IOException if the output can't be written
+   */
+  void encode(final int[] argb, final int width, final int height, final OutputStream output)
+      throws IOException {
+    Ensure.notNull(argb);
+    Ensure.notNull(output);
+    Ensure.equal((long) width * height, argb.length);
+
+    DataOutputStream data = new DataOutputStream(output);
+    data.write(SIGNATURE);
+
+    ByteArrayOutputStream header = new ByteArrayOutputStream();
+    DataOutputStream headerData = new DataOutputStream(header);
+    headerData.writeInt(width);
+    headerData.writeInt(height);
+    headerData.writeByte(8);
+    headerData.writeByte(COLOR_TYPE_RGBA);
+    headerData.writeByte(0);
+    headerData.writeByte(0);
+    headerData.writeByte(0);
+    writeChunk(data, "IHDR", header.toByteArray());
+
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    Deflater deflater = new Deflater(getLevel());
+    try (DeflaterOutputStream deflate = new DeflaterOutputStream(compressed, deflater, 65_536)) {
+      byte[] row = new byte[1 + width * 4];
+      for (int y = 0; y < height; y++) {
+        // filter type 0 (none) in the first byte of the row
+        for (int x = 0; x < width; x++) {
+          int pixel = argb[y * width + x];
+          int index = 1 + x * 4;
+          row[index] = (byte) (pixel >> 16);
+          row[index + 1] = (byte) (pixel >> 8);
+          row[index + 2] = (byte) pixel;
+          row[index + 3] = (byte) (pixel >>> 24);
+        }
+        deflate.write(row);
+      }
+    } finally {
+      deflater.end();
+    }
+    writeChunk(data, "IDAT", compressed.toByteArray());
+    writeChunk(data, "IEND", new byte[0]);
+    data.flush();
+  }
+
+  private static void writeChunk(final DataOutputStream output, final String type,
+                                 final byte[] content) throws IOException {
+    byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+    CRC32 crc = new CRC32();
+    crc.update(typeBytes);
+    crc.update(content);
+    output.writeInt(content.length);
+    output.write(typeBytes);
+    output.write(content);
+    output.writeInt((int) crc.getValue());
+  }
+}
@@ -0,0 +1,117 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Representation of an image with one byte per pixel, a quarter of the ARGB data. Equal pixels
+ * always have equal values, so a reduced representation can reject a position of a pattern, but
+ * a match has to be confirmed on the ARGB data. The alpha channel is ignored.
+ */
+@Getter(AccessLevel.PUBLIC)
+public class ReducedImage {
+  /**
+   * Minimal sum of the differences to the right and the lower neighbor of an edge pixel.
+   */
+  public static final int EDGE_THRESHOLD = 32;
+
+  private final Representation representation;
+  private final int width;
+  private final int height;
+  @Getter(AccessLevel.PRIVATE)
+  private final byte[] data;
+
+  /**
+   * Kind of a reduced representation.
+   */
+  public enum Representation {
+    /**
+     * Luma of the pixel, 0.299 red + 0.587 green + 0.114 blue.
+     */
+    GRAYSCALE,
+    /**
+     * Index of the pixel color in the palette of 3 bits red, 3 bits green and 2 bits blue.
+     */
+    QUANTIZED,
+    /**
+     * 1 if the grayscale value differs from the right and the lower neighbor by at least the
+     * EDGE_THRESHOLD, otherwise 0.
+     */
+    EDGES
+  }
+
+  ReducedImage(final Image image, final Representation representation) {
+    Ensure.notNull(image);
+    Ensure.notNull(representation);
+    this.representation = representation;
+    width = image.getWidth();
+    height = image.getHeight();
+    data = new byte[width * height];
+
+    if (representation == Representation.EDGES) {
+      edges(image.reduced(Representation.GRAYSCALE));
+    } else {
+      int[] row = new int[width];
+      for (int y = 0; y < height; y++) {
+        image.getRgb(0, y, width, 1, row, 0, width);
+        for (int x = 0; x < width; x++) {
+          data[y * width + x] = (byte) (representation == Representation.GRAYSCALE
+              ? gray(row[x]) : quantize(row[x]));
+        }
+      }
+    }
+  }
+
+  public int get(final int x, final int y) {
+    Ensure.notNegative(x);
+    Ensure.notNegative(y);
+    Ensure.smaller(x, getWidth());
+    Ensure.smaller(y, getHeight());
+    return get(y * getWidth() + x);
+  }
+
+  /**
+   * Value of a pixel without a check of the index, for the inner loops of the finders.
+   * @param index of the pixel, y * width + x
+   * @return value from 0 to 255
+   */
+  public int get(final int index) {
+    return getData()[index] & 0xFF;
+  }
+
+  /**
+   * Grayscale value of a color.
+   * @param rgb color
+   * @return value from 0 to 255
+   */
+  public static int gray(final int rgb) {
+    return (299 * ((rgb >> 16) & 0xFF) + 587 * ((rgb >> 8) & 0xFF) + 114 * (rgb & 0xFF))
+        / 1000;
+  }
+
+  /**
+   * Palette index of a color.
+   * @param rgb color
+   * @return value from 0 to 255
+   */
+  public static int quantize(final int rgb) {
+    return ((rgb >> 16) & 0xE0) | ((rgb >> 11) & 0x1C) | ((rgb >> 6) & 0x03);
+  }
+
+  private void edges(final ReducedImage gray) {
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int index = y * width + x;
+        int difference = 0;
+        if (x + 1 < width) {
+          difference += Math.abs(gray.get(index) - gray.get(index + 1));
+        }
+        if (y + 1 < height) {
+          difference += Math.abs(gray.get(index) - gray.get(index + width));
+        }
+        data[index] = (byte) (difference >= EDGE_THRESHOLD ? 1 : 0);
+      }
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package io.github.micansid.guiautomation.util.metric;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.util.function.LongSupplier;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Recorder of time intervals with constant memory. Instead of storing each interval, the
+ * recorder keeps the count, the total, min, max and a LatencyHistogram of the intervals. Recording
+ * doesn't lock and the values can be read concurrently.
+ * <pre>
+ *   long start = recorder.start();
+ *   // measured code
+ *   recorder.stop(start);
+ * </pre>
+ */
+@Getter(AccessLevel.PRIVATE)
+public class IntervalRecorder {
+  private final LongSupplier clock;
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+
+  /**
+   * IntervalRecorder with System::nanoTime as clock.
+   */
+  public IntervalRecorder() {
+    this(System::nanoTime);
+  }
+
+
+  /**
+   * IntervalRecorder with time units according the clock.
+   * @param clock supplier of a timing counter
+   */
+  public IntervalRecorder(final LongSupplier clock) {
+    Ensure.notNull(clock);
+    this.clock = clock;
+  }
+
+
+  /**
+   * Start an interval.
+   * @return current value of the clock which has to be passed to stop()
+   */
+  public long start() {
+    return getClock().getAsLong();
+  }
+
+
+  /**
+   * Stop an interval and record it.
+   * @param start value returned by start()
+   * @return duration of the interval
+   */
+  public long stop(final long start) {
+    long duration = getClock().getAsLong() - start;
+    record(duration);
+    return duration;
+  }
+
+
+  /**
+   * Record an interval which was measured elsewhere.
+   * @param duration of the interval
+   */
+  public void record(final long duration) {
+    getHistogram().record(duration);
+  }
+
+  public MetricSnapshot snapshot(final String name) {
+    return getHistogram().snapshot(name);
+  }
+
+  public long count() {
+    return getHistogram().count();
+  }
+
+  public long total() {
+    return getHistogram().total();
+  }
+
+  public void reset() {
+    getHistogram().reset();
+  }
+}
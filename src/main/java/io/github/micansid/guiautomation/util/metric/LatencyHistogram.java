@@ -0,0 +1,163 @@
+package io.github.micansid.guiautomation.util.metric;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Lock-free histogram of latencies with log-linear buckets, inspired by the HdrHistogram. Each
+ * power of two is divided into SUB_BUCKETS linear buckets, so the relative error of a recorded
+ * value is at most 1 / SUB_BUCKETS. Values are recorded with a single atomic increment.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class LatencyHistogram {
+  static final int SUB_BUCKET_BITS = 3;
+  static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder total = new LongAdder();
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+
+  /**
+   * Record a value. Negative values are recorded as 0.
+   * @param value to record
+   */
+  public void record(final long value) {
+    long recorded = value < 0 ? 0 : value;
+    getBuckets().incrementAndGet(bucketIndex(recorded));
+    getCount().increment();
+    getTotal().add(recorded);
+    updateMin(recorded);
+    updateMax(recorded);
+  }
+
+
+  public long count() {
+    return getCount().sum();
+  }
+
+  public long total() {
+    return getTotal().sum();
+  }
+
+
+  /**
+   * Reset all recorded values. Values recorded concurrently to the reset may get lost.
+   */
+  public void reset() {
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      getBuckets().set(index, 0);
+    }
+    getCount().reset();
+    getTotal().reset();
+    getMin().set(Long.MAX_VALUE);
+    getMax().set(Long.MIN_VALUE);
+  }
+
+
+  /**
+   * Create a consistent enough copy of the recorded values for reporting.
+   * @param name of the snapshot
+   * @return snapshot of the histogram
+   */
+  public MetricSnapshot snapshot(final String name) {
+    Ensure.notNull(name);
+    long[] counts = new long[BUCKET_COUNT];
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      counts[index] = getBuckets().get(index);
+    }
+    long currentCount = getCount().sum();
+    return new MetricSnapshot(name, currentCount, getTotal().sum(),
+        currentCount == 0 ? 0 : getMin().get(), currentCount == 0 ? 0 : getMax().get(), counts);
+  }
+
+  private void updateMin(final long value) {
+    long current = getMin().get();
+    while (value < current && !getMin().compareAndSet(current, value)) {
+      current = getMin().get();
+    }
+  }
+
+  private void updateMax(final long value) {
+    long current = getMax().get();
+    while (value > current && !getMax().compareAndSet(current, value)) {
+      current = getMax().get();
+    }
+  }
+
+
+  /**
+   * Index of the bucket which counts the value.
+   * @param value not negative value
+   * @return index of the bucket
+   */
+  public static int bucketIndex(final long value) {
+    int result;
+    if (value < SUB_BUCKETS) {
+      result = (int) value;
+    } else {
+      int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+      int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+      result = (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+    return result;
+  }
+
+
+  /**
+   * Highest value which is counted by the bucket.
+   * @param index of the bucket
+   * @return highest value of the bucket
+   */
+  public static long highestValueOf(final int index) {
+    Ensure.notNegative(index);
+    Ensure.smaller(index, BUCKET_COUNT);
+    long result;
+    if (index < SUB_BUCKETS) {
+      result = index;
+    } else {
+      int shift = index / SUB_BUCKETS - 1;
+      long lowest = ((long) (SUB_BUCKETS + index % SUB_BUCKETS)) << shift;
+      result = lowest + (1L << shift) - 1;
+    }
+    return result;
+  }
+
+
+  /**
+   * Calculate the percentile of the bucket counts.
+   * @param counts bucket counts of a histogram
+   * @param percentile between 0 and 100
+   * @return highest value of the bucket which contains the percentile or 0 if no value is counted
+   */
+  public static long percentile(final long[] counts, final double percentile) {
+    Ensure.notNull(counts);
+    Ensure.equal(counts.length, BUCKET_COUNT);
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("ENSURE: " + percentile + " is not a percentile");
+    }
+
+    long total = 0;
+    for (long bucket : counts) {
+      total += bucket;
+    }
+
+    long result = 0;
+    if (total > 0) {
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+      long seen = 0;
+      for (int index = 0; index < BUCKET_COUNT && seen < rank; index++) {
+        seen += counts[index];
+        result = highestValueOf(index);
+      }
+    }
+    return result;
+  }
+}
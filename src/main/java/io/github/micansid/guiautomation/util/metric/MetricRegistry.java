@@ -0,0 +1,215 @@
+package io.github.micansid.guiautomation.util.metric;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Registry of counters and latency histograms per operation. When the registry is disabled,
+ * start() doesn't read the clock and stop() returns immediately.
+ */
+@Getter(AccessLevel.PRIVATE)
+public class MetricRegistry implements MetricRegistryMXBean {
+  public static final String OBJECT_NAME = "io.github.micansid.guiautomation:type=MetricRegistry";
+
+  /**
+   * Start value returned by start() when the registry is disabled.
+   */
+  public static final long DISABLED = Long.MIN_VALUE;
+
+  private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+  @Getter(AccessLevel.PUBLIC)
+  private volatile boolean enabled = false;
+
+  @Override
+  public void setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+  }
+
+
+  /**
+   * Start the measurement of an operation.
+   * @return the start time which has to be passed to stop() or DISABLED
+   */
+  public long start() {
+    return isEnabled() ? System.nanoTime() : DISABLED;
+  }
+
+
+  /**
+   * Stop the measurement of an operation and record the latency.
+   * @param operation name of the operation
+   * @param start returned by start()
+   */
+  public void stop(final String operation, final long start) {
+    if (start != DISABLED) {
+      record(operation, System.nanoTime() - start);
+    }
+  }
+
+
+  /**
+   * Record the latency of an operation, even when the registry is disabled.
+   * @param operation name of the operation
+   * @param nanos latency of the operation
+   */
+  public void record(final String operation, final long nanos) {
+    Ensure.notNull(operation);
+    LatencyHistogram histogram = getHistograms().get(operation);
+    if (histogram == null) {
+      histogram = getHistograms().computeIfAbsent(operation, key -> new LatencyHistogram());
+    }
+    histogram.record(nanos);
+  }
+
+
+  /**
+   * Increment the counter of an event, when the registry is enabled.
+   * @param counter name of the event
+   */
+  public void increment(final String counter) {
+    Ensure.notNull(counter);
+    if (isEnabled()) {
+      LongAdder adder = getCounters().get(counter);
+      if (adder == null) {
+        adder = getCounters().computeIfAbsent(counter, key -> new LongAdder());
+      }
+      adder.increment();
+    }
+  }
+
+
+  /**
+   * Snapshot of all recorded operations.
+   * @return snapshots sorted by the operation name
+   */
+  public SortedMap<String, MetricSnapshot> snapshot() {
+    SortedMap<String, MetricSnapshot> result = new TreeMap<>();
+    for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+      result.put(entry.getKey(), entry.getValue().snapshot(entry.getKey()));
+    }
+    return result;
+  }
+
+
+  /**
+   * Snapshot of a recorded operation.
+   * @param operation name of the operation
+   * @return snapshot of the operation, with a count of 0 if nothing was recorded
+   */
+  public MetricSnapshot snapshot(final String operation) {
+    Ensure.notNull(operation);
+    LatencyHistogram histogram = getHistograms().get(operation);
+    return histogram == null ? new LatencyHistogram().snapshot(operation)
+        : histogram.snapshot(operation);
+  }
+
+
+  /**
+   * Current values of all counters.
+   * @return counter values sorted by the counter name
+   */
+  public SortedMap<String, Long> counters() {
+    SortedMap<String, Long> result = new TreeMap<>();
+    getCounters().forEach((name, adder) -> result.put(name, adder.sum()));
+    return result;
+  }
+
+  @Override
+  public String[] getOperationNames() {
+    return snapshot().keySet().toArray(new String[0]);
+  }
+
+  @Override
+  public long getCount(final String operation) {
+    return snapshot(operation).getCount();
+  }
+
+  @Override
+  public double getMean(final String operation) {
+    return snapshot(operation).mean();
+  }
+
+  @Override
+  public long getPercentile(final String operation, final double percentile) {
+    return snapshot(operation).percentile(percentile);
+  }
+
+  @Override
+  public long getMax(final String operation) {
+    return snapshot(operation).getMax();
+  }
+
+  @Override
+  public long getCounter(final String counter) {
+    Ensure.notNull(counter);
+    LongAdder adder = getCounters().get(counter);
+    return adder == null ? 0 : adder.sum();
+  }
+
+  @Override
+  public void reset() {
+    getHistograms().clear();
+    getCounters().clear();
+  }
+
+
+  /**
+   * Register the registry at the platform MBeanServer under OBJECT_NAME.
+   * @return true if the registry was registered, false if an MBean with this name already exists
+   */
+  public boolean registerMBean() {
+    boolean result = false;
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(this, name);
+        result = true;
+      }
+    } catch (JMException exception) {
+      throw new RuntimeException(exception);
+    }
+    return result;
+  }
+
+
+  /**
+   * Unregister the registry from the platform MBeanServer.
+   * @return true if the registry was unregistered
+   */
+  public boolean unregisterMBean() {
+    boolean result = false;
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+        result = true;
+      }
+    } catch (JMException exception) {
+      throw new RuntimeException(exception);
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder();
+    snapshot().values().forEach(snapshot -> result.append(snapshot).append('\n'));
+    counters().forEach((name, value) -> result.append(name).append(" - ").append(value)
+        .append('\n'));
+    return result.toString();
+  }
+}
@@ -0,0 +1,24 @@
+package io.github.micansid.guiautomation.util.metric;
+
+/**
+ * JMX view of a MetricRegistry. All time values are in nanoseconds.
+ */
+public interface MetricRegistryMXBean {
+  boolean isEnabled();
+
+  void setEnabled(boolean enabled);
+
+  String[] getOperationNames();
+
+  long getCount(String operation);
+
+  double getMean(String operation);
+
+  long getPercentile(String operation, double percentile);
+
+  long getMax(String operation);
+
+  long getCounter(String counter);
+
+  void reset();
+}
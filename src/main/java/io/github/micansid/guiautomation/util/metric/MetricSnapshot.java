@@ -0,0 +1,69 @@
+package io.github.micansid.guiautomation.util.metric;
+
+import io.github.micansid.guiautomation.util.helper.Ensure;
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Immutable copy of the values recorded for one operation. All time values are in nanoseconds.
+ */
+@Getter(AccessLevel.PUBLIC)
+public class MetricSnapshot {
+  private final String name;
+  private final long count;
+  private final long total;
+  private final long min;
+  private final long max;
+  @Getter(AccessLevel.PRIVATE)
+  private final long[] bucketCounts;
+
+  MetricSnapshot(final String name, final long count, final long total, final long min,
+                 final long max, final long[] bucketCounts) {
+    Ensure.notNull(name);
+    Ensure.notNegative(count);
+    Ensure.notNull(bucketCounts);
+    this.name = name;
+    this.count = count;
+    this.total = total;
+    this.min = min;
+    this.max = max;
+    this.bucketCounts = Arrays.copyOf(bucketCounts, bucketCounts.length);
+  }
+
+  public double mean() {
+    return getCount() == 0 ? 0 : ((double) getTotal()) / getCount();
+  }
+
+  /**
+   * Value of the percentile with the precision of the histogram buckets.
+   * @param percentile between 0 and 100
+   * @return value of the percentile, never greater than the max value
+   */
+  public long percentile(final double percentile) {
+    return Math.min(LatencyHistogram.percentile(getBucketCounts(), percentile), getMax());
+  }
+
+  /**
+   * Number of recorded operations per second of recorded time.
+   * @return throughput in operations per second or 0 if nothing was recorded
+   */
+  public double throughput() {
+    return getTotal() <= 0 ? 0 : getCount() * 1_000_000_000.0 / getTotal();
+  }
+
+  public long p50() {
+    return percentile(50);
+  }
+
+  public long p99() {
+    return percentile(99);
+  }
+
+  @Override
+  public String toString() {
+    return getName() + " - count: " + getCount() + ", mean: " + mean() + "ns, p50: " + p50()
+        + "ns, p99: " + p99() + "ns, max: " + getMax() + "ns, throughput: " + throughput()
+        + "/s";
+  }
+}
@@ -0,0 +1,41 @@
+package io.github.micansid.guiautomation.util.metric;
+
+/**
+ * Process wide MetricRegistry used by the instrumented control classes. The registry is disabled
+ * by default.
+ * <pre>
+ *   long start = Metrics.start();
+ *   // operation
+ *   Metrics.stop("operation", start);
+ * </pre>
+ */
+public final class Metrics {
+  private static final MetricRegistry REGISTRY = new MetricRegistry();
+
+  private Metrics() {
+  }
+
+  public static MetricRegistry registry() {
+    return REGISTRY;
+  }
+
+  public static void enable() {
+    REGISTRY.setEnabled(true);
+  }
+
+  public static void disable() {
+    REGISTRY.setEnabled(false);
+  }
+
+  public static long start() {
+    return REGISTRY.start();
+  }
+
+  public static void stop(final String operation, final long start) {
+    REGISTRY.stop(operation, start);
+  }
+
+  public static void increment(final String counter) {
+    REGISTRY.increment(counter);
+  }
+}
@@ -0,0 +1,62 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColorTileIndexTest {
+  private static final int BACKGROUND = 0xFFFFFFFF;
+  private static final int RED = 0xFFFF0000;
+
+  /**
+   * 8x8 image, white with one red pixel in the right lower 4x4 tile.
+   */
+  private Image image() {
+    int[] data = new int[64];
+    Arrays.fill(data, BACKGROUND);
+    data[6 * 8 + 5] = RED;
+    return new Image(data, 8, 8);
+  }
+
+  @Test
+  void tilesCoverTheImage() {
+    ColorTileIndex sut = new ColorTileIndex(new Image(new int[35], 7, 5), 4);
+
+    assertThat(sut.getColumns()).isEqualTo(2);
+    assertThat(sut.getRows()).isEqualTo(2);
+  }
+
+  @Test
+  void containsPresentColors() {
+    ColorTileIndex sut = new ColorTileIndex(image(), 4);
+
+    assertThat(sut.mayContain(4, 4, 7, 7, RED)).isTrue();
+    assertThat(sut.mayContain(0, 0, 7, 7, RED)).isTrue();
+    assertThat(sut.mayContain(0, 0, 0, 0, BACKGROUND)).isTrue();
+    assertThat(sut.mayContain(4, 4, 100, 100, BACKGROUND)).isTrue();
+  }
+
+  @Test
+  void rejectsTilesWithoutTheColor() {
+    ColorTileIndex sut = new ColorTileIndex(image(), 4);
+
+    assertThat(sut.mayContain(0, 0, 3, 7, RED)).isFalse();
+    assertThat(sut.mayContain(0, 0, 7, 3, RED)).isFalse();
+  }
+
+  @Test
+  void finderSearchesIndexedImage() {
+    Image image = image();
+    Image pattern = new Image(new int[] {RED}, 1, 1);
+    TileIndexFinder sut = new TileIndexFinder(4);
+
+    assertThat(new ColorTileIndex(image).indexes(image)).isTrue();
+    assertThat(new ColorTileIndex(image).indexes(image())).isFalse();
+    assertThat(sut.find(image, pattern)).contains(new Position(5, 6));
+    assertThat(sut.findAll(image, new Image(new int[] {BACKGROUND, RED}, 2, 1)))
+        .containsExactly(new Position(4, 6));
+  }
+}
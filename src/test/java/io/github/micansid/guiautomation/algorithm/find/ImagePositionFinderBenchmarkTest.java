@@ -5,6 +5,9 @@ import io.github.micansid.guiautomation.util.image.Image;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -12,6 +15,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
@@ -22,6 +26,7 @@ import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class ImagePositionFinderBenchmarkTest {
@@ -57,6 +62,9 @@ class ImagePositionFinderBenchmarkTest {
     Assertions.assertThat(finderBenchmark.find(TEST_IMAGE, TEST_IMAGE)).isPresent().contains(TEST_POSITION);
     assertThat(finderBenchmark.benchmarkResultNanoSeconds()).containsKeys(finder1.getClass(), finder2.getClass());
     assertThat(finderBenchmark.benchmarkResultMilliSeconds()).containsKeys(finder1.getClass(), finder2.getClass());
+    assertThat(finderBenchmark.benchmarkSnapshots()).containsKeys(finder1.getClass(), finder2.getClass());
+    assertThat(finderBenchmark.benchmarkSnapshots().get(finder1.getClass()).getCount()).isEqualTo(1);
+    assertThat(finderBenchmark.result()).contains("p50", "p99", "throughput");
     System.out.println(finderBenchmark);
   }
 
@@ -172,6 +180,75 @@ class ImagePositionFinderBenchmarkTest {
         .isInstanceOf(RuntimeException.class);
   }
 
+  @Test
+  void shadowModeReturnsPrimaryResultAndCountsMismatches() throws Exception {
+    ImagePositionFinder primary = mock(SimpleFinder.class);
+    ImagePositionFinder shadow = mock(ImagePositionFinder.class);
+    when(primary.find(TEST_IMAGE, TEST_IMAGE)).thenReturn(Optional.of(TEST_POSITION));
+    when(shadow.find(TEST_IMAGE, TEST_IMAGE)).thenReturn(Optional.of(new Position(1, 0)));
+    Path exportPath = Files.createDirectories(Paths.get("target",
+        "shadowMode_" + System.currentTimeMillis()));
+
+    ImagePositionFinderBenchmark finderBenchmark = new ImagePositionFinderBenchmark(
+        exportPath.toString(), 1, primary, shadow);
+
+    Assertions.assertThat(finderBenchmark.find(TEST_IMAGE, TEST_IMAGE)).contains(TEST_POSITION);
+    assertThat(finderBenchmark.shutdown(5_000)).isTrue();
+    assertThat(finderBenchmark.shadowMismatches()).isEqualTo(1);
+    assertThat(finderBenchmark.droppedShadowRuns()).isEqualTo(0);
+    assertThat(finderBenchmark.benchmarkSnapshots().get(shadow.getClass()).getCount()).isEqualTo(1);
+    try (Stream<Path> files = Files.list(exportPath)) {
+      assertThat(files.map(path -> path.getFileName().toString()))
+          .anyMatch(name -> name.endsWith("_image.png"))
+          .anyMatch(name -> name.endsWith("_pattern_0.png"))
+          .anyMatch(name -> name.endsWith(".txt"));
+    }
+  }
+
+  @Test
+  void shadowModeDropsReportsWhichCanNotBeWritten() throws Exception {
+    ImagePositionFinder primary = mock(SimpleFinder.class);
+    ImagePositionFinder shadow = mock(ImagePositionFinder.class);
+    when(primary.find(TEST_IMAGE, TEST_IMAGE)).thenReturn(Optional.of(TEST_POSITION));
+    when(shadow.find(TEST_IMAGE, TEST_IMAGE)).thenReturn(Optional.empty());
+    Path exportPath = Files.createDirectories(Paths.get("target",
+        "shadowReports_" + System.currentTimeMillis()));
+
+    ImagePositionFinderBenchmark finderBenchmark = new ImagePositionFinderBenchmark(
+        exportPath.toString(), 1, primary, shadow);
+    for (int call = 0; call < 200; call++) {
+      finderBenchmark.find(TEST_IMAGE, TEST_IMAGE);
+    }
+    assertThat(finderBenchmark.shutdown(30_000)).isTrue();
+
+    try (Stream<Path> files = Files.list(exportPath)) {
+      long reports = files.filter(path -> path.toString().endsWith(".txt")).count();
+      assertThat(reports + finderBenchmark.droppedReports())
+          .isEqualTo(finderBenchmark.shadowMismatches());
+    }
+  }
+
+  @Test
+  void shadowModeWithoutSamplesRunsOnlyPrimary() {
+    ImagePositionFinder primary = mock(SimpleFinder.class);
+    ImagePositionFinder shadow = mock(ImagePositionFinder.class);
+    when(primary.findAll(TEST_IMAGE, TEST_IMAGE)).thenReturn(Arrays.asList(TEST_POSITION));
+
+    ImagePositionFinderBenchmark finderBenchmark = new ImagePositionFinderBenchmark(
+        "target", 0, primary, shadow);
+
+    Assertions.assertThat(finderBenchmark.findAll(TEST_IMAGE, TEST_IMAGE)).containsExactly(TEST_POSITION);
+    assertThat(finderBenchmark.shutdown(5_000)).isTrue();
+    verifyNoInteractions(shadow);
+    assertThat(finderBenchmark.shadowMismatches()).isEqualTo(0);
+  }
+
+  @Test
+  void shadowModeWithInvalidSampleRate() {
+    assertThatThrownBy(() -> new ImagePositionFinderBenchmark("target", 1.5, new SimpleFinder(),
+        new BadCharacterFinder())).isInstanceOf(IllegalArgumentException.class);
+  }
+
   private ByteArrayOutputStream getOutContent() {
     return outContent;
   }
@@ -2,11 +2,13 @@ package io.github.micansid.guiautomation.algorithm.find;
 
 import io.github.micansid.guiautomation.util.Position;
 import io.github.micansid.guiautomation.util.image.Image;
+import io.github.micansid.guiautomation.util.image.ReducedImage.Representation;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.*;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -17,7 +19,17 @@ class ImagePositionFinderTest {
         new SimpleFinder(),
         new SimpleFinderStream(),
         new BadCharacterFinder(),
-        new ImagePositionFinderBenchmark(new SimpleFinder(), new BadCharacterFinder()));
+        new RowLaneFinder(),
+        new SparseFinder(),
+        new TileIndexFinder(),
+        new TileIndexFinder(7),
+        new StatisticsFinder(),
+        new ReducedFinder(),
+        new ReducedFinder(Representation.QUANTIZED),
+        new ReducedFinder(Representation.EDGES),
+        new MeteredImagePositionFinder(new SimpleFinder()),
+        new ImagePositionFinderBenchmark(new SimpleFinder(), new BadCharacterFinder()),
+        new ImagePositionFinderBenchmark(new SparseFinder(), new StatisticsFinder()));
   }
 
   @ParameterizedTest
@@ -113,6 +125,29 @@ class ImagePositionFinderTest {
   }
 
 
+  @ParameterizedTest
+  @MethodSource("finderProvider")
+  void streamPositionsOfUncheckedCheckboxes(final ImagePositionFinder finder) {
+    Image screen = FinderTestData.SCREEN.getImage();
+    Image pattern = FinderTestData.CHECKBOX_UNCHECKED.getImage();
+
+    assertThat(finder.stream(screen, pattern).collect(Collectors.toList()))
+        .isEqualTo(FinderTestData.CHECKBOX_UNCHECKED.getPositions());
+    assertThat(finder.stream(screen, pattern).parallel().collect(Collectors.toList()))
+        .isEqualTo(FinderTestData.CHECKBOX_UNCHECKED.getPositions());
+    assertThat(finder.stream(screen, pattern).limit(2).collect(Collectors.toList()))
+        .isEqualTo(FinderTestData.CHECKBOX_UNCHECKED.getPositions().subList(0, 2));
+    assertThat(finder.stream(screen, pattern).findFirst())
+        .contains(FinderTestData.CHECKBOX_UNCHECKED.getPositions().get(0));
+  }
+
+  @ParameterizedTest
+  @MethodSource("finderProvider")
+  void streamOfPatternLargerThanImageIsEmpty(final ImagePositionFinder finder) {
+    assertThat(finder.stream(FinderTestData.BUTTON_COMMIT.getImage(),
+        FinderTestData.SCREEN.getImage())).isEmpty();
+  }
+
   private void findFirstPositionOf(final ImagePositionFinder finder, final FinderTestData pattern) {
     assertThat(finder.at(FinderTestData.SCREEN.getImage(), pattern.getImage(),
         pattern.getPositions().get(0)))
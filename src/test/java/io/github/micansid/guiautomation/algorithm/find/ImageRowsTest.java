@@ -0,0 +1,22 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageRowsTest {
+  @Test
+  void rowsAreCopiedInStripes() {
+    int height = ImageRows.STRIPE_ROWS * 2 + 3;
+    Image image = new Image(IntStream.range(1, 2 * height + 1).toArray(), 2, height);
+    ImageRows sut = new ImageRows(image);
+
+    int[] data = sut.rows(1);
+    assertThat(data[2 * ImageRows.STRIPE_ROWS - 1]).isEqualTo(2 * ImageRows.STRIPE_ROWS);
+    assertThat(data[2 * ImageRows.STRIPE_ROWS]).isZero();
+
+    assertThat(sut.rows(height)).isSameAs(data).isEqualTo(image.getRgbData());
+  }
+}
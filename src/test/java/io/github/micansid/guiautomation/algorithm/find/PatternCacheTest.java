@@ -0,0 +1,39 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatternCacheTest {
+  @Test
+  void patternInstanceIsCompiledOnce() {
+    AtomicInteger compilations = new AtomicInteger();
+    PatternCache<SparsePattern> sut = new PatternCache<>(pattern -> {
+      compilations.incrementAndGet();
+      return new SparsePattern(pattern);
+    });
+    Image pattern = new Image(new int[] {-1}, 1, 1);
+
+    assertThat(sut.get(pattern)).isSameAs(sut.get(pattern));
+    assertThat(compilations).hasValue(1);
+    // an equal pattern instance is compiled again, the pixels are not compared
+    sut.get(new Image(new int[] {-1}, 1, 1));
+    assertThat(compilations).hasValue(2);
+  }
+
+  @Test
+  void leastRecentlyUsedPatternIsRemoved() {
+    PatternCache<SparsePattern> sut = new PatternCache<>(SparsePattern::new, 2);
+    Image first = new Image(new int[] {1}, 1, 1);
+    Image second = new Image(new int[] {2}, 1, 1);
+    SparsePattern compiled = sut.get(first);
+    sut.get(second);
+    sut.get(first);
+    sut.get(new Image(new int[] {3}, 1, 1));
+
+    assertThat(sut.size()).isEqualTo(2);
+    assertThat(sut.get(first)).isSameAs(compiled);
+  }
+}
@@ -0,0 +1,38 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.image.Image;
+import io.github.micansid.guiautomation.util.image.ReducedImage.Representation;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReducedFinderTest {
+  private static final int RED = 0xFFFF0000;
+  private static final int SIMILAR_RED = 0xFFFE0101;
+  private static final int WHITE = 0xFFFFFFFF;
+
+  @Test
+  void matchIsConfirmedOnTheArgbData() {
+    // both reds have the same grayscale and palette value
+    Image image = new Image(new int[] {SIMILAR_RED, WHITE, RED, WHITE}, 4, 1);
+    Image pattern = new Image(new int[] {RED, WHITE}, 2, 1);
+
+    for (Representation representation : Representation.values()) {
+      assertThat(new ReducedFinder(representation).findAll(image, pattern))
+          .containsExactly(new Position(2, 0));
+    }
+  }
+
+  @Test
+  void edgesNextToTransparentPixelsAreNotCompared() {
+    Image image = new Image(new int[] {
+        WHITE, WHITE, WHITE,
+        WHITE, WHITE, RED}, 3, 2);
+    // the edge of the left upper pixel depends on the transparent pixel below it
+    Image pattern = new Image(new int[] {WHITE, WHITE, 0, RED}, 2, 2);
+
+    assertThat(new ReducedFinder(Representation.EDGES).find(image, pattern))
+        .contains(new Position(1, 0));
+  }
+}
@@ -0,0 +1,51 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.image.Image;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SparsePatternTest {
+  private static final int RARE = 0xFF00FF00;
+  private static final int COMMON = 0xFFFF0000;
+  private static final int TRANSPARENT = 0x00FFFFFF;
+
+  @Test
+  void containsOnlyOpaquePixels() {
+    Image frame = FinderTestData.BUTTON_FRAME.get();
+    int opaque = 0;
+    for (int rgb : frame.getRgbData()) {
+      if ((rgb >>> 24) != 0) {
+        opaque++;
+      }
+    }
+
+    assertThat(new SparsePattern(frame).size()).isEqualTo(opaque).isLessThan(
+        frame.getWidth() * frame.getHeight());
+  }
+
+  @Test
+  void comparesRareColorsFirst() {
+    Image pattern = new Image(new int[] {COMMON, TRANSPARENT, COMMON, RARE}, 2, 2);
+    SparsePattern sut = new SparsePattern(pattern);
+
+    assertThat(sut.size()).isEqualTo(3);
+    assertThat(sut.offsets(5)).containsExactly(6, 0, 5);
+  }
+
+  @Test
+  void matchesIgnoreTransparentPixels() {
+    Image pattern = new Image(new int[] {COMMON, TRANSPARENT, COMMON, RARE}, 2, 2);
+    Image image = new Image(new int[] {
+        0, 0, 0,
+        0, COMMON, 1,
+        0, COMMON, RARE}, 3, 3);
+    SparsePattern sut = new SparsePattern(pattern);
+
+    assertThat(sut.matches(image.getRgbData(), 4, sut.offsets(3))).isTrue();
+    assertThat(sut.matches(image.getRgbData(), 0, sut.offsets(3))).isFalse();
+    assertThat(sut.at(image, 1, 1)).isTrue();
+    assertThat(sut.at(image, 0, 1)).isFalse();
+    assertThat(sut.at(image, 2, 2)).isFalse();
+  }
+}
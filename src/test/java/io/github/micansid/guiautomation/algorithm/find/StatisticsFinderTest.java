@@ -0,0 +1,59 @@
+package io.github.micansid.guiautomation.algorithm.find;
+
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatisticsFinderTest {
+  private static final int WHITE = 0xFFFFFFFF;
+  private static final int BLACK = 0xFF000000;
+
+  @Test
+  void opaquePatternNeedsEqualSums() {
+    Image image = new Image(new int[] {WHITE, BLACK, BLACK, WHITE}, 4, 1);
+    Image pattern = new Image(new int[] {WHITE, BLACK}, 2, 1);
+    StatisticsFinder.Statistics sut = new StatisticsFinder.Statistics(image.integralImage(),
+        pattern);
+
+    assertThat(sut.mayMatch(0, 0)).isTrue();
+    assertThat(sut.mayMatch(1, 0)).isFalse();
+    // equal sums, the order of the pixels is checked by the verification
+    assertThat(sut.mayMatch(2, 0)).isTrue();
+  }
+
+  @Test
+  void transparentPixelsWidenTheRange() {
+    int[] data = new int[6];
+    Arrays.fill(data, WHITE);
+    data[5] = BLACK;
+    Image image = new Image(data, 6, 1);
+    Image pattern = new Image(new int[] {0, 0, BLACK}, 3, 1);
+    StatisticsFinder.Statistics sut = new StatisticsFinder.Statistics(image.integralImage(),
+        pattern);
+
+    assertThat(sut.mayMatch(0, 0)).isFalse();
+    assertThat(sut.mayMatch(3, 0)).isTrue();
+    assertThat(new StatisticsFinder().findAll(image, pattern)).hasSize(1);
+  }
+
+  @Test
+  void benchmarkAgainstSparseFinder() {
+    ImagePositionFinderBenchmark benchmark = new ImagePositionFinderBenchmark(new SparseFinder(),
+        new StatisticsFinder());
+    Image screen = FinderTestData.SCREEN.getImage();
+
+    for (int run = 0; run < 3; run++) {
+      for (FinderTestData pattern : FinderTestData.values()) {
+        assertThat(benchmark.findAll(screen, pattern.getImage()))
+            .containsExactlyElementsOf(pattern.getPositions());
+      }
+    }
+    assertThat(benchmark.benchmarkSnapshots().get(StatisticsFinder.class).getCount())
+        .isEqualTo(3L * FinderTestData.values().length);
+    assertThat(benchmark.benchmarkSnapshots().get(SparseFinder.class).getCount())
+        .isEqualTo(3L * FinderTestData.values().length);
+    assertThat(benchmark.result()).contains("StatisticsFinder", "SparseFinder", "p99");
+  }
+}
@@ -1,6 +1,13 @@
 package io.github.micansid.guiautomation.control;
 
+import io.github.micansid.guiautomation.control.headless.VirtualCheckbox;
+import io.github.micansid.guiautomation.control.headless.VirtualDesktop;
+import io.github.micansid.guiautomation.control.screen.ScreenBuilder;
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.Section;
+import io.github.micansid.guiautomation.util.image.Image;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import org.junit.jupiter.api.Test;
 
@@ -244,4 +251,90 @@ class ActionBuilderTest {
         .isInstanceOf(RuntimeException.class)
         .hasMessageContaining("post condition");
   }
-}
\ No newline at end of file
+
+  private Controller countingController(final AtomicInteger captures) {
+    Image frame = new Image(new int[] {0xFF000000}, 1, 1);
+    return new ControllerBuilder()
+        .setScreen(new ScreenBuilder().setScreenSupplier(() -> {
+          captures.incrementAndGet();
+          return frame;
+        }).build())
+        .build();
+  }
+
+  @Test
+  void timedActionWaitsForPreCondition() {
+    AtomicInteger captures = new AtomicInteger();
+    AtomicInteger evaluations = new AtomicInteger();
+    AtomicInteger executions = new AtomicInteger();
+    Function<Controller, Integer> action = new ActionBuilder()
+        .precondition(controller -> evaluations.incrementAndGet() == 3)
+        .actionWithResult(controller -> executions.incrementAndGet())
+        .postconditionWithResult((controller, count) -> Optional.of(count))
+        .build(5_000, new BackoffPollStrategy(1));
+
+    assertThat(action.apply(countingController(captures))).isEqualTo(1);
+    assertThat(evaluations).hasValue(3);
+    assertThat(executions).hasValue(1);
+    assertThat(captures).hasValue(4);
+  }
+
+  @Test
+  void timedActionReadsTheScreenAfterItsInput() {
+    Section box = new Section(new Position(10, 10), 12, 12);
+    VirtualDesktop desktop = new VirtualDesktop(40, 40).add(new VirtualCheckbox(box, false));
+    Image unchecked = desktop.screenshot().getSubImage(box);
+    Image checked = new VirtualDesktop(40, 40).add(new VirtualCheckbox(box, true))
+        .screenshot().getSubImage(box);
+    Function<Controller, Boolean> action = new ActionBuilder()
+        .preconditionWithResult(controller -> controller.screen().positionOf(unchecked))
+        .actionWithResult((controller, position) -> {
+          controller.mouse().move(position).leftClick();
+          return controller.screen().positionOf(checked).isPresent();
+        })
+        .postconditionWithResult((controller, visible) -> Optional.of(visible))
+        .build(1_000, new BackoffPollStrategy(1));
+
+    assertThat(action.apply(desktop.controllerBuilder().build())).isTrue();
+  }
+
+  @Test
+  void timedActionWaitsForPostCondition() {
+    AtomicInteger evaluations = new AtomicInteger();
+    Function<Controller, Integer> action = new ActionBuilder()
+        .emptyPrecondition()
+        .action(controller -> {
+        })
+        .postconditionWithResult(controller -> evaluations.incrementAndGet() == 2
+            ? Optional.of(2) : Optional.empty())
+        .build(5_000, new BackoffPollStrategy(1, 4));
+
+    assertThat(action.apply(countingController(new AtomicInteger()))).isEqualTo(2);
+  }
+
+  @Test
+  void timedActionFailsAfterTimeout() {
+    AtomicInteger executions = new AtomicInteger();
+    Function<Controller, Boolean> action = new ActionBuilder()
+        .precondition(controller -> false)
+        .action(controller -> executions.incrementAndGet())
+        .emptyPostcondition()
+        .build(30, new BackoffPollStrategy(5));
+
+    assertThatThrownBy(() -> action.apply(countingController(new AtomicInteger())))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("pre condition");
+    assertThat(executions).hasValue(0);
+  }
+
+  @Test
+  void backoffPollStrategyDoublesUpToMaximum() {
+    PollStrategy sut = new BackoffPollStrategy(10, 50);
+
+    assertThat(sut.interval(0)).isEqualTo(10);
+    assertThat(sut.interval(1)).isEqualTo(20);
+    assertThat(sut.interval(2)).isEqualTo(40);
+    assertThat(sut.interval(3)).isEqualTo(50);
+    assertThat(sut.interval(100)).isEqualTo(50);
+  }
+}
@@ -0,0 +1,99 @@
+package io.github.micansid.guiautomation.control;
+
+import io.github.micansid.guiautomation.control.headless.VirtualButton;
+import io.github.micansid.guiautomation.control.headless.VirtualCheckbox;
+import io.github.micansid.guiautomation.control.headless.VirtualDesktop;
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.Section;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActionChainTest {
+  private static final Section FIRST = new Section(new Position(10, 10), 30, 20);
+  private static final Section SECOND = new Section(new Position(60, 10), 30, 20);
+  private static final Section CHECKBOX = new Section(new Position(10, 50), 12, 12);
+
+  private final VirtualButton first = new VirtualButton(FIRST, 0xFF3366CC);
+  private final VirtualButton second = new VirtualButton(SECOND, 0xFFCC6633);
+  private final VirtualCheckbox checkbox = new VirtualCheckbox(CHECKBOX, false);
+  private final VirtualDesktop desktop = new VirtualDesktop(120, 80)
+      .add(first).add(second).add(checkbox);
+  private final Controller controller = desktop.controllerBuilder().build();
+
+  private Position click(final Controller controller, final Position position) {
+    controller.mouse().move(position).leftClick();
+    return position;
+  }
+
+  @Test
+  void runStepsWithPrefetchedPositions() {
+    Image firstPattern = desktop.screenshot().getSubImage(FIRST);
+    Image secondPattern = desktop.screenshot().getSubImage(SECOND);
+    ActionChain sut = new ActionChain()
+        .add(firstPattern, this::click, controller -> first.getClicks() == 1)
+        .add(secondPattern, this::click, controller -> second.getClicks() == 1);
+
+    List<Object> results = sut.run(controller, 1_000, new BackoffPollStrategy(1));
+    assertThat(results).containsExactly(new Position(25, 20), new Position(75, 20));
+    assertThat(sut.hits()).isEqualTo(1);
+    assertThat(sut.misses()).isZero();
+  }
+
+  @Test
+  void prefetchPatternWhichAppearsAfterTheAction() {
+    Image unchecked = desktop.screenshot().getSubImage(CHECKBOX);
+    Image checked = new VirtualDesktop(120, 80).add(new VirtualCheckbox(CHECKBOX, true))
+        .screenshot().getSubImage(CHECKBOX);
+    ActionChain sut = new ActionChain()
+        .add(unchecked, this::click, controller -> checkbox.isChecked())
+        .add(checked, this::click, controller -> !checkbox.isChecked());
+
+    sut.run(controller, 1_000, new BackoffPollStrategy(1));
+    assertThat(checkbox.isChecked()).isFalse();
+    assertThat(desktop.events()).isEqualTo(6);
+    assertThat(sut.hits()).isEqualTo(1);
+  }
+
+  @Test
+  void failWhenPatternIsMissing() {
+    Image missing = new Image(new int[] {0xFF123456}, 1, 1);
+    ActionChain sut = new ActionChain().add(missing, this::click, controller -> true);
+
+    assertThatThrownBy(() -> sut.run(controller, 20, new BackoffPollStrategy(5)))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("pre condition of the step 0");
+  }
+
+  @Test
+  void failWhenPostConditionIsNotFulfilled() {
+    Image firstPattern = desktop.screenshot().getSubImage(FIRST);
+    ActionChain sut = new ActionChain()
+        .add(firstPattern, this::click, controller -> false)
+        .add(firstPattern, this::click, controller -> true);
+
+    assertThatThrownBy(() -> sut.run(controller, 20, new BackoffPollStrategy(5)))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("post condition of the step 0");
+    assertThat(first.getClicks()).isEqualTo(1);
+  }
+
+  @Test
+  void searchAfterPrefetchUsesTheRemainingTimeout() {
+    Image firstPattern = desktop.screenshot().getSubImage(FIRST);
+    Image missing = new Image(new int[] {0xFF123456}, 1, 1);
+    ActionChain sut = new ActionChain()
+        .add(firstPattern, this::click, controller -> true)
+        .add(missing, this::click, controller -> true);
+
+    long start = System.currentTimeMillis();
+    assertThatThrownBy(() -> sut.run(controller, 1_000, new BackoffPollStrategy(5)))
+        .hasMessageContaining("pre condition of the step 1");
+    // the prefetch waits for the whole timeout, a second search would take another one
+    assertThat(System.currentTimeMillis() - start).isLessThan(1_800);
+    assertThat(sut.misses()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,124 @@
+package io.github.micansid.guiautomation.control;
+
+import io.github.micansid.guiautomation.control.headless.VirtualButton;
+import io.github.micansid.guiautomation.control.headless.VirtualDesktop;
+import io.github.micansid.guiautomation.control.headless.VirtualTextField;
+import io.github.micansid.guiautomation.control.keyboard.Key;
+import io.github.micansid.guiautomation.control.mouse.Mouse;
+import io.github.micansid.guiautomation.control.mouse.MouseButton;
+import io.github.micansid.guiautomation.control.mouse.MouseCommandExecutor;
+import io.github.micansid.guiautomation.control.screen.ScreenBuilder;
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.Section;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class ActionQueueTest {
+  private static final Section NAME = new Section(new Position(10, 10), 80, 14);
+  private static final Section CITY = new Section(new Position(10, 30), 80, 14);
+  private static final Section COMMIT = new Section(new Position(10, 50), 30, 14);
+
+  @Test
+  void fillFormInOneBatch() {
+    VirtualTextField name = new VirtualTextField(NAME);
+    VirtualTextField city = new VirtualTextField(CITY);
+    VirtualButton commit = new VirtualButton(COMMIT, 0xFF3366CC);
+    VirtualDesktop desktop = new VirtualDesktop(100, 70).add(name).add(city).add(commit);
+    AtomicInteger captures = new AtomicInteger();
+    Controller sut = desktop.controllerBuilder()
+        .setScreen(new ScreenBuilder()
+            .setScreenSupplier(() -> {
+              captures.incrementAndGet();
+              return desktop.screenshot();
+            }).build())
+        .build();
+    Image commitPattern = desktop.screenshot().getSubImage(COMMIT);
+
+    assertThat(sut.queue()
+        .clickAt(new Position(20, 15)).type("Jane")
+        .clickAt(new Position(20, 35)).paste("Berlin")
+        .clickButton(commitPattern)
+        .execute()).containsExactly(new Position(25, 57));
+    assertThat(name.text()).isEqualTo("Jane");
+    assertThat(city.text()).isEqualTo("Berlin");
+    assertThat(commit.getClicks()).isEqualTo(1);
+    assertThat(captures).hasValue(1);
+  }
+
+  @Test
+  void coalesceRedundantMoves() {
+    MouseCommandExecutor executor = mock(MouseCommandExecutor.class);
+    Controller controller = new ControllerBuilder()
+        .setMouse(new Mouse(executor, () -> new Position(5, 5)))
+        .build();
+    ActionQueue sut = controller.queue()
+        .move(new Position(1, 1))
+        .move(new Position(2, 2))
+        .move(new Position(5, 5))
+        .click()
+        .move(new Position(5, 5))
+        .click();
+
+    assertThat(sut.size()).isEqualTo(6);
+    sut.execute();
+    InOrder inOrder = inOrder(executor);
+    inOrder.verify(executor).move(5, 5);
+    inOrder.verify(executor).press(MouseButton.LEFT);
+    inOrder.verify(executor).release(MouseButton.LEFT);
+    inOrder.verify(executor).press(MouseButton.LEFT);
+    inOrder.verify(executor).release(MouseButton.LEFT);
+    verifyNoMoreInteractions(executor);
+    assertThat(sut.coalesced()).isEqualTo(3);
+    assertThat(sut.size()).isZero();
+  }
+
+  @Test
+  void missingButtonDispatchesNothing() {
+    VirtualDesktop desktop = new VirtualDesktop(100, 70);
+    Controller controller = desktop.controllerBuilder().build();
+    ActionQueue sut = controller.queue()
+        .input(Key.A)
+        .clickButton(new Image(new int[] {0xFF123456}, 1, 1));
+
+    assertThatThrownBy(sut::execute)
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("button");
+    assertThat(desktop.events()).isZero();
+    assertThat(sut.size()).isEqualTo(2);
+  }
+
+  @Test
+  void retryAfterTheButtonAppeared() {
+    VirtualButton commit = new VirtualButton(COMMIT, 0xFF3366CC);
+    Image commitPattern = new VirtualDesktop(100, 70).add(commit).screenshot()
+        .getSubImage(COMMIT);
+    VirtualDesktop desktop = new VirtualDesktop(100, 70);
+    ActionQueue sut = desktop.controllerBuilder().build().queue().clickButton(commitPattern);
+
+    assertThatThrownBy(sut::execute).isInstanceOf(RuntimeException.class);
+    desktop.add(commit);
+    assertThat(sut.execute()).containsExactly(new Position(25, 57));
+    assertThat(commit.getClicks()).isEqualTo(1);
+    assertThat(sut.size()).isZero();
+  }
+
+  @Test
+  void verifyMousePositionAtTheEnd() {
+    Controller controller = new ControllerBuilder()
+        .setMouse(new Mouse(mock(MouseCommandExecutor.class), () -> new Position(0, 0)))
+        .build();
+    ActionQueue sut = controller.queue().clickAt(new Position(3, 4));
+
+    assertThatThrownBy(sut::execute)
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("mouse");
+  }
+}
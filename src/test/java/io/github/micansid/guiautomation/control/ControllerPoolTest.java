@@ -0,0 +1,162 @@
+package io.github.micansid.guiautomation.control;
+
+import io.github.micansid.guiautomation.control.headless.VirtualDesktop;
+import io.github.micansid.guiautomation.util.Position;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ControllerPoolTest {
+  private final List<VirtualDesktop> desktops = new ArrayList<>();
+
+  private Controller controller(final int index) {
+    VirtualDesktop desktop = new VirtualDesktop(100 + index, 50);
+    desktops.add(desktop);
+    return desktop.controllerBuilder().build();
+  }
+
+  @Test
+  void leaseAndRelease() {
+    ControllerPool sut = new ControllerPool(2, this::controller);
+    assertThat(sut.size()).isEqualTo(2);
+    assertThat(sut.available()).isEqualTo(2);
+
+    ControllerPool.Session first = sut.lease();
+    ControllerPool.Session second = sut.lease();
+    assertThat(first.index()).isNotEqualTo(second.index());
+    assertThat(first.isLeased()).isTrue();
+    assertThat(sut.available()).isZero();
+    assertThat(sut.lease(10)).isEmpty();
+
+    sut.release(first);
+    assertThat(first.isLeased()).isFalse();
+    assertThat(sut.lease(10)).contains(first);
+  }
+
+  @Test
+  void sessionsDriveTheirOwnDesktop() {
+    ControllerPool sut = new ControllerPool(3, this::controller);
+
+    List<Integer> widths = sut.sessions().stream()
+        .map(session -> session.controller().screen().width())
+        .collect(Collectors.toList());
+    assertThat(widths).containsExactly(100, 101, 102);
+  }
+
+  @Test
+  void executeInParallel() {
+    ControllerPool sut = new ControllerPool(4, this::controller);
+
+    List<CompletableFuture<Position>> futures = IntStream.range(0, 40)
+        .mapToObj(task -> CompletableFuture.supplyAsync(() -> sut.execute(controller ->
+            controller.mouse().move(new Position(task, 1)).currentPosition())))
+        .collect(Collectors.toList());
+    futures.forEach(future -> assertThat(future.join().getY()).isEqualTo(1));
+
+    assertThat(sut.available()).isEqualTo(4);
+    assertThat(desktops.stream().mapToLong(VirtualDesktop::events).sum()).isEqualTo(40);
+    assertThat(sut.sessions().stream()
+        .mapToLong(session -> session.metrics().snapshot(ControllerPool.LEASE).getCount())
+        .sum()).isEqualTo(40);
+  }
+
+  @Test
+  void failedActionReleasesTheSession() {
+    ControllerPool sut = new ControllerPool(1, this::controller);
+
+    assertThatThrownBy(() -> sut.execute(controller -> {
+      throw new RuntimeException("failed");
+    })).hasMessage("failed");
+    assertThat(sut.available()).isEqualTo(1);
+    assertThat(sut.sessions().get(0).metrics().counters())
+        .containsEntry(ControllerPool.FAILURES, 1L);
+  }
+
+  @Test
+  void executeOnLeasedSession() {
+    ControllerPool sut = new ControllerPool(1, this::controller);
+    ControllerPool.Session session = sut.lease();
+
+    Controller executed = sut.execute(session, controller -> controller);
+    assertThat(executed).isSameAs(session.controller());
+    assertThat(session.isLeased()).isTrue();
+    sut.release(session);
+    assertThatThrownBy(() -> sut.execute(session, controller -> controller))
+        .isInstanceOf(RuntimeException.class);
+  }
+
+  @Test
+  void replaceUnhealthyController() {
+    AtomicBoolean healthy = new AtomicBoolean(true);
+    AtomicInteger created = new AtomicInteger();
+    ControllerPool sut = new ControllerPool(1, index -> {
+      created.incrementAndGet();
+      return controller(index);
+    }, controller -> healthy.get());
+    Controller first = sut.sessions().get(0).controller();
+
+    sut.release(sut.lease());
+    healthy.set(false);
+    ControllerPool.Session session = sut.lease();
+    assertThat(session.controller()).isNotSameAs(first);
+    assertThat(created).hasValue(2);
+    assertThat(session.metrics().counters())
+        .containsEntry(ControllerPool.UNHEALTHY, 1L)
+        .containsEntry(ControllerPool.LEASES, 2L);
+  }
+
+  @Test
+  void failingHealthCheckIsUnhealthy() {
+    ControllerPool sut = new ControllerPool(1, this::controller, controller -> {
+      throw new RuntimeException("no display");
+    });
+
+    assertThat(sut.lease().metrics().counters()).containsEntry(ControllerPool.UNHEALTHY, 1L);
+  }
+
+  @Test
+  void checkHealthAfterIntervalOrFailedAction() {
+    AtomicInteger checks = new AtomicInteger();
+    ControllerPool sut = new ControllerPool(1, this::controller,
+        controller -> checks.incrementAndGet() > 0, 60_000);
+
+    for (int lease = 0; lease < 5; lease++) {
+      sut.execute(controller -> controller.mouse().currentPosition());
+    }
+    assertThat(checks).hasValue(0);
+
+    assertThatThrownBy(() -> sut.execute(controller -> {
+      throw new RuntimeException("failed");
+    })).hasMessage("failed");
+    sut.execute(controller -> controller.mouse().currentPosition());
+    sut.execute(controller -> controller.mouse().currentPosition());
+    assertThat(checks).hasValue(1);
+  }
+
+  @Test
+  void releaseTwiceIsNotAllowed() {
+    ControllerPool sut = new ControllerPool(1, this::controller);
+    ControllerPool.Session session = sut.lease();
+    sut.release(session);
+
+    assertThatThrownBy(() -> sut.release(session)).isInstanceOf(RuntimeException.class);
+    assertThat(sut.available()).isEqualTo(1);
+  }
+
+  @Test
+  void releaseSessionOfOtherPoolIsNotAllowed() {
+    ControllerPool sut = new ControllerPool(1, this::controller);
+    ControllerPool.Session other = new ControllerPool(1, this::controller).lease();
+
+    assertThatThrownBy(() -> sut.release(other)).isInstanceOf(IllegalArgumentException.class);
+    assertThat(sut.available()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,148 @@
+package io.github.micansid.guiautomation.control;
+
+import io.github.micansid.guiautomation.control.headless.VirtualDesktop;
+import io.github.micansid.guiautomation.util.Position;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkflowSchedulerTest {
+  private final ControllerPool pool = new ControllerPool(2,
+      index -> new VirtualDesktop(100, 100).controllerBuilder().build());
+
+  private Function<Controller, Position> move(final int x, final int y) {
+    return new ActionBuilder()
+        .emptyPrecondition()
+        .actionWithResult(controller -> controller.mouse().move(new Position(x, y))
+            .currentPosition())
+        .emptyPostconditionWithResult()
+        .build();
+  }
+
+  @Test
+  void runStepsAfterTheirDependencies() {
+    List<String> order = new CopyOnWriteArrayList<>();
+    Workflow workflow = new Workflow("order")
+        .add("first", controller -> order.add("first"))
+        .add("second", controller -> order.add("second"), "first")
+        .add("third", controller -> order.add("third"), "second");
+    WorkflowScheduler sut = new WorkflowScheduler(pool);
+
+    WorkflowResult result = sut.run(workflow).join();
+    assertThat(order).containsExactly("first", "second", "third");
+    assertThat(result.steps()).isEqualTo(3);
+    assertThat(result.throughput()).isPositive();
+    assertThat(sut.metrics().snapshot("workflow.order").getCount()).isEqualTo(1);
+    assertThat(sut.metrics().snapshot("workflow.order.second").getCount()).isEqualTo(1);
+  }
+
+  @Test
+  void runIndependentBranchesInParallel() throws InterruptedException {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    Function<Controller, Boolean> branch = controller -> {
+      bothStarted.countDown();
+      try {
+        return bothStarted.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException exception) {
+        throw new RuntimeException(exception);
+      }
+    };
+    Workflow workflow = new Workflow("parallel")
+        .add("left", branch)
+        .add("right", branch)
+        .add("move", move(10, 20), "left", "right");
+
+    WorkflowResult result = new WorkflowScheduler(pool).run(workflow).join();
+    assertThat(result.get("left")).contains(true);
+    assertThat(result.get("right")).contains(true);
+    assertThat(result.get("move")).contains(new Position(10, 20));
+  }
+
+  @Test
+  void dependentStepsRunOnTheControllerOfTheirDependency() {
+    Map<String, Controller> controllers = new ConcurrentHashMap<>();
+    Function<String, Function<Controller, Object>> record = name -> controller -> {
+      controllers.put(name, controller);
+      return null;
+    };
+    Workflow workflow = new Workflow("pinned")
+        .add("login", record.apply("login"))
+        .add("open", record.apply("open"), "login")
+        .add("branch", record.apply("branch"), "login")
+        .add("save", record.apply("save"), "open");
+
+    new WorkflowScheduler(pool).run(workflow).join();
+    assertThat(controllers.get("open")).isSameAs(controllers.get("login"));
+    assertThat(controllers.get("save")).isSameAs(controllers.get("login"));
+    assertThat(controllers.get("branch")).isNotSameAs(controllers.get("login"));
+    assertThat(pool.available()).isEqualTo(2);
+  }
+
+  @Test
+  void chainsShareASingleSession() {
+    ControllerPool single = new ControllerPool(1,
+        index -> new VirtualDesktop(100, 100).controllerBuilder().build());
+    Workflow workflow = new Workflow("single")
+        .add("first", controller -> 1)
+        .add("other", controller -> 2)
+        .add("second", controller -> 3, "first")
+        .add("join", controller -> 4, "second", "other");
+
+    WorkflowResult result = new WorkflowScheduler(single).run(workflow).join();
+    assertThat(result.get("join")).contains(4);
+    assertThat(single.available()).isEqualTo(1);
+  }
+
+  @Test
+  void failedStepSkipsItsDependents() {
+    AtomicBoolean dependentRan = new AtomicBoolean(false);
+    Workflow workflow = new Workflow("failure")
+        .add("fail", new ActionBuilder()
+            .precondition(controller -> false)
+            .action(controller -> { })
+            .emptyPostcondition()
+            .build())
+        .add("dependent", controller -> dependentRan.getAndSet(true), "fail");
+
+    assertThatThrownBy(() -> new WorkflowScheduler(pool).run(workflow).join())
+        .isInstanceOf(CompletionException.class)
+        .hasMessageContaining("The pre condition isn't fulfilled");
+    assertThat(dependentRan).isFalse();
+    assertThat(pool.available()).isEqualTo(2);
+  }
+
+  @Test
+  void stepWithoutResult() {
+    Workflow workflow = new Workflow("empty").add("nothing", controller -> null);
+
+    WorkflowResult result = new WorkflowScheduler(pool).run(workflow).join();
+    assertThat(result.get("nothing")).isEmpty();
+    assertThat(result.steps()).isEqualTo(1);
+  }
+
+  @Test
+  void dependencyHasToBeAddedBefore() {
+    Workflow sut = new Workflow("invalid").add("first", controller -> null);
+
+    assertThatThrownBy(() -> sut.add("second", controller -> null, "third"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> sut.add("first", controller -> null))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(sut.size()).isEqualTo(1);
+  }
+
+  @Test
+  void shutdownWithoutRunningSteps() {
+    assertThat(new WorkflowScheduler(pool).shutdown(1_000)).isTrue();
+  }
+}
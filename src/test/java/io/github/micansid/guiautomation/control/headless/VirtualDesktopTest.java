@@ -0,0 +1,135 @@
+package io.github.micansid.guiautomation.control.headless;
+
+import io.github.micansid.guiautomation.control.Controller;
+import io.github.micansid.guiautomation.control.keyboard.Key;
+import io.github.micansid.guiautomation.control.mouse.MouseButton;
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.Section;
+import io.github.micansid.guiautomation.util.image.Image;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualDesktopTest {
+  private static final Section BUTTON = new Section(new Position(10, 10), 40, 20);
+  private static final Section CHECKBOX = new Section(new Position(60, 10), 12, 12);
+  private static final Section TEXT_FIELD = new Section(new Position(10, 50), 100, 14);
+
+  @Test
+  void clickButtonFoundOnTheScreen() {
+    VirtualButton button = new VirtualButton(BUTTON, 0xFF3366CC);
+    VirtualDesktop desktop = new VirtualDesktop(200, 100).add(button);
+    Controller sut = desktop.controllerBuilder().build();
+    Image pattern = desktop.screenshot().getSubImage(BUTTON);
+
+    assertThat(sut.clickButton(pattern)).contains(new Position(30, 20));
+    assertThat(button.getClicks()).isEqualTo(1);
+    assertThat(desktop.mousePosition()).isEqualTo(new Position(30, 20));
+  }
+
+  @Test
+  void pressedButtonIsPainted() {
+    VirtualDesktop sut = new VirtualDesktop(200, 100).add(new VirtualButton(BUTTON, 0xFF3366CC));
+    Image released = sut.screenshot();
+
+    sut.mouseMove(20, 20);
+    sut.mousePress(MouseButton.LEFT);
+    assertThat(sut.screenshot().getRgb(20, 20)).isNotEqualTo(released.getRgb(20, 20));
+    sut.mouseRelease(MouseButton.LEFT);
+    assertThat(sut.screenshot().getRgb(20, 20)).isEqualTo(released.getRgb(20, 20));
+  }
+
+  @Test
+  void releaseOutsideOfTheButtonIsNoClick() {
+    VirtualButton button = new VirtualButton(BUTTON, 0xFF3366CC);
+    VirtualDesktop sut = new VirtualDesktop(200, 100).add(button);
+
+    sut.mouseMove(20, 20);
+    sut.mousePress(MouseButton.LEFT);
+    sut.mouseMove(150, 80);
+    sut.mouseRelease(MouseButton.LEFT);
+    assertThat(button.getClicks()).isZero();
+  }
+
+  @Test
+  void toggleCheckbox() {
+    VirtualCheckbox checkbox = new VirtualCheckbox(CHECKBOX, false);
+    VirtualDesktop desktop = new VirtualDesktop(200, 100).add(checkbox);
+    Controller sut = desktop.controllerBuilder().build();
+    Image unchecked = desktop.screenshot();
+
+    sut.mouse().move(new Position(66, 16)).leftClick();
+    assertThat(checkbox.isChecked()).isTrue();
+    assertThat(desktop.screenshot()).isNotEqualTo(unchecked);
+    sut.mouse().leftClick();
+    assertThat(checkbox.isChecked()).isFalse();
+    assertThat(desktop.screenshot()).isEqualTo(unchecked);
+  }
+
+  @Test
+  void screenshotIsOnlyRenderedAfterAChange() {
+    VirtualDesktop sut = new VirtualDesktop(200, 100).add(new VirtualCheckbox(CHECKBOX, false));
+    Image screenshot = sut.screenshot();
+
+    sut.mouseMove(150, 80);
+    sut.keyPress(Key.A);
+    assertThat(sut.screenshot()).isSameAs(screenshot);
+    sut.mouseMove(66, 16);
+    sut.mousePress(MouseButton.LEFT);
+    sut.mouseRelease(MouseButton.LEFT);
+    assertThat(sut.screenshot()).isNotSameAs(screenshot);
+  }
+
+  @Test
+  void typeIntoFocusedTextField() {
+    VirtualTextField textField = new VirtualTextField(TEXT_FIELD);
+    VirtualDesktop desktop = new VirtualDesktop(200, 100).add(textField);
+    Controller sut = desktop.controllerBuilder().build();
+
+    sut.keyboard().type("lost");
+    assertThat(textField.text()).isEmpty();
+    sut.mouse().move(new Position(20, 55)).leftClick();
+    assertThat(desktop.focused()).contains(textField);
+    sut.keyboard().type("Hello 42.").input(Key.BACK_SPACE);
+    assertThat(textField.text()).isEqualTo("Hello 42");
+  }
+
+  @Test
+  void pasteAndCopyThroughTheClipboard() {
+    VirtualTextField textField = new VirtualTextField(TEXT_FIELD);
+    VirtualDesktop desktop = new VirtualDesktop(200, 100).add(textField);
+    Controller sut = desktop.controllerBuilder().build();
+
+    sut.mouse().move(new Position(20, 55)).leftClick();
+    sut.pasteText("pasted text");
+    assertThat(textField.text()).isEqualTo("pasted text");
+    desktop.setClipboard("other");
+    assertThat(sut.copyText()).contains("pasted text");
+  }
+
+  @Test
+  void countEvents() {
+    VirtualDesktop desktop = new VirtualDesktop(200, 100);
+    Controller sut = desktop.controllerBuilder().build();
+
+    sut.mouse().move(new Position(5, 5)).leftClick();
+    sut.mouse().scrollDown(3);
+    assertThat(desktop.events()).isEqualTo(4);
+    assertThat(desktop.scrolled()).isEqualTo(3);
+  }
+
+  @Test
+  void mouseStaysOnTheScreen() {
+    VirtualDesktop sut = new VirtualDesktop(200, 100);
+
+    sut.mouseMove(500, 500);
+    assertThat(sut.mousePosition()).isEqualTo(new Position(199, 99));
+  }
+
+  @Test
+  void emptyDesktopIsNotAllowed() {
+    assertThatThrownBy(() -> new VirtualDesktop(0, 100))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,101 @@
+package io.github.micansid.guiautomation.control.screen;
+
+import io.github.micansid.guiautomation.control.headless.VirtualButton;
+import io.github.micansid.guiautomation.control.headless.VirtualDesktop;
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.Section;
+import io.github.micansid.guiautomation.util.image.Image;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnchorTest {
+  private static final int TITLE = 0xFF203060;
+  private static final int OK = 0xFF40A040;
+  private static final int ICON = 0xFFA04040;
+
+  /**
+   * Screen with an OK button in the left upper corner and a dialog with a title bar and an OK
+   * button. Both OK buttons have an icon.
+   */
+  private VirtualDesktop desktop(final int dialogX, final int dialogY) {
+    return new VirtualDesktop(300, 200)
+        .add(new VirtualButton(new Section(new Position(5, 5), 30, 12), OK))
+        .add(new VirtualButton(new Section(new Position(15, 8), 6, 6), ICON))
+        .add(new VirtualButton(new Section(new Position(dialogX, dialogY), 100, 10), TITLE))
+        .add(new VirtualButton(new Section(new Position(dialogX + 60, dialogY + 40), 30, 12), OK))
+        .add(new VirtualButton(new Section(new Position(dialogX + 70, dialogY + 43), 6, 6),
+            ICON));
+  }
+
+  private Image pattern(final int x, final int y, final int width, final int height) {
+    return desktop(150, 100).screenshot()
+        .getSubImage(new Section(new Position(x, y), width, height));
+  }
+
+  @Test
+  void findPatternRelativeToAnchor() {
+    Screen sut = new ScreenBuilder().setScreenSupplier(desktop(150, 100)::screenshot).build();
+    Image ok = pattern(5, 5, 30, 12);
+    Anchor dialog = new Anchor(pattern(150, 100, 100, 10));
+
+    assertThat(sut.positionOf(ok)).contains(new Position(5, 5));
+    assertThat(sut.positionOf(dialog.child(ok, 0, 0, 100, 60))).contains(new Position(210, 140));
+    assertThat(sut.clickPositionOf(dialog.child(ok, 0, 0, 100, 60)))
+        .contains(new Position(225, 146));
+  }
+
+  @Test
+  void chainAnchors() {
+    Screen sut = new ScreenBuilder().setScreenSupplier(desktop(150, 100)::screenshot).build();
+    Anchor icon = new Anchor(pattern(150, 100, 100, 10))
+        .child(pattern(5, 5, 30, 12), 0, 0, 100, 60)
+        .child(pattern(220, 143, 6, 6), 0, 0, 30, 12);
+
+    assertThat(sut.positionOf(icon)).contains(new Position(220, 143));
+  }
+
+  @Test
+  void verifyCachedPosition() {
+    VirtualDesktop desktop = desktop(150, 100);
+    Screen sut = new ScreenBuilder().setScreenSupplier(desktop::screenshot).build();
+    Anchor dialog = new Anchor(pattern(150, 100, 100, 10));
+    Anchor ok = dialog.child(pattern(5, 5, 30, 12), 0, 0, 100, 60);
+
+    sut.positionOf(ok);
+    assertThat(sut.positionOf(ok)).contains(new Position(210, 140));
+    assertThat(ok.hits()).isEqualTo(1);
+    assertThat(ok.misses()).isEqualTo(1);
+    assertThat(dialog.misses()).isEqualTo(1);
+  }
+
+  @Test
+  void searchAgainWhenAnchorMoved() {
+    Anchor dialog = new Anchor(pattern(150, 100, 100, 10));
+    Anchor ok = dialog.child(pattern(5, 5, 30, 12), -10, -10, 120, 80);
+    new ScreenBuilder().setScreenSupplier(desktop(150, 100)::screenshot).build().positionOf(ok);
+
+    Screen sut = new ScreenBuilder().setScreenSupplier(desktop(20, 120)::screenshot).build();
+    assertThat(sut.positionOf(ok)).contains(new Position(80, 160));
+    assertThat(ok.misses()).isEqualTo(2);
+  }
+
+  @Test
+  void emptyWhenParentIsMissing() {
+    Screen sut = new ScreenBuilder().setScreenSupplier(new VirtualDesktop(300, 200)
+        .add(new VirtualButton(new Section(new Position(5, 5), 30, 12), OK))
+        .add(new VirtualButton(new Section(new Position(15, 8), 6, 6), ICON))::screenshot)
+        .build();
+    Anchor ok = new Anchor(pattern(150, 100, 100, 10)).child(pattern(5, 5, 30, 12), 0, 0, 300, 200);
+
+    assertThat(sut.positionOf(ok)).isEmpty();
+  }
+
+  @Test
+  void emptyWhenRegionIsOutsideOfTheScreen() {
+    Screen sut = new ScreenBuilder().setScreenSupplier(desktop(150, 100)::screenshot).build();
+    Anchor ok = new Anchor(pattern(150, 100, 100, 10)).child(pattern(5, 5, 30, 12), 200, 0, 50, 50);
+
+    assertThat(sut.positionOf(ok)).isEmpty();
+  }
+}
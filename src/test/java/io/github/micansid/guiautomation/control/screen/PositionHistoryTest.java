@@ -0,0 +1,98 @@
+package io.github.micansid.guiautomation.control.screen;
+
+import io.github.micansid.guiautomation.algorithm.find.FinderTestData;
+import io.github.micansid.guiautomation.algorithm.find.ImagePositionFinder;
+import io.github.micansid.guiautomation.algorithm.find.SimpleFinder;
+import io.github.micansid.guiautomation.control.headless.VirtualButton;
+import io.github.micansid.guiautomation.control.headless.VirtualDesktop;
+import io.github.micansid.guiautomation.util.Position;
+import io.github.micansid.guiautomation.util.Section;
+import io.github.micansid.guiautomation.util.image.Image;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PositionHistoryTest {
+  private final ImagePositionFinder finder = new SimpleFinder();
+
+  private Image screen(final int x, final int y) {
+    return new VirtualDesktop(400, 300)
+        .add(new VirtualButton(new Section(new Position(x, y), 30, 20), 0xFF3366CC))
+        .screenshot();
+  }
+
+  @Test
+  void verifyLastPosition() {
+    PositionHistory sut = new PositionHistory();
+    Image screen = screen(100, 100);
+    Image pattern = screen.getSubImage(new Section(new Position(100, 100), 30, 20));
+
+    assertThat(sut.find(finder, screen, pattern)).contains(new Position(100, 100));
+    assertThat(sut.find(finder, screen, pattern)).contains(new Position(100, 100));
+    assertThat(sut.fullScans()).isEqualTo(1);
+    assertThat(sut.verifiedHits()).isEqualTo(1);
+    assertThat(sut.hitRate()).isEqualTo(0.5);
+    assertThat(sut.last(pattern)).contains(new Position(100, 100));
+  }
+
+  @Test
+  void searchNeighbourhoodOfLastPosition() {
+    PositionHistory sut = new PositionHistory();
+    Image pattern = screen(100, 100).getSubImage(new Section(new Position(100, 100), 30, 20));
+    sut.find(finder, screen(100, 100), pattern);
+
+    assertThat(sut.find(finder, screen(120, 90), pattern)).contains(new Position(120, 90));
+    assertThat(sut.find(finder, screen(220, 190), pattern)).contains(new Position(220, 190));
+    assertThat(sut.neighbourhoodHits()).isEqualTo(2);
+    assertThat(sut.fullScans()).isEqualTo(1);
+  }
+
+  @Test
+  void scanWholeScreenIfPatternMovedFar() {
+    PositionHistory sut = new PositionHistory();
+    Image pattern = screen(0, 0).getSubImage(new Section(new Position(0, 0), 30, 20));
+    sut.find(finder, screen(0, 0), pattern);
+
+    assertThat(sut.find(finder, screen(360, 270), pattern)).contains(new Position(360, 270));
+    assertThat(sut.fullScans()).isEqualTo(2);
+  }
+
+  @Test
+  void forgetPatternWhichIsNotPresent() {
+    PositionHistory sut = new PositionHistory();
+    Image pattern = screen(10, 10).getSubImage(new Section(new Position(10, 10), 30, 20));
+    sut.find(finder, screen(10, 10), pattern);
+
+    assertThat(sut.find(finder, new VirtualDesktop(400, 300).screenshot(), pattern)).isEmpty();
+    assertThat(sut.last(pattern)).isEmpty();
+  }
+
+  @Test
+  void removeLeastRecentlyUsedPattern() {
+    PositionHistory sut = new PositionHistory(1);
+    Image screen = FinderTestData.SCREEN.getImage();
+    sut.find(finder, screen, FinderTestData.BUTTON_COMMIT.getImage());
+    sut.find(finder, screen, FinderTestData.BUTTON_CANCEL.getImage());
+
+    assertThat(sut.size()).isEqualTo(1);
+    assertThat(sut.last(FinderTestData.BUTTON_COMMIT.getImage())).isEmpty();
+    assertThat(sut.last(FinderTestData.BUTTON_CANCEL.getImage()))
+        .contains(FinderTestData.BUTTON_CANCEL.getPositions().get(0));
+  }
+
+  @Test
+  void screenUsesPositionHistory() {
+    PositionHistory history = new PositionHistory();
+    Screen sut = new ScreenBuilder()
+        .setScreenSupplier(FinderTestData.SCREEN)
+        .setPositionHistory(history)
+        .build();
+
+    assertThat(sut.positionOf(FinderTestData.BUTTON_HELP))
+        .contains(FinderTestData.BUTTON_HELP.getPositions().get(0));
+    assertThat(sut.freeze().positionOf(FinderTestData.BUTTON_HELP))
+        .contains(FinderTestData.BUTTON_HELP.getPositions().get(0));
+    assertThat(sut.positionHistory()).contains(history);
+    assertThat(history.verifiedHits()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,161 @@
+package io.github.micansid.guiautomation.control.screen;
+
+import io.github.micansid.guiautomation.algorithm.find.FinderTestData;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScreenRecorderTest {
+  private static final Image SCREEN = FinderTestData.SCREEN.getImage();
+
+  private static Image changed(final Image image, final int x, final int y, final int rgb) {
+    int[] data = image.getRgbData();
+    data[y * image.getWidth() + x] = rgb;
+    return new Image(data, image.getWidth(), image.getHeight());
+  }
+
+  @Test
+  void reconstructsRecordedFrames(@TempDir final Path directory) {
+    Path file = directory.resolve("recording.gasr");
+    Image second = changed(SCREEN, 10, 10, 0xFF123456);
+    Image third = changed(second, SCREEN.getWidth() - 1, SCREEN.getHeight() - 1, 0xFF654321);
+
+    try (ScreenRecorder sut = new ScreenRecorder(() -> SCREEN, file, 10, 64, 100)) {
+      sut.record(SCREEN, 1_000);
+      sut.record(second, 1_100);
+      sut.record(second, 1_200);
+      sut.record(third, 1_300);
+
+      assertThat(sut.frames()).isEqualTo(4);
+      assertThat(sut.keyFrames()).isEqualTo(1);
+      int columns = (SCREEN.getWidth() + 63) / 64;
+      int rows = (SCREEN.getHeight() + 63) / 64;
+      assertThat(sut.tiles()).isEqualTo(columns * rows + 2);
+    }
+
+    try (ScreenRecording recording = new ScreenRecording(file)) {
+      assertThat(recording.size()).isEqualTo(4);
+      assertThat(recording.timestamp(3)).isEqualTo(1_300);
+      assertThat(recording.frame(3)).isEqualTo(third);
+      assertThat(recording.frame(0)).isEqualTo(SCREEN);
+      assertThat(recording.frameAt(999)).isEmpty();
+      assertThat(recording.frameAt(1_000)).contains(SCREEN);
+      assertThat(recording.frameAt(1_250)).contains(second);
+      assertThat(recording.frameAt(5_000)).contains(third);
+    }
+  }
+
+  @Test
+  void writesKeyFramesAndSizeChanges(@TempDir final Path directory) {
+    Path file = directory.resolve("recording.gasr");
+    Image small = new Image(new int[] {1, 2, 3, 4, 5, 6}, 3, 2);
+    Image changedSmall = new Image(new int[] {1, 2, 3, 4, 5, 7}, 3, 2);
+
+    try (ScreenRecorder sut = new ScreenRecorder(() -> small, file, 10, 2, 3)) {
+      sut.record(small, 0);
+      sut.record(changedSmall, 1);
+      sut.record(small, 2);
+      sut.record(small, 3);
+      sut.record(SCREEN, 4);
+      sut.record(small, 4);
+
+      assertThat(sut.keyFrames()).isEqualTo(4);
+    }
+
+    try (ScreenRecording recording = new ScreenRecording(file)) {
+      assertThat(recording.frame(1)).isEqualTo(changedSmall);
+      assertThat(recording.frame(4)).isEqualTo(SCREEN);
+      assertThat(recording.frame(2)).isEqualTo(small);
+      assertThat(recording.frameAt(4)).contains(small);
+    }
+  }
+
+  @Test
+  void ignoresIncompleteLastFrame(@TempDir final Path directory) throws IOException {
+    Path file = directory.resolve("recording.gasr");
+    Image small = new Image(new int[] {1, 2, 3, 4}, 2, 2);
+    try (ScreenRecorder sut = new ScreenRecorder(() -> small, file)) {
+      sut.record(small, 0);
+      sut.record(new Image(new int[] {4, 3, 2, 1}, 2, 2), 1);
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 1);
+    }
+
+    try (ScreenRecording recording = new ScreenRecording(file)) {
+      assertThat(recording.size()).isEqualTo(1);
+      assertThat(recording.frame(0)).isEqualTo(small);
+    }
+  }
+
+  @Test
+  void recordsOnItsOwnThread(@TempDir final Path directory) throws InterruptedException {
+    Path file = directory.resolve("recording.gasr");
+    ScreenRecorder sut = new ScreenRecorder(() -> SCREEN, file, 100, 64, 100);
+
+    sut.start();
+    awaitFrames(sut, 2);
+    sut.close();
+
+    assertThat(sut.frames()).isGreaterThanOrEqualTo(2);
+    assertThat(sut.failures()).isZero();
+    try (ScreenRecording recording = new ScreenRecording(file)) {
+      assertThat(recording.size()).isEqualTo(sut.frames());
+      assertThat(recording.frame(recording.size() - 1)).isEqualTo(SCREEN);
+    }
+  }
+
+  @Test
+  void recordingThreadSurvivesAClockSetBack(@TempDir final Path directory)
+      throws InterruptedException {
+    long future = System.currentTimeMillis() + 3_600_000;
+    try (ScreenRecorder sut = new ScreenRecorder(() -> SCREEN, directory.resolve("r.gasr"), 100,
+        64, 100)) {
+      sut.record(SCREEN, future);
+      sut.start();
+      awaitFrames(sut, 3);
+      sut.stop();
+
+      assertThat(sut.failures()).isZero();
+    }
+    try (ScreenRecording recording = new ScreenRecording(directory.resolve("r.gasr"))) {
+      assertThat(recording.timestamp(recording.size() - 1)).isEqualTo(future);
+    }
+  }
+
+  @Test
+  void timestampsHaveToIncrease(@TempDir final Path directory) {
+    Image small = new Image(new int[] {1}, 1, 1);
+    try (ScreenRecorder sut = new ScreenRecorder(() -> small, directory.resolve("r.gasr"))) {
+      sut.record(small, 10);
+
+      assertThatIllegalArgumentException().isThrownBy(() -> sut.record(small, 9));
+    }
+  }
+
+  @Test
+  void rejectsOtherFiles(@TempDir final Path directory) throws IOException {
+    Path file = directory.resolve("other.gasr");
+    Files.write(file, "no recording".getBytes());
+
+    assertThatThrownBy(() -> new ScreenRecording(file)).isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("is not a screen recording");
+  }
+
+  private static void awaitFrames(final ScreenRecorder recorder, final long frames)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (recorder.frames() < frames && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package io.github.micansid.guiautomation.control.screen;
+
+import io.github.micansid.guiautomation.algorithm.find.FinderTestData;
+import io.github.micansid.guiautomation.util.image.Image;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScreenReplayTest {
+  private static final Image FIRST = new Image(new int[] {1, 2, 3, 4}, 2, 2);
+  private static final Image SECOND = new Image(new int[] {1, 2, 3, 5}, 2, 2);
+  private static final Image THIRD = new Image(new int[] {6, 2, 3, 5}, 2, 2);
+
+  private static ScreenRecording record(final Path directory, final Image... frames) {
+    Path file = directory.resolve("recording.gasr");
+    try (ScreenRecorder recorder = new ScreenRecorder(() -> frames[0], file)) {
+      for (int index = 0; index < frames.length; index++) {
+        recorder.record(frames[index], 1_000 + index * 100);
+      }
+    }
+    return new ScreenRecording(file);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void replaysWithRecordedTiming(@TempDir final Path directory) {
+    Supplier<Long> clock = (Supplier<Long>) mock(Supplier.class);
+    when(clock.get()).thenReturn(50L, 50L, 149L, 150L, 260L, 900L);
+    try (ScreenRecording recording = record(directory, FIRST, SECOND, THIRD)) {
+      ScreenReplay sut = new ScreenReplay(recording, ScreenReplay.REAL_TIME, clock);
+
+      assertThat(sut.get()).isEqualTo(FIRST);
+      assertThat(sut.get()).isEqualTo(FIRST);
+      assertThat(sut.get()).isEqualTo(SECOND);
+      assertThat(sut.isFinished()).isFalse();
+      assertThat(sut.get()).isEqualTo(THIRD);
+      assertThat(sut.get()).isEqualTo(THIRD);
+      assertThat(sut.isFinished()).isTrue();
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void replaysAccelerated(@TempDir final Path directory) {
+    Supplier<Long> clock = (Supplier<Long>) mock(Supplier.class);
+    when(clock.get()).thenReturn(0L, 0L, 50L, 100L);
+    try (ScreenRecording recording = record(directory, FIRST, SECOND, THIRD)) {
+      ScreenReplay sut = new ScreenReplay(recording, 2, clock);
+
+      assertThat(sut.get()).isEqualTo(FIRST);
+      assertThat(sut.get()).isEqualTo(SECOND);
+      assertThat(sut.get()).isEqualTo(THIRD);
+      assertThat(sut.index()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void replaysAsFastAsPossible(@TempDir final Path directory) {
+    try (ScreenRecording recording = record(directory, FIRST, SECOND, THIRD)) {
+      ScreenReplay sut = new ScreenReplay(recording, ScreenReplay.AS_FAST_AS_POSSIBLE);
+
+      assertThat(sut.index()).isEqualTo(-1);
+      assertThat(sut.get()).isEqualTo(FIRST);
+      assertThat(sut.get()).isEqualTo(SECOND);
+      assertThat(sut.get()).isEqualTo(THIRD);
+      assertThat(sut.get()).isEqualTo(THIRD);
+      assertThat(sut.isFinished()).isTrue();
+    }
+  }
+
+  @Test
+  void feedsScreen(@TempDir final Path directory) {
+    try (ScreenRecording recording = record(directory, FinderTestData.SCREEN.getImage())) {
+      Screen screen = new ScreenBuilder()
+          .setScreenSupplier(new ScreenReplay(recording, ScreenReplay.AS_FAST_AS_POSSIBLE))
+          .build();
+
+      assertThat(screen.positionOf(FinderTestData.BUTTON_COMMIT))
+          .contains(FinderTestData.BUTTON_COMMIT.getPositions().get(0));
+    }
+  }
+
+  @Test
+  void speedHasToBePositive(@TempDir final Path directory) {
+    try (ScreenRecording recording = record(directory, FIRST)) {
+      assertThatIllegalArgumentException().isThrownBy(() -> new ScreenReplay(recording, 0));
+      assertThatIllegalArgumentException()
+          .isThrownBy(() -> new ScreenReplay(recording, Double.NaN));
+    }
+  }
+}
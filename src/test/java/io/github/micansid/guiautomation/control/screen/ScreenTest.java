@@ -8,6 +8,7 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -25,6 +26,21 @@ class ScreenTest {
         FinderTestData.BUTTON_COMMIT.getPositions().get(0))).isTrue();
   }
 
+  @Test
+  void frozenScreenCapturesOnce() {
+    AtomicInteger captures = new AtomicInteger();
+    Screen sut = new ScreenBuilder().setScreenSupplier(() -> {
+      captures.incrementAndGet();
+      return FinderTestData.SCREEN.getImage();
+    }).build().freeze();
+
+    assertThat(sut.positionOf(FinderTestData.BUTTON_COMMIT))
+        .contains(FinderTestData.BUTTON_COMMIT.getPositions().get(0));
+    assertThat(sut.positionOf(FinderTestData.BUTTON_CANCEL))
+        .contains(FinderTestData.BUTTON_CANCEL.getPositions().get(0));
+    assertThat(captures).hasValue(1);
+  }
+
   @Test
   void positionOfCommitButtonInSection() {
     Screen sut = new ScreenBuilder().setScreenSupplier(FinderTestData.SCREEN).build();
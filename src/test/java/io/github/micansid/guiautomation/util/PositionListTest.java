@@ -0,0 +1,119 @@
+package io.github.micansid.guiautomation.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PositionListTest {
+  @Test
+  void addCoordinatesAndReadPositions() {
+    PositionList sut = new PositionList(1);
+    sut.add(3, 4);
+    sut.add(new Position(Integer.MAX_VALUE, 0));
+
+    assertThat(sut).hasSize(2).containsExactly(new Position(3, 4),
+        new Position(Integer.MAX_VALUE, 0));
+    assertThat(sut.getX(1)).isEqualTo(Integer.MAX_VALUE);
+    assertThat(sut.getY(0)).isEqualTo(4);
+  }
+
+  @Test
+  void equalToOtherLists() {
+    PositionList sut = new PositionList();
+    sut.add(1, 2);
+    sut.add(3, 4);
+
+    assertThat(sut).isEqualTo(Arrays.asList(new Position(1, 2), new Position(3, 4)));
+    assertThat(Arrays.asList(new Position(1, 2), new Position(3, 4))).isEqualTo(sut);
+    assertThat(sut.hashCode())
+        .isEqualTo(Arrays.asList(new Position(1, 2), new Position(3, 4)).hashCode());
+  }
+
+  @Test
+  void negativeCoordinatesAreNotAllowed() {
+    PositionList sut = new PositionList();
+    assertThatThrownBy(() -> sut.add(-1, 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> sut.add(0, -1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> sut.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void sortSmallList() {
+    PositionList sut = new PositionList();
+    sut.add(5, 1);
+    sut.add(1, 2);
+    sut.add(2, 1);
+
+    assertThat(sut.sort()).containsExactly(new Position(2, 1), new Position(5, 1),
+        new Position(1, 2));
+  }
+
+  @Test
+  void sortLargeListLikePositions() {
+    Random random = new Random(42);
+    PositionList sut = new PositionList();
+    List<Position> expected = new ArrayList<>();
+    for (int index = 0; index < 20_000; index++) {
+      Position position = new Position(random.nextInt(5_000), random.nextInt(100_000));
+      sut.add(position.getX(), position.getY());
+      expected.add(position);
+    }
+    Collections.sort(expected);
+
+    assertThat(sut.sort()).isEqualTo(expected);
+  }
+
+  @Test
+  void appendOtherList() {
+    PositionList first = new PositionList(0);
+    first.add(1, 1);
+    PositionList second = new PositionList();
+    second.add(2, 2);
+    second.add(3, 3);
+
+    first.addAll(second);
+    assertThat(first).containsExactly(new Position(1, 1), new Position(2, 2), new Position(3, 3));
+    first.clear();
+    assertThat(first).isEmpty();
+  }
+
+  @Test
+  void modifiableLikeArrayList() {
+    PositionList sut = new PositionList(0);
+    sut.add(1, 1);
+    sut.add(2, 2);
+    sut.add(3, 3);
+
+    assertThat(sut.set(0, new Position(4, 4))).isEqualTo(new Position(1, 1));
+    sut.add(1, new Position(5, 5));
+    assertThat(sut.remove(2)).isEqualTo(new Position(2, 2));
+    assertThat(sut.remove(new Position(3, 3))).isTrue();
+    sut.add(sut.size(), new Position(0, 0));
+    assertThat(sut).containsExactly(new Position(4, 4), new Position(5, 5), new Position(0, 0));
+
+    Collections.sort(sut);
+    assertThat(sut).containsExactly(new Position(0, 0), new Position(4, 4), new Position(5, 5));
+    sut.sort(Collections.reverseOrder());
+    assertThat(sut).containsExactly(new Position(5, 5), new Position(4, 4), new Position(0, 0));
+    sut.removeIf(position -> position.getX() == 4);
+    assertThat(sut).containsExactly(new Position(5, 5), new Position(0, 0));
+  }
+
+  @Test
+  void iteratorFailsOnConcurrentModification() {
+    PositionList sut = new PositionList();
+    sut.add(1, 1);
+    sut.add(2, 2);
+
+    assertThatThrownBy(() -> sut.forEach(position -> sut.add(3, 3)))
+        .isInstanceOf(ConcurrentModificationException.class);
+  }
+}
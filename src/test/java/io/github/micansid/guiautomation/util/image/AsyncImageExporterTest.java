@@ -0,0 +1,72 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.algorithm.find.FinderTestData;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncImageExporterTest {
+  private static final Image IMAGE = FinderTestData.BUTTON_COMMIT.getImage();
+
+  @ParameterizedTest
+  @EnumSource(ImageExporter.Compression.class)
+  void exportAndImportImage(final ImageExporter.Compression compression,
+                            @TempDir final Path directory) {
+    AsyncImageExporter sut = new AsyncImageExporter(2, 4, compression);
+    String path = directory.resolve("export.png").toString();
+
+    assertThat(sut.export(IMAGE, path).join()).isTrue();
+    assertThat(sut.shutdown(1000)).isTrue();
+
+    assertThat(new ImageLoader().load(path)).contains(IMAGE);
+    assertThat(sut.exported()).isEqualTo(1);
+    assertThat(sut.dropped()).isZero();
+  }
+
+  @Test
+  void dropsExportsIfTheQueueIsFull() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ImageExporter exporter = mock(ImageExporter.class);
+    when(exporter.export(any(Image.class), anyString(), any(ImageExporter.Compression.class)))
+        .thenAnswer(invocation -> {
+          started.countDown();
+          release.await();
+          return true;
+        });
+    AsyncImageExporter sut = new AsyncImageExporter(exporter, 1, 1,
+        ImageExporter.Compression.NONE);
+
+    CompletableFuture<Boolean> running = sut.export(IMAGE, "running.png");
+    started.await();
+    CompletableFuture<Boolean> queued = sut.export(IMAGE, "queued.png");
+    CompletableFuture<Boolean> dropped = sut.export(IMAGE, "dropped.png");
+
+    assertThat(dropped).isCompletedWithValue(false);
+    assertThat(sut.queued()).isEqualTo(1);
+    release.countDown();
+    assertThat(running.join()).isTrue();
+    assertThat(queued.join()).isTrue();
+    assertThat(sut.exported()).isEqualTo(2);
+    assertThat(sut.dropped()).isEqualTo(1);
+  }
+
+  @Test
+  void dropsExportsAfterShutdown() {
+    AsyncImageExporter sut = new AsyncImageExporter();
+    sut.shutdown(0);
+
+    assertThat(sut.export(IMAGE, "shutdown.png").join()).isFalse();
+    assertThat(sut.dropped()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,60 @@
+package io.github.micansid.guiautomation.util.image;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class BufferPixelStorageTest {
+  private static final Image IMAGE = new ImageLoader()
+      .loadFromResources("intellij_button_commit.png")
+      .orElseThrow(() -> new RuntimeException("The test image ist not available"));
+
+  @Test
+  void directImageIsEqualToHeapImage() {
+    BufferPixelStorage storage = new BufferPixelStorage(IMAGE.getRgbData());
+    Image sut = new Image(storage, IMAGE.getWidth(), IMAGE.getHeight());
+
+    assertThat(storage.isDirect()).isTrue();
+    assertThat(sut).isEqualTo(IMAGE);
+    assertThat(IMAGE).isEqualTo(sut);
+    assertThat(sut.hashCode()).isEqualTo(IMAGE.hashCode());
+    assertThat(sut.getRgbData()).containsExactly(IMAGE.getRgbData());
+    assertThat(sut.getRgb(3, 2, 10, 5, null, 0, 10))
+        .containsExactly(IMAGE.getRgb(3, 2, 10, 5, null, 0, 10));
+  }
+
+  @Test
+  void mapsPixelsOfFile(@TempDir final Path directory) throws IOException {
+    int[] data = IMAGE.getRgbData();
+    ByteBuffer bytes = ByteBuffer.allocate(8 + data.length * Integer.BYTES);
+    bytes.putLong(42);
+    bytes.asIntBuffer().put(data);
+    Path file = directory.resolve("pixels.raw");
+    Files.write(file, bytes.array());
+
+    Image sut = new Image(new BufferPixelStorage(file, 8, data.length), IMAGE.getWidth(),
+        IMAGE.getHeight());
+
+    assertThat(sut).isEqualTo(IMAGE);
+  }
+
+  @Test
+  void sizeHasToMatchTheImage() {
+    BufferPixelStorage storage = new BufferPixelStorage(new int[] {1, 2, 3});
+
+    assertThatIllegalArgumentException().isThrownBy(() -> new Image(storage, 2, 2));
+  }
+
+  @Test
+  void copyOutsideOfTheStorageIsNotAllowed() {
+    BufferPixelStorage storage = new BufferPixelStorage(new int[] {1, 2, 3});
+
+    assertThatIllegalArgumentException().isThrownBy(() -> storage.get(2, new int[2], 0, 2));
+  }
+}
@@ -1,10 +1,16 @@
 package io.github.micansid.guiautomation.util.image;
 
 import io.github.micansid.guiautomation.algorithm.find.FinderTestData;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -23,4 +29,16 @@ class ImageExporterTest {
     Assertions.assertThat(result).isPresent().contains(image);
 
   }
-}
\ No newline at end of file
+
+  @ParameterizedTest
+  @EnumSource(ImageExporter.Compression.class)
+  void exportReplacesExistingFile(final ImageExporter.Compression compression,
+                                  @TempDir final Path directory) throws IOException {
+    Path exportFile = directory.resolve("export.png");
+    Files.write(exportFile, new byte[1_000_000]);
+    Image image = FinderTestData.BUTTON_COMMIT.getImage();
+
+    assertThat(new ImageExporter().export(image, exportFile.toString(), compression)).isTrue();
+    assertThat(new ImageLoader().load(exportFile.toString())).contains(image);
+  }
+}
@@ -1,11 +1,23 @@
 package io.github.micansid.guiautomation.util.image;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ImageLoaderTest {
   private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
@@ -37,6 +49,65 @@ class ImageLoaderTest {
     assertThat(loader.load("resourceNotFound.png")).isEmpty();
   }
 
+  @Test
+  void loadAllResourcesInParallel() {
+    ImageLoader loader = new ImageLoader();
+    List<Integer> progress = Collections.synchronizedList(new ArrayList<>());
+
+    Map<String, Image> images = loader.loadAllFromResources("",
+        (loaded, total) -> progress.add(loaded * 100 + total)).join();
+
+    assertThat(images).containsKeys("intellij_button_commit.png",
+        "intellij_commit_changes.png");
+    assertThat(images.get("intellij_button_commit.png"))
+        .isEqualTo(loader.loadFromResources("intellij_button_commit.png").get());
+    // one report per image, the last one with all images loaded
+    int total = images.size();
+    assertThat(progress).hasSize(total).contains(total * 100 + total);
+  }
+
+  @Test
+  void loadAllFilesOfDirectory(@TempDir final Path directory) throws IOException {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    ImageLoader loader = new ImageLoader(executor, new DecodeBufferPool(2, 16));
+    Path buttons = Files.createDirectory(directory.resolve("buttons"));
+    Files.copy(getClass().getResourceAsStream("/intellij_button_help.png"),
+        buttons.resolve("help.png"));
+    Files.copy(getClass().getResourceAsStream("/intellij_button_frame.png"),
+        directory.resolve("frame.PNG"));
+    Files.write(directory.resolve("broken.png"), new byte[] {1, 2, 3});
+    Files.write(directory.resolve("notes.txt"), new byte[] {1, 2, 3});
+
+    Map<String, Image> images = loader.loadAll(directory.toString()).join();
+
+    assertThat(images).containsOnlyKeys("buttons/help.png", "frame.PNG");
+    assertThat(images.get("buttons/help.png"))
+        .isEqualTo(loader.loadFromResources("intellij_button_help.png").get());
+    executor.shutdown();
+  }
+
+  @Test
+  void loadAllOfMissingDirectoryFails() {
+    ImageLoader loader = new ImageLoader();
+
+    assertThatThrownBy(() -> loader.loadAll("target/directoryNotFound").join())
+        .isInstanceOf(CompletionException.class);
+  }
+
+  @Test
+  void decodeBufferPoolIsBounded() {
+    DecodeBufferPool pool = new DecodeBufferPool(1, 8);
+    byte[] first = pool.acquire();
+    byte[] second = pool.acquire();
+
+    pool.release(first);
+    pool.release(second);
+
+    assertThat(first).hasSize(8);
+    assertThat(pool.pooled()).isEqualTo(1);
+    assertThat(pool.acquire()).isSameAs(first);
+  }
+
   private ByteArrayOutputStream getOutContent() {
     return outContent;
   }
@@ -0,0 +1,88 @@
+package io.github.micansid.guiautomation.util.image;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageRepositoryTest {
+  private static final Image SMALL = new Image(new int[4], 2, 2);
+  private static final Image OTHER = new Image(new int[] {1, 2, 3, 4}, 2, 2);
+
+  @Test
+  void callsSupplierOnlyOnce() {
+    ImageRepository sut = new ImageRepository(1024);
+    AtomicInteger calls = new AtomicInteger();
+    Supplier<Image> supplier = sut.cached(() -> {
+      calls.incrementAndGet();
+      return SMALL;
+    });
+
+    assertThat(supplier.get()).isEqualTo(SMALL);
+    assertThat(supplier.get()).isEqualTo(SMALL);
+    assertThat(supplier.get()).isEqualTo(SMALL);
+
+    assertThat(calls).hasValue(1);
+    assertThat(sut.misses()).isEqualTo(1);
+    assertThat(sut.hits()).isEqualTo(2);
+    assertThat(sut.hitRate()).isEqualTo(2.0 / 3);
+    assertThat(sut.size()).isEqualTo(1);
+    assertThat(sut.bytes()).isEqualTo(16);
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedImages() {
+    ImageRepository sut = new ImageRepository(32);
+    Image third = new Image(new int[] {5, 6, 7, 8}, 2, 2);
+
+    sut.get("small", () -> SMALL);
+    sut.get("other", () -> OTHER);
+    sut.get("small", () -> SMALL);
+    sut.get("third", () -> third);
+
+    assertThat(sut.evictions()).isEqualTo(1);
+    assertThat(sut.size()).isEqualTo(2);
+    assertThat(sut.bytes()).isEqualTo(32);
+    assertThat(sut.get("other", () -> OTHER)).isEqualTo(OTHER);
+    assertThat(sut.misses()).isEqualTo(4);
+  }
+
+  @Test
+  void doesNotCacheImagesLargerThanTheMaximum() {
+    ImageRepository sut = new ImageRepository(15);
+
+    sut.get("small", () -> SMALL);
+    sut.get("small", () -> SMALL);
+
+    assertThat(sut.size()).isZero();
+    assertThat(sut.misses()).isEqualTo(2);
+    assertThat(sut.evictions()).isZero();
+  }
+
+  @Test
+  void loadsResources() {
+    ImageRepository sut = new ImageRepository(1024 * 1024);
+    Supplier<Image> commit = sut.resource("intellij_button_commit.png");
+
+    assertThat(commit.get()).isEqualTo(
+        new ImageLoader().loadFromResources("intellij_button_commit.png").get());
+    assertThat(commit.get()).isSameAs(commit.get());
+    assertThat(sut.resource("intellij_button_commit.png").get()).isSameAs(commit.get());
+    assertThatThrownBy(() -> sut.resource("resourceNotFound.png").get())
+        .isInstanceOf(RuntimeException.class);
+  }
+
+  @Test
+  void clearKeepsStatistics() {
+    ImageRepository sut = new ImageRepository(1024);
+    sut.get("small", () -> SMALL);
+
+    sut.clear();
+
+    assertThat(sut.size()).isZero();
+    assertThat(sut.bytes()).isZero();
+    assertThat(sut.misses()).isEqualTo(1);
+  }
+}
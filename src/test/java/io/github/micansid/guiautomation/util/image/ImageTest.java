@@ -8,6 +8,7 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 class ImageTest {
   private static final BufferedImage IMAGE_COMMIT_BUTTON = new ImageLoader()
@@ -157,4 +158,22 @@ class ImageTest {
     io.github.micansid.guiautomation.util.image.Image sut = new io.github.micansid.guiautomation.util.image.Image(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16}, 4, 4);
     assertThat(sut.getSubImage(section)).isEqualTo(new Image(new int[]{11, 12, 15, 16}, 2, 2));
   }
-}
\ No newline at end of file
+
+  @Test
+  void copiesAreaLikeBufferedImage() {
+    Image sut = new Image(IMAGE_COMMIT_BUTTON);
+    int[] expected = IMAGE_COMMIT_BUTTON.getRGB(3, 2, 10, 5, null, 1, 12);
+    int[] target = new int[expected.length];
+
+    assertThat(sut.getRgb(3, 2, 10, 5, target, 1, 12)).isSameAs(target).containsExactly(expected);
+    assertThat(sut.getRgb(3, 2, 10, 5, null, 1, 12)).containsExactly(expected);
+  }
+
+  @Test
+  void copyAreaOutsideOfImageIsNotAllowed() {
+    Image sut = new Image(IMAGE_COMMIT_BUTTON);
+
+    assertThatIllegalArgumentException().isThrownBy(
+        () -> sut.getRgb(1, 0, sut.getWidth(), 1, null, 0, sut.getWidth()));
+  }
+}
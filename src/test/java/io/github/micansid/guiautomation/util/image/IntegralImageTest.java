@@ -0,0 +1,136 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.image.IntegralImage.Channel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+class IntegralImageTest {
+  private Image randomImage(final int width, final int height) {
+    Random random = new Random(49);
+    int[] data = new int[width * height];
+    for (int index = 0; index < data.length; index++) {
+      data[index] = random.nextInt();
+    }
+    return new Image(data, width, height);
+  }
+
+  @Test
+  void sumsAreEqualToTheSumsOfThePixels() {
+    Image image = randomImage(13, 9);
+    IntegralImage sut = image.integralImage();
+
+    for (Channel channel : Channel.values()) {
+      for (int y = 0; y < image.getHeight(); y += 2) {
+        for (int x = 0; x < image.getWidth(); x += 3) {
+          int w = image.getWidth() - x;
+          int h = (image.getHeight() - y) / 2;
+          long sum = 0;
+          long squares = 0;
+          for (int pixelY = y; pixelY < y + h; pixelY++) {
+            for (int pixelX = x; pixelX < x + w; pixelX++) {
+              long value = channel.of(image.getRgb(pixelX, pixelY));
+              sum += value;
+              squares += value * value;
+            }
+          }
+          assertThat(sut.sum(channel, x, y, w, h)).isEqualTo(sum);
+          assertThat(sut.sumOfSquares(channel, x, y, w, h)).isEqualTo(squares);
+        }
+      }
+    }
+  }
+
+  @Test
+  void windowSumsAreEqualToTheRectangleSums() {
+    Image image = randomImage(13, 9);
+    IntegralImage sut = image.integralImage();
+
+    for (Channel channel : Channel.values()) {
+      IntegralImage.Window window = sut.window(channel, 5, 4);
+      for (int y = 0; y + 4 <= image.getHeight(); y++) {
+        for (int x = 0; x + 5 <= image.getWidth(); x++) {
+          assertThat(window.sum(x, y)).isEqualTo(sut.sum(channel, x, y, 5, 4));
+          assertThat(window.sumOfSquares(x, y)).isEqualTo(sut.sumOfSquares(channel, x, y, 5, 4));
+        }
+      }
+    }
+  }
+
+  @Test
+  void meanAndVariance() {
+    Image image = new Image(new int[] {0xFF000000, 0xFF0A0000, 0xFF000000, 0xFF0A0000}, 2, 2);
+    IntegralImage sut = image.integralImage();
+
+    assertThat(sut.mean(Channel.RED, 0, 0, 2, 2)).isCloseTo(5, within(1e-9));
+    assertThat(sut.variance(Channel.RED, 0, 0, 2, 2)).isCloseTo(25, within(1e-9));
+    assertThat(sut.variance(Channel.RED, 1, 0, 1, 2)).isCloseTo(0, within(1e-9));
+    assertThat(sut.mean(Channel.ALPHA, 0, 0, 2, 2)).isCloseTo(255, within(1e-9));
+    assertThat(sut.mean(Channel.GREEN, 0, 0, 0, 0)).isZero();
+  }
+
+  @Test
+  void integralImageIsCreatedOncePerImage() {
+    Image image = randomImage(4, 4);
+
+    assertThat(image.integralImage()).isSameAs(image.integralImage());
+    assertThat(image.integralImage()).isNotSameAs(randomImage(4, 4).integralImage());
+  }
+
+  @Test
+  void integralImageDoesNotChangeEquality() {
+    Image image = randomImage(4, 4);
+    Image other = randomImage(4, 4);
+    image.integralImage().sum(Channel.RED, 0, 0, 4, 4);
+
+    assertThat(image).isEqualTo(other);
+    assertThat(image.hashCode()).isEqualTo(other.hashCode());
+  }
+
+  @Test
+  void concurrentQueriesSeeCompleteTables() throws Exception {
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      for (int run = 0; run < 20; run++) {
+        Image image = randomImage(64, 48);
+        long expected = 0;
+        for (int rgb : image.getRgbData()) {
+          expected += Channel.GREEN.of(rgb);
+        }
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        List<Future<Long>> sums = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+          sums.add(executor.submit(() -> {
+            barrier.await();
+            return image.integralImage().sum(Channel.GREEN, 0, 0, 64, 48);
+          }));
+        }
+        for (Future<Long> sum : sums) {
+          assertThat(sum.get(10, TimeUnit.SECONDS)).isEqualTo(expected);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void rectangleHasToFitIntoTheImage() {
+    IntegralImage sut = randomImage(4, 4).integralImage();
+
+    assertThatIllegalArgumentException().isThrownBy(() -> sut.sum(Channel.RED, 1, 0, 4, 1));
+    assertThatIllegalArgumentException().isThrownBy(() -> sut.sum(Channel.RED, 0, 2, 1, 3));
+    assertThatIllegalArgumentException().isThrownBy(() -> sut.sum(Channel.RED, -1, 0, 1, 1));
+  }
+}
@@ -0,0 +1,77 @@
+package io.github.micansid.guiautomation.util.image;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatternArchiveTest {
+  private static final Image COMMIT = load("intellij_button_commit.png");
+  private static final Image FRAME = load("intellij_button_frame.png");
+
+  private static Image load(final String path) {
+    return new ImageLoader().loadFromResources(path)
+        .orElseThrow(() -> new RuntimeException("The test image ist not available"));
+  }
+
+  @Test
+  void readsWrittenPatterns(@TempDir final Path directory) {
+    Path path = directory.resolve("patterns.gapa");
+    assertThat(new PatternArchiveWriter().add("commit", COMMIT).add("frame/äöü", FRAME)
+        .write(path)).isTrue();
+
+    PatternArchive sut = new PatternArchive(path);
+
+    assertThat(sut.size()).isEqualTo(2);
+    assertThat(sut.names()).containsExactlyInAnyOrder("commit", "frame/äöü");
+    assertThat(sut.get("commit")).contains(COMMIT);
+    assertThat(sut.get("frame/äöü")).contains(FRAME);
+    assertThat(sut.supplier("commit").get()).isEqualTo(COMMIT);
+    assertThat(sut.supplier("commit").get()).isSameAs(sut.get("commit").get());
+    assertThat(sut.get("help")).isEmpty();
+  }
+
+  @Test
+  void providesMetadataOfPatterns(@TempDir final Path directory) {
+    Path path = directory.resolve("patterns.gapa");
+    new PatternArchiveWriter().add("commit", COMMIT).add("frame", FRAME).write(path);
+
+    PatternArchive sut = new PatternArchive(path);
+
+    PatternArchive.Entry commit = sut.entry("commit").get();
+    assertThat(commit.getWidth()).isEqualTo(COMMIT.getWidth());
+    assertThat(commit.getHeight()).isEqualTo(COMMIT.getHeight());
+    assertThat(commit.containsTransparent()).isFalse();
+    assertThat(commit.getDistinctColors()).isPositive();
+    assertThat(sut.entry("frame").get().containsTransparent()).isTrue();
+  }
+
+  @Test
+  void namesHaveToBeUnique() {
+    PatternArchiveWriter sut = new PatternArchiveWriter().add("commit", COMMIT);
+
+    assertThatIllegalArgumentException().isThrownBy(() -> sut.add("commit", FRAME));
+  }
+
+  @Test
+  void supplierOfUnknownPatternIsNotAllowed(@TempDir final Path directory) {
+    Path path = directory.resolve("patterns.gapa");
+    new PatternArchiveWriter().add("commit", COMMIT).write(path);
+
+    assertThatIllegalArgumentException().isThrownBy(() -> new PatternArchive(path).supplier("x"));
+  }
+
+  @Test
+  void rejectsOtherFiles(@TempDir final Path directory) throws IOException {
+    Path path = directory.resolve("other.gapa");
+    Files.write(path, "no archive".getBytes());
+
+    assertThatThrownBy(() -> new PatternArchive(path)).isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("is not a pattern archive");
+  }
+}
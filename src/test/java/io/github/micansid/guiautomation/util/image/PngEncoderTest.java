@@ -0,0 +1,48 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.algorithm.find.FinderTestData;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class PngEncoderTest {
+  private byte[] encode(final Image image, final int level) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    new PngEncoder(level).encode(image.getRgbData(), image.getWidth(), image.getHeight(),
+        output);
+    return output.toByteArray();
+  }
+
+  @Test
+  void decodedImageIsEqualIncludingAlpha() throws IOException {
+    Image image = new Image(new int[] {0xFF102030, 0x00000000, 0x80FFFFFF, 0xFF000000,
+        0x7F123456, 0xFFABCDEF}, 3, 2);
+
+    Image decoded = new Image(ImageIO.read(new ByteArrayInputStream(
+        encode(image, Deflater.BEST_SPEED))));
+    assertThat(decoded).isEqualTo(image);
+  }
+
+  @Test
+  void levelTradesSizeForSpeed() throws IOException {
+    Image screen = FinderTestData.SCREEN.getImage();
+
+    byte[] stored = encode(screen, Deflater.NO_COMPRESSION);
+    byte[] fast = encode(screen, Deflater.BEST_SPEED);
+    assertThat(stored.length).isGreaterThan(screen.getWidth() * screen.getHeight() * 4);
+    assertThat(fast.length).isLessThan(stored.length);
+    assertThat(new Image(ImageIO.read(new ByteArrayInputStream(stored)))).isEqualTo(screen);
+  }
+
+  @Test
+  void levelHasToBeADeflateLevel() {
+    assertThatIllegalArgumentException().isThrownBy(() -> new PngEncoder(10));
+    assertThatIllegalArgumentException().isThrownBy(() -> new PngEncoder(-1));
+  }
+}
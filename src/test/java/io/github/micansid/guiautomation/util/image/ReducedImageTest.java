@@ -0,0 +1,60 @@
+package io.github.micansid.guiautomation.util.image;
+
+import io.github.micansid.guiautomation.util.image.ReducedImage.Representation;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReducedImageTest {
+  private static final int WHITE = 0xFFFFFFFF;
+  private static final int BLACK = 0xFF000000;
+
+  @Test
+  void grayscale() {
+    Image image = new Image(new int[] {WHITE, BLACK, 0xFFFF0000, 0xFF00FF00}, 4, 1);
+    ReducedImage sut = image.reduced(Representation.GRAYSCALE);
+
+    assertThat(sut.getRepresentation()).isEqualTo(Representation.GRAYSCALE);
+    assertThat(sut.get(0, 0)).isEqualTo(255);
+    assertThat(sut.get(1, 0)).isEqualTo(0);
+    assertThat(sut.get(2, 0)).isEqualTo(76);
+    assertThat(sut.get(3, 0)).isEqualTo(149);
+  }
+
+  @Test
+  void quantized() {
+    Image image = new Image(new int[] {WHITE, BLACK, 0xFFFF0000, 0xFF0000FF, 0xFF1F1F3F}, 5, 1);
+    ReducedImage sut = image.reduced(Representation.QUANTIZED);
+
+    assertThat(sut.get(0)).isEqualTo(0xFF);
+    assertThat(sut.get(1)).isEqualTo(0x00);
+    assertThat(sut.get(2)).isEqualTo(0xE0);
+    assertThat(sut.get(3)).isEqualTo(0x03);
+    assertThat(sut.get(4)).isEqualTo(0x00);
+  }
+
+  @Test
+  void edges() {
+    Image image = new Image(new int[] {
+        WHITE, WHITE, WHITE,
+        WHITE, BLACK, BLACK,
+        WHITE, BLACK, BLACK}, 3, 3);
+    ReducedImage sut = image.reduced(Representation.EDGES);
+
+    assertThat(sut.get(0, 0)).isEqualTo(0);
+    assertThat(sut.get(1, 0)).isEqualTo(1);
+    assertThat(sut.get(0, 1)).isEqualTo(1);
+    assertThat(sut.get(1, 1)).isEqualTo(0);
+    assertThat(sut.get(2, 2)).isEqualTo(0);
+  }
+
+  @Test
+  void representationsAreCachedAndDoNotChangeEquality() {
+    Image image = new Image(new int[] {WHITE, BLACK}, 2, 1);
+    Image other = new Image(new int[] {WHITE, BLACK}, 2, 1);
+
+    assertThat(image.reduced(Representation.EDGES)).isSameAs(image.reduced(Representation.EDGES));
+    assertThat(image).isEqualTo(other);
+    assertThat(image.hashCode()).isEqualTo(other.hashCode());
+  }
+}
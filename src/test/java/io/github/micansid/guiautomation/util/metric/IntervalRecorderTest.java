@@ -0,0 +1,49 @@
+package io.github.micansid.guiautomation.util.metric;
+
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.Test;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IntervalRecorderTest {
+  @Test
+  void recordIntervalsOfTheClock() {
+    LongSupplier clock = mock(LongSupplier.class);
+    when(clock.getAsLong()).thenReturn(1L, 3L, 10L, 14L);
+    IntervalRecorder sut = new IntervalRecorder(clock);
+
+    assertThat(sut.stop(sut.start())).isEqualTo(2);
+    assertThat(sut.stop(sut.start())).isEqualTo(4);
+    assertThat(sut.count()).isEqualTo(2);
+    assertThat(sut.total()).isEqualTo(6);
+
+    MetricSnapshot snapshot = sut.snapshot("clock");
+    assertThat(snapshot.getMin()).isEqualTo(2);
+    assertThat(snapshot.getMax()).isEqualTo(4);
+    assertThat(snapshot.p50()).isEqualTo(2);
+    assertThat(snapshot.p99()).isEqualTo(4);
+  }
+
+  @Test
+  void throughputPerSecond() {
+    IntervalRecorder sut = new IntervalRecorder();
+    for (int index = 0; index < 4; index++) {
+      sut.record(250_000_000);
+    }
+    assertThat(sut.snapshot("throughput").throughput()).isEqualTo(4.0);
+  }
+
+  @Test
+  void memoryDoesNotGrowWithIntervals() {
+    IntervalRecorder sut = new IntervalRecorder();
+    for (int index = 0; index < 1_000_000; index++) {
+      sut.stop(sut.start());
+    }
+    assertThat(sut.count()).isEqualTo(1_000_000);
+    sut.reset();
+    assertThat(sut.count()).isEqualTo(0);
+  }
+}
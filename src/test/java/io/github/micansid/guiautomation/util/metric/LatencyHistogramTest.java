@@ -0,0 +1,93 @@
+package io.github.micansid.guiautomation.util.metric;
+
+import org.junit.jupiter.api.Test;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LatencyHistogramTest {
+  @Test
+  void smallValuesHaveExactBuckets() {
+    for (int value = 0; value < LatencyHistogram.SUB_BUCKETS * 2; value++) {
+      assertThat(LatencyHistogram.bucketIndex(value)).isEqualTo(value);
+      assertThat(LatencyHistogram.highestValueOf(value)).isEqualTo(value);
+    }
+  }
+
+  @Test
+  void bucketContainsValue() {
+    long[] values = {17, 100, 1_000, 123_456, 10_000_000_000L, Long.MAX_VALUE};
+    for (long value : values) {
+      int index = LatencyHistogram.bucketIndex(value);
+      assertThat(LatencyHistogram.highestValueOf(index)).isGreaterThanOrEqualTo(value);
+      assertThat(index).isLessThan(LatencyHistogram.BUCKET_COUNT);
+      if (index > 0) {
+        assertThat(LatencyHistogram.highestValueOf(index - 1)).isLessThan(value);
+      }
+    }
+  }
+
+  @Test
+  void snapshotOfRecordedValues() {
+    LatencyHistogram sut = new LatencyHistogram();
+    for (int value = 1; value <= 100; value++) {
+      sut.record(value * 1_000);
+    }
+    sut.record(-5);
+
+    MetricSnapshot snapshot = sut.snapshot("test");
+    assertThat(snapshot.getName()).isEqualTo("test");
+    assertThat(snapshot.getCount()).isEqualTo(101);
+    assertThat(snapshot.getMin()).isEqualTo(0);
+    assertThat(snapshot.getMax()).isEqualTo(100_000);
+    assertThat(snapshot.getTotal()).isEqualTo(5_050_000);
+    assertThat(snapshot.p50()).isBetween(50_000L, 50_000L + 50_000L / 8);
+    assertThat(snapshot.p99()).isBetween(99_000L, 100_000L);
+    assertThat(snapshot.percentile(100)).isEqualTo(100_000);
+  }
+
+  @Test
+  void emptySnapshot() {
+    MetricSnapshot snapshot = new LatencyHistogram().snapshot("empty");
+    assertThat(snapshot.getCount()).isEqualTo(0);
+    assertThat(snapshot.getMax()).isEqualTo(0);
+    assertThat(snapshot.mean()).isEqualTo(0);
+    assertThat(snapshot.p99()).isEqualTo(0);
+  }
+
+  @Test
+  void resetRemovesValues() {
+    LatencyHistogram sut = new LatencyHistogram();
+    sut.record(42);
+    sut.reset();
+    assertThat(sut.snapshot("reset").getCount()).isEqualTo(0);
+  }
+
+  @Test
+  void concurrentRecording() throws InterruptedException {
+    LatencyHistogram sut = new LatencyHistogram();
+    Thread[] threads = new Thread[4];
+    for (int index = 0; index < threads.length; index++) {
+      threads[index] = new Thread(() -> {
+        for (int value = 0; value < 10_000; value++) {
+          sut.record(value);
+        }
+      });
+      threads[index].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(sut.snapshot("concurrent").getCount()).isEqualTo(40_000);
+  }
+
+  @Test
+  void invalidPercentile() {
+    long[] counts = new long[LatencyHistogram.BUCKET_COUNT];
+    assertThatThrownBy(() -> LatencyHistogram.percentile(counts, 101))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> LatencyHistogram.percentile(new long[1], 50))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,91 @@
+package io.github.micansid.guiautomation.util.metric;
+
+import io.github.micansid.guiautomation.algorithm.find.FinderTestData;
+import io.github.micansid.guiautomation.control.mouse.Mouse;
+import io.github.micansid.guiautomation.control.mouse.MouseCommandExecutor;
+import io.github.micansid.guiautomation.control.screen.Screen;
+import io.github.micansid.guiautomation.control.screen.ScreenBuilder;
+import io.github.micansid.guiautomation.util.Position;
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+class MetricRegistryTest {
+  @AfterEach
+  void resetGlobalRegistry() {
+    Metrics.disable();
+    Metrics.registry().reset();
+  }
+
+  @Test
+  void disabledRegistryRecordsNothing() {
+    MetricRegistry sut = new MetricRegistry();
+    long start = sut.start();
+    assertThat(start).isEqualTo(MetricRegistry.DISABLED);
+    sut.stop("operation", start);
+    sut.increment("counter");
+
+    assertThat(sut.snapshot()).isEmpty();
+    assertThat(sut.counters()).isEmpty();
+  }
+
+  @Test
+  void enabledRegistryRecordsOperationsAndCounters() {
+    MetricRegistry sut = new MetricRegistry();
+    sut.setEnabled(true);
+    sut.stop("operation", sut.start());
+    sut.stop("operation", sut.start());
+    sut.increment("counter");
+
+    assertThat(sut.snapshot()).containsOnlyKeys("operation");
+    assertThat(sut.getCount("operation")).isEqualTo(2);
+    assertThat(sut.getCounter("counter")).isEqualTo(1);
+    assertThat(sut.getOperationNames()).containsExactly("operation");
+    assertThat(sut.getCount("unknown")).isEqualTo(0);
+
+    sut.reset();
+    assertThat(sut.snapshot()).isEmpty();
+  }
+
+  @Test
+  void controlOperationsAreRecorded() {
+    Metrics.enable();
+    Screen screen = new ScreenBuilder().setScreenSupplier(FinderTestData.SCREEN).build();
+    Mouse mouse = new Mouse(mock(MouseCommandExecutor.class), () -> new Position(0, 0));
+
+    screen.positionOf(FinderTestData.BUTTON_COMMIT);
+    mouse.move(new Position(1, 1)).leftClick();
+
+    assertThat(Metrics.registry().snapshot()).containsKeys("screen.capture",
+        "finder.SimpleFinder.find", "mouse.move", "mouse.click");
+  }
+
+  @Test
+  void nameMustNotBeNull() {
+    MetricRegistry sut = new MetricRegistry();
+    sut.setEnabled(true);
+
+    assertThatIllegalArgumentException().isThrownBy(() -> sut.record(null, 1));
+    assertThatIllegalArgumentException().isThrownBy(() -> sut.increment(null));
+  }
+
+  @Test
+  void registerAsMBean() throws Exception {
+    MetricRegistry sut = new MetricRegistry();
+    ObjectName name = new ObjectName(MetricRegistry.OBJECT_NAME);
+
+    assertThat(sut.registerMBean()).isTrue();
+    assertThat(sut.registerMBean()).isFalse();
+    assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name)).isTrue();
+    assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Enabled"))
+        .isEqualTo(false);
+    assertThat(sut.unregisterMBean()).isTrue();
+    assertThat(sut.unregisterMBean()).isFalse();
+  }
+}